@@ -0,0 +1,96 @@
+package km.algorithms;
+
+import km.benchmarks.Instances;
+import km.model.TSPProblem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Operatory pierwotnej wersji algorytmu (GeneticAlgorithm) działające na List<Integer>
+// Benchmark jest w pakiecie km.algorithms, bo metody operatorów są widoczne tylko w pakiecie
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegacyOperatorBenchmark {
+    private static final int POPULATION_SIZE = 100;
+
+    @Param({"br17.atsp", "ftv47.atsp", "ftv170.atsp", "rbg403.atsp", "rbg443.atsp"})
+    public String file;
+
+    private GeneticAlgorithm algorithm;
+    private List<List<Integer>> population;
+    private List<Integer> child;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        TSPProblem problem = Instances.load(file);
+        AlgorithmOptions options = new AlgorithmOptions();
+        options.setSeed(42);
+        algorithm = new GeneticAlgorithm(problem, POPULATION_SIZE, 0.05, 0.8, 1, "swap", options);
+        random = new SplittableRandom(42);
+
+        population = new ArrayList<>();
+        for (int p = 0; p < POPULATION_SIZE; p++) {
+            List<Integer> tour = new ArrayList<>();
+            for (int i = 0; i < problem.getCitiesCount(); i++) {
+                tour.add(i);
+            }
+            Collections.shuffle(tour, new Random(p));
+            population.add(tour);
+        }
+        child = new ArrayList<>(population.get(0));
+    }
+
+    @Benchmark
+    public List<Integer> crossover() {
+        return algorithm.crossover(population.get(random.nextInt(POPULATION_SIZE)), population.get(random.nextInt(POPULATION_SIZE)));
+    }
+
+    @Benchmark
+    public List<Integer> swapMutation() {
+        algorithm.swapMutation(child);
+        return child;
+    }
+
+    @Benchmark
+    public List<Integer> invertMutation() {
+        algorithm.invertMutation(child);
+        return child;
+    }
+
+    @Benchmark
+    public int calculateTotalDistance() {
+        return algorithm.calculateTotalDistance(population.get(random.nextInt(POPULATION_SIZE)));
+    }
+
+    @Benchmark
+    public List<Integer> selectParent() {
+        return algorithm.selectParent(population, random.nextInt(2 * POPULATION_SIZE));
+    }
+
+    @Benchmark
+    public List<Integer> generateGreedySolution() {
+        return algorithm.generateGreedySolution();
+    }
+}
@@ -0,0 +1,66 @@
+package km.algorithms;
+
+import km.benchmarks.Instances;
+import km.model.TSPProblem;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Makrobenchmark pierwotnej wersji: pełne, jednosekundowe wywołanie GeneticAlgorithm.solve na operację
+// Licznik generations (raportowany jako generacje/s) pochodzi ze śladu zbieżności algorytmu
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class LegacySolveBenchmark {
+    private static final int POPULATION_SIZE = 100;
+
+    @Param({"ftv47.atsp", "ftv170.atsp", "rbg403.atsp"})
+    public String file;
+
+    private TSPProblem problem;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        problem = Instances.load(file);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Generations {
+        public long generations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            generations = 0;
+        }
+    }
+
+    @Benchmark
+    public List<Integer> solve(Generations counters) {
+        AlgorithmOptions options = new AlgorithmOptions();
+        options.setSeed(42);
+        options.setTrace(true);
+        options.setTraceCapacity(1);
+        GeneticAlgorithm algorithm = new GeneticAlgorithm(problem, POPULATION_SIZE, 0.05, 0.8, 1, "swap", options);
+        List<Integer> solution = algorithm.solve(1);
+        counters.generations += algorithm.getTrace().getGenerations();
+        return solution;
+    }
+}
@@ -0,0 +1,63 @@
+package km.algorithms;
+
+import km.benchmarks.Instances;
+import km.model.TSPProblem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Makrobenchmark: jedna generacja PrimitiveGeneticAlgorithm na operację, więc ops/s to generacje/s
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+    private static final int POPULATION_SIZE = 100;
+
+    @Param({"ftv47.atsp", "ftv170.atsp", "rbg403.atsp"})
+    public String file;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private TSPProblem problem;
+    private PrimitiveGeneticAlgorithm primitive;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        problem = Instances.load(file);
+        AlgorithmOptions options = new AlgorithmOptions();
+        options.setSeed(42);
+        options.setThreads(threads);
+        options.setSelectionMethod("tournament");
+        options.setElitism(1);
+        primitive = new PrimitiveGeneticAlgorithm(problem, POPULATION_SIZE, 0.05, 0.8, 1, "invert", options);
+        primitive.initialize(System.nanoTime());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        primitive.shutdown();
+    }
+
+    @Benchmark
+    public int primitiveGeneration() throws InterruptedException {
+        primitive.evolve();
+        return primitive.getBestDistance();
+    }
+}
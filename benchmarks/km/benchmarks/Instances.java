@@ -0,0 +1,21 @@
+package km.benchmarks;
+
+import km.model.TSPProblem;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Instancje używane w benchmarkach - pliki .atsp z katalogu -Dpea4.data (domyślnie katalog roboczy)
+public final class Instances {
+    private Instances() {
+    }
+
+    public static String path(String fileName) {
+        return Path.of(System.getProperty("pea4.data", "."), fileName).toString();
+    }
+
+    // Wczytanie bez binarnej kopii, żeby benchmark nie zależał od stanu katalogu z danymi
+    public static TSPProblem load(String fileName) throws IOException {
+        return TSPProblem.loadFromFile(path(fileName), false);
+    }
+}
@@ -0,0 +1,49 @@
+package km.benchmarks;
+
+import km.data.TsplibReader;
+import km.model.TSPProblem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Wczytywanie instancji: parsowanie pliku tekstowego oraz odczyt aktualnej binarnej kopii (.bin)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+    @Param({"br17.atsp", "ftv47.atsp", "ftv170.atsp", "rbg403.atsp", "rbg443.atsp"})
+    public String file;
+
+    private String path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = Instances.path(file);
+        TsplibReader.read(path, true); // Utworzenie lub odświeżenie binarnej kopii przed pomiarem
+    }
+
+    @Benchmark
+    public TSPProblem loadFromFile() throws IOException {
+        return TSPProblem.loadFromFile(path, false);
+    }
+
+    @Benchmark
+    public TSPProblem loadFromBinaryCache() throws IOException {
+        return TSPProblem.loadFromFile(path, true);
+    }
+}
@@ -0,0 +1,126 @@
+package km.benchmarks;
+
+import km.algorithms.operators.CrossoverOperator;
+import km.algorithms.operators.CrossoverOperators;
+import km.algorithms.operators.MutationOperator;
+import km.algorithms.operators.MutationOperators;
+import km.algorithms.operators.SelectionOperator;
+import km.algorithms.operators.SelectionOperators;
+import km.model.TSPProblem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Operatory działające na płaskich tablicach int[] (PrimitiveGeneticAlgorithm)
+// Populacja to tablica 100 losowych tras, potomek jest zapisywany do osobnego bufora
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorBenchmark {
+    private static final int POPULATION_SIZE = 100;
+
+    @Param({"br17.atsp", "ftv47.atsp", "ftv170.atsp", "rbg403.atsp", "rbg443.atsp"})
+    public String file;
+
+    private TSPProblem problem;
+    private int citiesCount;
+    private int[] population;
+    private int[] fitness;
+    private int[] child;
+    private int childLength;
+    private MutationOperator swap;
+    private MutationOperator invert;
+    private SelectionOperator tournament;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        problem = Instances.load(file);
+        citiesCount = problem.getCitiesCount();
+        random = new SplittableRandom(42);
+        population = new int[POPULATION_SIZE * citiesCount];
+        fitness = new int[POPULATION_SIZE];
+        for (int p = 0; p < POPULATION_SIZE; p++) {
+            int offset = p * citiesCount;
+            for (int i = 0; i < citiesCount; i++) {
+                population[offset + i] = i;
+            }
+            for (int i = citiesCount - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = population[offset + i];
+                population[offset + i] = population[offset + j];
+                population[offset + j] = swap;
+            }
+            fitness[p] = problem.tourLength(population, offset);
+        }
+        child = new int[citiesCount];
+        System.arraycopy(population, 0, child, 0, citiesCount);
+        childLength = fitness[0];
+
+        swap = MutationOperators.create("swap", problem);
+        invert = MutationOperators.create("invert", problem);
+        tournament = SelectionOperators.create("tournament", POPULATION_SIZE, 3, 1.5);
+        tournament.prepare(fitness, random);
+    }
+
+    // Parametr metody krzyżowania dotyczy tylko benchmarku crossover
+    @State(Scope.Thread)
+    public static class Crossover {
+        @Param({"ox", "pmx", "cx", "erx"})
+        public String crossoverMethod;
+
+        private CrossoverOperator operator;
+
+        @Setup(Level.Trial)
+        public void setUp(OperatorBenchmark benchmark) {
+            operator = CrossoverOperators.create(crossoverMethod, benchmark.citiesCount);
+        }
+    }
+
+    @Benchmark
+    public int crossover(Crossover crossover) {
+        int parent1 = random.nextInt(POPULATION_SIZE);
+        int parent2 = random.nextInt(POPULATION_SIZE);
+        crossover.operator.crossover(population, parent1 * citiesCount, parent2 * citiesCount, child, 0, random);
+        return child[0];
+    }
+
+    // Mutacje z przyrostowym przeliczeniem długości - trasa potomka jest modyfikowana kolejnymi wywołaniami
+    @Benchmark
+    public int swapMutation() {
+        childLength = swap.mutate(child, 0, childLength, random);
+        return childLength;
+    }
+
+    @Benchmark
+    public int invertMutation() {
+        childLength = invert.mutate(child, 0, childLength, random);
+        return childLength;
+    }
+
+    @Benchmark
+    public int tourLength() {
+        return problem.tourLength(population, random.nextInt(POPULATION_SIZE) * citiesCount);
+    }
+
+    @Benchmark
+    public int tournamentSelection() {
+        return tournament.select(fitness, random.nextInt(2 * POPULATION_SIZE), random);
+    }
+}
@@ -2,10 +2,20 @@ package km;
 
 import km.data.ConfigLoader;
 import km.data.CSVWriter;
+import km.model.ProblemCache;
 import km.model.TSPProblem;
-import km.algorithms.GeneticAlgorithm;
+import km.algorithms.Algorithm;
+import km.algorithms.AlgorithmOptions;
+import km.algorithms.AlgorithmRegistry;
+import km.experiment.ExperimentCell;
+import km.experiment.ExperimentPlan;
+import km.experiment.ExperimentRunner;
+import km.experiment.Racing;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 public class Main {
@@ -32,75 +42,118 @@ public class Main {
             int stopTime = configLoader.getIntProperty("stopTime");
             int testMode = configLoader.getIntProperty("testMode");
             String changedValues = configLoader.getProperty("changedValues");
+            String experimentPlan = configLoader.getProperty("experimentPlan", "");
+            AlgorithmOptions options = AlgorithmOptions.fromConfig(configLoader);
+            ProblemCache.setMaxBytes(options.getProblemCacheMegabytes() * 1024 * 1024);
 
             // Inicjalizacja zapisu do pliku
-            csvWriter = new CSVWriter();
+            csvWriter = new CSVWriter(options.getResultsFormat());
             csvWriter.setFilePath(outputFilePath);
             csvWriter.writeRecordHeader("Plik", "Metoda mutacji", "Populacja", "Iteracja", "Najlepsza odleglosc", "Blad wzgledny (%)", "Czas znalezienia najlepszego rozwiazania (ns)", "Czas wykonania (ns)", "Najlepsza sciezka");
 
             // Tryb testowy lub właściwy do badania
             if (testMode == 1) {
                 System.out.println("Uruchamianie algorytmu genetycznego w trybie testowym...");
-                runTestMode(csvWriter, inputFilePath, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, optimalDistances);
+                runTestMode(csvWriter, inputFilePath, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, optimalDistances, options);
+            } else if (!experimentPlan.isEmpty()) {
+                System.out.println("Uruchamianie badania według planu " + experimentPlan + "...");
+                runPlanMode(csvWriter, configLoader, experimentPlan, outputFilePath, optimalDistances, options);
             } else {
                 System.out.println("Uruchamianie algorytmu genetycznego w trybie standardowym...");
-                runStandardMode(csvWriter, inputFiles, populationSize, mutationRate, crossoverRate, stopTime, changedValues, mutationMethod, optimalDistances);
+                runStandardMode(csvWriter, inputFiles, populationSize, mutationRate, crossoverRate, stopTime, changedValues, mutationMethod, optimalDistances, options);
             }
 
         } catch (IOException e) {
             System.err.println("Błąd podczas wczytywania konfiguracji lub danych: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Badanie zostało przerwane");
         } finally {
             closeCSVWriter(csvWriter);
         }
     }
 
-    private static void runTestMode(CSVWriter csvWriter, String inputFilePath, int populationSize, double mutationRate, double crossoverRate, int stopTime, String mutationMethod, Map<String, Integer> optimalDistances) throws IOException {
-        Integer optimalDistance = optimalDistances.get(inputFilePath);
-        if (optimalDistance == null) {
-            throw new IllegalArgumentException("Nieznane optymalne rozwiązanie dla pliku: " + inputFilePath);
+    private static void runTestMode(CSVWriter csvWriter, String inputFilePath, int populationSize, double mutationRate, double crossoverRate, int stopTime, String mutationMethod, Map<String, Integer> optimalDistances, AlgorithmOptions options) throws IOException {
+        int optimalDistance = referenceDistance(inputFilePath, optimalDistances, options);
+        if (options.getCheckpointInterval() > 0) {
+            options = options.copy();
+            options.setCheckpointFile(Path.of(options.getCheckpointDirectory(), inputFilePath.replace(".atsp", "") + "_" + mutationMethod + "_test.ckpt").toString());
         }
-
-        TSPProblem problem = TSPProblem.loadFromFile(inputFilePath);
-        runGeneticAlgorithmOnce(problem, csvWriter, inputFilePath, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, optimalDistance);
+        TSPProblem problem = ProblemCache.get(inputFilePath, options.isBinaryCache(), options.isCompactMatrix());
+        runGeneticAlgorithmOnce(problem, csvWriter, inputFilePath, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, optimalDistance, options);
     }
 
-    private static void runStandardMode(CSVWriter csvWriter, String[] inputFiles, int populationSize, double mutationRate, double crossoverRate, int stopTime, String changedValues, String mutationMethod, Map<String, Integer> optimalDistances) throws IOException {
+    private static void runStandardMode(CSVWriter csvWriter, String[] inputFiles, int populationSize, double mutationRate, double crossoverRate, int stopTime, String changedValues, String mutationMethod, Map<String, Integer> optimalDistances, AlgorithmOptions options) throws IOException, InterruptedException {
         int[] populationSizes = {50, 100, 200};
         double[] mutationRates = {0.02, 0.05, 0.10};
         String[] mutationMethods = {"swap", "invert"};
 
+        List<ExperimentCell> cells = new ArrayList<>();
         if ("mutation".equalsIgnoreCase(changedValues)) {
             for (String method : mutationMethods) {
-                System.out.printf("Testowanie dla metody mutacji: %s\n", method);
                 for (double rate : mutationRates) {
-                    System.out.printf("Testowanie dla współczynnika mutacji: %.2f\n", rate);
                     for (String inputFile : inputFiles) {
-                        executeAlgorithm(csvWriter, inputFile, populationSize, rate, crossoverRate, stopTime, method, optimalDistances);
+                        cells.add(createCell(inputFile, populationSize, rate, crossoverRate, stopTime, method, optimalDistances, options));
                     }
                 }
             }
         } else if ("population".equalsIgnoreCase(changedValues)) {
             for (String method : mutationMethods) {
-                System.out.printf("Testowanie dla metody mutacji: %s\n", method);
                 for (int size : populationSizes) {
-                    System.out.printf("Testowanie dla wielkości populacji: %d\n", size);
                     for (String inputFile : inputFiles) {
-                        executeAlgorithm(csvWriter, inputFile, size, mutationRate, crossoverRate, stopTime, method, optimalDistances);
+                        cells.add(createCell(inputFile, size, mutationRate, crossoverRate, stopTime, method, optimalDistances, options));
                     }
                 }
             }
         } else {
             throw new IllegalArgumentException("Nieznana wartość dla changedValues: " + changedValues);
         }
+
+        System.out.printf("Liczba komórek badania: %d, równoległe uruchomienia: %d\n", cells.size(), options.getParallelRuns());
+        Path progressFile = options.isSweepProgress() ? Path.of(options.getCheckpointDirectory(), "sweep_" + changedValues + ".progress") : null;
+        new ExperimentRunner(Main::createAlgorithm, options.getParallelRuns(), progressFile).run(cells, csvWriter);
     }
 
-    private static void executeAlgorithm(CSVWriter csvWriter, String inputFile, int populationSize, double mutationRate, double crossoverRate, int stopTime, String mutationMethod, Map<String, Integer> optimalDistances) throws IOException {
-        Integer optimalDistance = optimalDistances.get(inputFile);
-        if (optimalDistance == null) {
-            throw new IllegalArgumentException("Nieznane optymalne rozwiązanie dla pliku: " + inputFile);
+    // Badanie według planu (ExperimentPlan): komórka dla każdej pary (konfiguracja, plik); opcje komórki to konfiguracja
+    // bazowa z wartościami konfiguracji planu. Opis konfiguracji i liczby wykonanych uruchomień trafiają do pliku
+    // outputFile + ".plan"
+    private static void runPlanMode(CSVWriter csvWriter, ConfigLoader baseConfig, String planFilePath, String outputFilePath, Map<String, Integer> optimalDistances, AlgorithmOptions options) throws IOException, InterruptedException {
+        ExperimentPlan plan = new ExperimentPlan(planFilePath, baseConfig);
+        List<Map<String, String>> configurations = plan.getConfigurations();
+
+        List<ExperimentCell> cells = new ArrayList<>();
+        for (int k = 0; k < configurations.size(); k++) {
+            ConfigLoader config = baseConfig.withOverrides(configurations.get(k));
+            AlgorithmOptions cellOptions = AlgorithmOptions.fromConfig(config);
+            for (String inputFile : plan.getFiles()) {
+                cells.add(new ExperimentCell(inputFile, config.getProperty("mutationMethod"), config.getIntProperty("populationSize"),
+                        config.getDoubleProperty("mutationRate"), config.getDoubleProperty("crossoverRate"),
+                        plan.getStopTime(inputFile, config.getIntProperty("stopTime")), referenceDistance(inputFile, optimalDistances, cellOptions),
+                        plan.getRuns(), cellOptions, ExperimentPlan.label(k), configurations.get(k)));
+            }
+        }
+
+        Racing racing = plan.createRacing();
+        System.out.printf("Konfiguracje planu: %d, komórki badania: %d, wyścig: %s, równoległe uruchomienia: %d\n",
+                configurations.size(), cells.size(), racing != null ? "tak" : "nie", options.getParallelRuns());
+        Path progressFile = options.isSweepProgress() ? Path.of(options.getCheckpointDirectory(), "plan_" + Path.of(planFilePath).getFileName() + ".progress") : null;
+        ExperimentRunner runner = new ExperimentRunner(Main::createAlgorithm, options.getParallelRuns(), progressFile, racing);
+        runner.run(cells, csvWriter);
+
+        int[] executedRuns = runner.getExecutedRuns();
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Path.of(outputFilePath + ".plan")))) {
+            writer.println("Konfiguracja, Plik, Uruchomienia, Parametry");
+            for (int c = 0; c < cells.size(); c++) {
+                ExperimentCell cell = cells.get(c);
+                writer.printf("%s, %s, %d, %s\n", cell.getLabel(), cell.getInputFile(), executedRuns[c],
+                        configurations.get(c / plan.getFiles().size()).toString().replace(", ", " "));
+            }
         }
+    }
+
+    private static ExperimentCell createCell(String inputFile, int populationSize, double mutationRate, double crossoverRate, int stopTime, String mutationMethod, Map<String, Integer> optimalDistances, AlgorithmOptions options) throws IOException {
+        int optimalDistance = referenceDistance(inputFile, optimalDistances, options);
 
-        TSPProblem problem = TSPProblem.loadFromFile(inputFile);
         stopTime = switch (inputFile) {
             case "ftv47.atsp" -> 60;
             case "ftv170.atsp" -> 120;
@@ -108,7 +161,24 @@ public class Main {
             default -> stopTime;
         };
 
-        runGeneticAlgorithmMultipleTimes(problem, csvWriter, inputFile, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, optimalDistance, 10);
+        return new ExperimentCell(inputFile, mutationMethod, populationSize, mutationRate, crossoverRate, stopTime, optimalDistance, 10, options);
+    }
+
+    // Znane optimum instancji, a dla pozostałych dolne ograniczenie (lowerBound) - błąd względny jest wtedy
+    // liczony względem ograniczenia, więc jest oszacowaniem z góry błędu względem optimum
+    private static int referenceDistance(String inputFile, Map<String, Integer> optimalDistances, AlgorithmOptions options) throws IOException {
+        Integer optimalDistance = optimalDistances.get(inputFile);
+        if (optimalDistance != null) {
+            return optimalDistance;
+        }
+        TSPProblem problem = ProblemCache.get(inputFile, options.isBinaryCache(), options.isCompactMatrix());
+        long lowerBound = problem.getLowerBound(options.getLowerBound());
+        if (lowerBound <= 0) {
+            throw new IllegalArgumentException("Nieznane optymalne rozwiązanie i zerowe dolne ograniczenie dla pliku: " + inputFile);
+        }
+        System.out.printf("Brak znanego optimum dla %s - blad wzgledny liczony wzgledem dolnego ograniczenia (%s): %d\n",
+                inputFile, options.getLowerBound(), lowerBound);
+        return (int) lowerBound;
     }
 
     private static void closeCSVWriter(CSVWriter csvWriter) {
@@ -121,8 +191,8 @@ public class Main {
         }
     }
 
-    private static void runGeneticAlgorithmOnce(TSPProblem problem, CSVWriter csvWriter, String inputFilePath, int populationSize, double mutationRate, double crossoverRate, int stopTime, String mutationMethod, int optimalDistance) throws IOException {
-        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(problem, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod);
+    private static void runGeneticAlgorithmOnce(TSPProblem problem, CSVWriter csvWriter, String inputFilePath, int populationSize, double mutationRate, double crossoverRate, int stopTime, String mutationMethod, int optimalDistance, AlgorithmOptions options) throws IOException {
+        Algorithm geneticAlgorithm = createAlgorithm(problem, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, options);
 
         long startTime = System.nanoTime();
         List<Integer> bestSolution = geneticAlgorithm.solve(optimalDistance);
@@ -133,51 +203,21 @@ public class Main {
 
         System.out.printf("Najlepsze rozwiazanie: %s\n", bestSolution);
         System.out.printf("Najlepsza odleglosc = %d, Blad wzgledny = %.2f%%, Czas wykonania = %d ns\n", bestDistance, relativeError, elapsedTime);
+        if (geneticAlgorithm.getTrace() != null) {
+            Path tracePath = geneticAlgorithm.getTrace().write(Path.of(options.getTraceDirectory()), inputFilePath.replace(".atsp", "") + "_" + mutationMethod + "_test", options.getTraceFormat());
+            System.out.printf("Slad zbieznosci zapisano do pliku: %s\n", tracePath);
+        }
 
-        csvWriter.writeRecord(inputFilePath, mutationMethod, populationSize, 1, bestDistance, relativeError, elapsedTime, elapsedTime, bestSolution.toString());
+        csvWriter.writeRecord(inputFilePath, mutationMethod, populationSize, 1, bestDistance, relativeError, elapsedTime, elapsedTime, bestSolution);
     }
 
-    private static void runGeneticAlgorithmMultipleTimes(TSPProblem problem, CSVWriter csvWriter, String inputFilePath, int populationSize, double mutationRate, double crossoverRate, int stopTime, String mutationMethod, int optimalDistance, int runs) throws IOException {
-        int bestOverallDistance = Integer.MAX_VALUE;
-        List<Integer> bestOverallPath = null;
-
-        double totalRelativeError = 0.0;
-        long totalExecutionTimeNs = 0;
-        long totalBestSolutionTimeNs = 0;
-
-        for (int run = 1; run <= runs; run++) {
-            GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(problem, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod);
-
-            long startTime = System.nanoTime();
-            List<Integer> bestSolution = geneticAlgorithm.solve(optimalDistance);
-            long elapsedTime = System.nanoTime() - startTime;
-
-            int bestDistance = calculateTotalDistance(bestSolution, problem);
-            double relativeError = calculateRelativeError(bestDistance, optimalDistance);
-
-            long bestSolutionTimeNs = geneticAlgorithm.getBestSolutionTime();
-            totalBestSolutionTimeNs += bestSolutionTimeNs;
-            totalRelativeError += relativeError;
-            totalExecutionTimeNs += elapsedTime;
-
-            System.out.printf("Iteracja %d: Najlepsza odleglosc = %d, Blad wzgledny = %.2f%%, Czas znalezienia najlepszego rozwiazania = %d ns, Czas wykonania = %d ns\n", run, bestDistance, relativeError, bestSolutionTimeNs, elapsedTime);
-
-            csvWriter.writeRecord(inputFilePath, mutationMethod, populationSize, run, bestDistance, relativeError, bestSolutionTimeNs, elapsedTime, "-");
-
-            if (bestDistance < bestOverallDistance) {
-                bestOverallDistance = bestDistance;
-                bestOverallPath = new ArrayList<>(bestSolution);
-            }
+    // Małe instancje (do exactMaxCities miast) trafiają do algorytmu dokładnego zamiast do wybranej metaheurystyki
+    private static Algorithm createAlgorithm(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
+        String algorithm = options.getAlgorithm();
+        if (problem.getCitiesCount() <= options.getExactMaxCities()) {
+            algorithm = options.getExactMethod();
         }
-
-        double averageRelativeError = totalRelativeError / runs;
-        double averageExecutionTimeNs = (double) totalExecutionTimeNs / runs;
-        double averageBestSolutionTimeNs = (double) totalBestSolutionTimeNs / runs;
-
-        System.out.printf("Sredni blad wzgledny = %.2f%%, Sredni czas znalezienia najlepszego rozwiazania = %.2f ns, Sredni czas wykonania = %.2f ns\n", averageRelativeError, averageBestSolutionTimeNs, averageExecutionTimeNs);
-
-        csvWriter.writeRecord(inputFilePath, mutationMethod, populationSize, -1, bestOverallDistance, -1, (long) averageBestSolutionTimeNs, (long) averageExecutionTimeNs, bestOverallPath.toString());
-        csvWriter.writeAverageRecord(inputFilePath, mutationMethod, populationSize, averageRelativeError, averageBestSolutionTimeNs, averageExecutionTimeNs);
+        return AlgorithmRegistry.create(algorithm, problem, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, options);
     }
 
     private static int calculateTotalDistance(List<Integer> solution, TSPProblem problem) {
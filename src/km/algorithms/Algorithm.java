@@ -3,5 +3,16 @@ package km.algorithms;
 import java.util.List;
 
 abstract public class Algorithm {
+    // Dotychczasowe wywołanie - limit czasu z konstruktora, pozostałe kryteria z konfiguracji (StopCondition.fromOptions)
     public abstract List<Integer> solve(int optimalSolution);
-}
\ No newline at end of file
+
+    // Wywołanie z jawnym warunkiem zatrzymania i opcjonalnym (null) słuchaczem kolejnych najlepszych rozwiązań
+    public abstract List<Integer> solve(StopCondition stopCondition, ImprovementListener listener);
+
+    public abstract long getBestSolutionTime();
+
+    // Ślad zbieżności ostatniego uruchomienia lub null, jeśli nie był zbierany
+    public ConvergenceTrace getTrace() {
+        return null;
+    }
+}
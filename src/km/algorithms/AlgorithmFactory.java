@@ -0,0 +1,9 @@
+package km.algorithms;
+
+import km.model.TSPProblem;
+
+// Tworzenie algorytmu dla pojedynczego uruchomienia - każde wywołanie zwraca nową, niezależną instancję
+@FunctionalInterface
+public interface AlgorithmFactory {
+    Algorithm create(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options);
+}
@@ -0,0 +1,797 @@
+package km.algorithms;
+
+import km.data.ConfigLoader;
+
+// Dodatkowe, opcjonalne parametry algorytmów wczytywane z pliku konfiguracyjnego
+public class AlgorithmOptions implements Cloneable {
+    private String algorithm = "genetic"; // genetic, primitive, island, acs, annealing, ils - nazwa z AlgorithmRegistry
+    private String crossoverMethod = "ox"; // ox, pmx, cx, erx
+    private boolean verifyFitness = false; // Sprawdzanie przyrostowo liczonych długości tras pełnym przeliczeniem
+    private int threads = 1; // Liczba wątków tworzących potomków, 0 - liczba dostępnych rdzeni
+    private int islands = 4; // Liczba wysp w modelu wyspowym
+    private String islandMutationMethods = ""; // Metody mutacji kolejnych wysp, np. swap,invert (puste - mutationMethod)
+    private String islandMutationRates = ""; // Współczynniki mutacji kolejnych wysp (puste - mutationRate)
+    private String islandCrossoverMethods = ""; // Metody krzyżowania kolejnych wysp (puste - crossoverMethod)
+    private int migrationInterval = 50; // Liczba generacji między migracjami
+    private long migrationIntervalMs = 0; // Odstęp czasowy między migracjami w ms, 0 - według liczby generacji
+    private String migrationTopology = "ring"; // ring, full
+    private int migrationSize = 1; // Liczba najlepszych osobników wysyłanych przy migracji
+    private String randomGenerator = "splittable"; // splittable, xoshiro
+    private boolean seeded = false; // Czy podano ziarno - wtedy uruchomienie jest powtarzalne
+    private long seed;
+    private String selectionMethod = "random"; // random, tournament, rank, sus
+    private int tournamentSize = 3; // Liczba osobników w turnieju
+    private double rankPressure = 1.5; // Nacisk selekcyjny selekcji rankingowej z przedziału [1, 2]
+    private int elitism = 0; // Liczba najlepszych osobników przechodzących bez zmian do następnej generacji
+    private String replacement = "generational"; // generational, steadyState
+    private int steadyStateOffspring = 10; // Liczba potomków na generację w trybie steadyState
+    private double localSearchRate = 0.0; // Część potomków poprawianych przeszukiwaniem lokalnym (0 - wyłączone)
+    private int localSearchMoves = 50; // Maksymalna liczba ruchów poprawiających na potomka
+    private int localSearchNeighbors = 10; // Długość list najbliższych sąsiadów
+    private int localSearchSegment = 3; // Maksymalna długość przenoszonego fragmentu (powyżej 3 - segment insertion)
+    private boolean compactMatrix = false; // Zawężenie macierzy odległości do 16 bitów, jeśli wagi się mieszczą
+    private boolean binaryCache = true; // Zapis i odczyt binarnej kopii macierzy (plik .atsp.bin obok instancji)
+    private long problemCacheMegabytes = 512; // Limit pamięci na wczytane instancje i ich struktury pochodne
+    private int parallelRuns = 1; // Liczba równolegle wykonywanych uruchomień badania (0 - liczba rdzeni / threads)
+    private boolean trace = false; // Zapis śladu zbieżności każdego uruchomienia
+    private int traceCapacity = 4096; // Liczba ostatnich punktów śladu przechowywanych w buforze cyklicznym
+    private int traceInterval = 1; // Co ile generacji zapisywany jest punkt śladu
+    private String traceTargets = "10,5,1"; // Progi błędu względnego w % dla czasu osiągnięcia celu
+    private String traceFormat = "csv"; // csv, jsonl
+    private String traceDirectory = "traces"; // Katalog plików śladu
+    private int stagnationGenerations = 0; // Liczba generacji bez poprawy uznawana za stagnację (0 - wykrywanie wyłączone)
+    private double stagnationDiversity = 0.1; // Różnorodność populacji (odsetek różnych tras), poniżej której populacja uznawana jest za zapadniętą
+    private int diversityInterval = 10; // Co ile generacji liczona jest różnorodność populacji
+    private String stagnationResponse = "escalate"; // mutation, immigrants, restart, escalate (kolejno wszystkie trzy)
+    private double mutationBoost = 2.0; // Mnożnik współczynnika mutacji przy stagnacji
+    private double maxMutationRate = 0.5; // Górna granica zwiększanego współczynnika mutacji
+    private double immigrantRate = 0.2; // Część populacji zastępowana imigrantami
+    private String immigrantInit = "greedy"; // greedy (zaburzona trasa zachłanna), random
+    private int immigrantPerturbation = 10; // Liczba mutacji zaburzających trasę zachłanną imigranta
+    private boolean rejectDuplicates = false; // Czy potomkowie identyczni z istniejącymi trasami są dodatkowo mutowani
+    private String resultsFormat = "csv"; // csv, binary - format pliku wyników
+    private boolean stopAtTarget = true; // Czy zatrzymać algorytm po znalezieniu trasy nie gorszej niż optimum + targetError %
+    private double targetError = 0.0; // Dopuszczalny błąd względny celu w %
+    private long maxEvaluations = 0; // Limit ocenionych tras (0 - brak)
+    private long maxGenerations = 0; // Limit generacji (0 - brak)
+    private long noImprovementGenerations = 0; // Zatrzymanie po tylu generacjach bez poprawy (0 - brak)
+    private int acsAnts = 10; // Liczba mrówek w iteracji systemu mrówkowego (acs)
+    private double acsBeta = 2.0; // Waga odległości względem feromonu
+    private double acsQ0 = 0.9; // Prawdopodobieństwo wyboru najlepszej krawędzi zamiast losowania
+    private double acsRho = 0.1; // Parowanie feromonu przy aktualizacji globalnej
+    private double acsXi = 0.1; // Parowanie feromonu przy aktualizacji lokalnej
+    private int acsCandidates = 15; // Długość list kandydatów (najbliższych sąsiadów) przy budowie trasy
+    private String annealingMove = "insert"; // insert, swap, invert - ruch wyżarzania (puste - insert)
+    private double annealingInitialAcceptance = 0.5; // Początkowe prawdopodobieństwo przyjęcia średniego pogorszenia
+    private double annealingCooling = 0.95; // Mnożnik temperatury po każdej epoce
+    private int annealingEpochLength = 0; // Liczba ruchów w jednej temperaturze (0 - 10 * liczba miast)
+    private int ilsRestartIterations = 1000; // Iteracje ILS bez poprawy, po których wątek wraca do najlepszej trasy (0 - nigdy)
+    private String initMix = "greedy"; // Skład populacji początkowej, np. greedy:0.5,grasp:0.3,insertion:0.1,random:0.1 (greedy, grasp, insertion, random)
+    private double initGraspAlpha = 0.2; // Szerokość listy kandydatów GRASP: 0 - zachłannie, 1 - dowolny z kandydatów
+    private int initCandidates = 10; // Długość list najbliższych sąsiadów przy budowie tras początkowych
+    private String lowerBound = "best"; // Dolne ograniczenie dla instancji bez znanego optimum: simple, assignment, arborescence, best
+    private double gapStop = 0.0; // Zatrzymanie, gdy najlepsza trasa jest najwyżej o gapStop % dłuższa od dolnego ograniczenia (0 - wyłączone)
+    private int exactMaxCities = 20; // Instancje o co najwyżej tylu miastach są rozwiązywane dokładnie (exactMethod), 0 - wyłączone
+    private String exactMethod = "heldkarp"; // Algorytm dokładny dla małych instancji: heldkarp, branchbound
+    private String exactSeedAlgorithm = "primitive"; // Algorytm wyznaczający rozwiązanie początkowe metody podziału i ograniczeń
+    private long exactSeedTime = 100; // Czas (ms) wyznaczania rozwiązania początkowego, 0 - tylko trasa najbliższego sąsiada
+    private long checkpointInterval = 30000; // Odstęp (ms) między punktami kontrolnymi uruchomień GA (algorithm=genetic), 0 - wyłączone
+    private String checkpointDirectory = "checkpoints"; // Katalog punktów kontrolnych uruchomień i postępu badania
+    private String checkpointFile = ""; // Plik punktu kontrolnego bieżącego uruchomienia, ustawiany przez Main i ExperimentRunner (puste - brak)
+    private boolean sweepProgress = true; // Zapis postępu badania i wznowienie od pierwszego nieukończonego uruchomienia
+
+    public static AlgorithmOptions fromConfig(ConfigLoader configLoader) {
+        AlgorithmOptions options = new AlgorithmOptions();
+        options.algorithm = configLoader.getProperty("algorithm", options.algorithm);
+        options.crossoverMethod = configLoader.getProperty("crossoverMethod", options.crossoverMethod);
+        options.verifyFitness = configLoader.getBooleanProperty("verifyFitness", options.verifyFitness);
+        options.threads = configLoader.getIntProperty("threads", options.threads);
+        if (options.threads <= 0) {
+            options.threads = Runtime.getRuntime().availableProcessors();
+        }
+        options.islands = configLoader.getIntProperty("islands", options.islands);
+        options.islandMutationMethods = configLoader.getProperty("islandMutationMethods", options.islandMutationMethods);
+        options.islandMutationRates = configLoader.getProperty("islandMutationRates", options.islandMutationRates);
+        options.islandCrossoverMethods = configLoader.getProperty("islandCrossoverMethods", options.islandCrossoverMethods);
+        options.migrationInterval = configLoader.getIntProperty("migrationInterval", options.migrationInterval);
+        options.migrationIntervalMs = configLoader.getLongProperty("migrationIntervalMs", options.migrationIntervalMs);
+        options.migrationTopology = configLoader.getProperty("migrationTopology", options.migrationTopology);
+        options.migrationSize = configLoader.getIntProperty("migrationSize", options.migrationSize);
+        options.randomGenerator = configLoader.getProperty("randomGenerator", options.randomGenerator);
+        String seed = configLoader.getProperty("seed", "");
+        if (!seed.isEmpty()) {
+            options.setSeed(Long.parseLong(seed));
+        }
+        options.selectionMethod = configLoader.getProperty("selectionMethod", options.selectionMethod);
+        options.tournamentSize = configLoader.getIntProperty("tournamentSize", options.tournamentSize);
+        options.rankPressure = configLoader.getDoubleProperty("rankPressure", options.rankPressure);
+        options.elitism = configLoader.getIntProperty("elitism", options.elitism);
+        options.replacement = configLoader.getProperty("replacement", options.replacement);
+        options.steadyStateOffspring = configLoader.getIntProperty("steadyStateOffspring", options.steadyStateOffspring);
+        options.localSearchRate = configLoader.getDoubleProperty("localSearchRate", options.localSearchRate);
+        options.localSearchMoves = configLoader.getIntProperty("localSearchMoves", options.localSearchMoves);
+        options.localSearchNeighbors = configLoader.getIntProperty("localSearchNeighbors", options.localSearchNeighbors);
+        options.localSearchSegment = configLoader.getIntProperty("localSearchSegment", options.localSearchSegment);
+        options.compactMatrix = configLoader.getBooleanProperty("compactMatrix", options.compactMatrix);
+        options.binaryCache = configLoader.getBooleanProperty("binaryCache", options.binaryCache);
+        options.problemCacheMegabytes = configLoader.getLongProperty("problemCacheMegabytes", options.problemCacheMegabytes);
+        options.parallelRuns = configLoader.getIntProperty("parallelRuns", options.parallelRuns);
+        if (options.parallelRuns <= 0) {
+            options.parallelRuns = Math.max(1, Runtime.getRuntime().availableProcessors() / options.threads);
+        }
+        options.trace = configLoader.getBooleanProperty("trace", options.trace);
+        options.traceCapacity = configLoader.getIntProperty("traceCapacity", options.traceCapacity);
+        options.traceInterval = configLoader.getIntProperty("traceInterval", options.traceInterval);
+        options.traceTargets = configLoader.getProperty("traceTargets", options.traceTargets);
+        options.traceFormat = configLoader.getProperty("traceFormat", options.traceFormat);
+        options.traceDirectory = configLoader.getProperty("traceDirectory", options.traceDirectory);
+        options.stagnationGenerations = configLoader.getIntProperty("stagnationGenerations", options.stagnationGenerations);
+        options.stagnationDiversity = configLoader.getDoubleProperty("stagnationDiversity", options.stagnationDiversity);
+        options.diversityInterval = configLoader.getIntProperty("diversityInterval", options.diversityInterval);
+        options.stagnationResponse = configLoader.getProperty("stagnationResponse", options.stagnationResponse);
+        options.mutationBoost = configLoader.getDoubleProperty("mutationBoost", options.mutationBoost);
+        options.maxMutationRate = configLoader.getDoubleProperty("maxMutationRate", options.maxMutationRate);
+        options.immigrantRate = configLoader.getDoubleProperty("immigrantRate", options.immigrantRate);
+        options.immigrantInit = configLoader.getProperty("immigrantInit", options.immigrantInit);
+        options.immigrantPerturbation = configLoader.getIntProperty("immigrantPerturbation", options.immigrantPerturbation);
+        options.rejectDuplicates = configLoader.getBooleanProperty("rejectDuplicates", options.rejectDuplicates);
+        options.resultsFormat = configLoader.getProperty("resultsFormat", options.resultsFormat);
+        options.stopAtTarget = configLoader.getBooleanProperty("stopAtTarget", options.stopAtTarget);
+        options.targetError = configLoader.getDoubleProperty("targetError", options.targetError);
+        options.maxEvaluations = configLoader.getLongProperty("maxEvaluations", options.maxEvaluations);
+        options.maxGenerations = configLoader.getLongProperty("maxGenerations", options.maxGenerations);
+        options.noImprovementGenerations = configLoader.getLongProperty("noImprovementGenerations", options.noImprovementGenerations);
+        options.acsAnts = configLoader.getIntProperty("acsAnts", options.acsAnts);
+        options.acsBeta = configLoader.getDoubleProperty("acsBeta", options.acsBeta);
+        options.acsQ0 = configLoader.getDoubleProperty("acsQ0", options.acsQ0);
+        options.acsRho = configLoader.getDoubleProperty("acsRho", options.acsRho);
+        options.acsXi = configLoader.getDoubleProperty("acsXi", options.acsXi);
+        options.acsCandidates = configLoader.getIntProperty("acsCandidates", options.acsCandidates);
+        options.annealingMove = configLoader.getProperty("annealingMove", options.annealingMove);
+        options.annealingInitialAcceptance = configLoader.getDoubleProperty("annealingInitialAcceptance", options.annealingInitialAcceptance);
+        options.annealingCooling = configLoader.getDoubleProperty("annealingCooling", options.annealingCooling);
+        options.annealingEpochLength = configLoader.getIntProperty("annealingEpochLength", options.annealingEpochLength);
+        options.ilsRestartIterations = configLoader.getIntProperty("ilsRestartIterations", options.ilsRestartIterations);
+        options.initMix = configLoader.getProperty("initMix", options.initMix);
+        options.initGraspAlpha = configLoader.getDoubleProperty("initGraspAlpha", options.initGraspAlpha);
+        options.initCandidates = configLoader.getIntProperty("initCandidates", options.initCandidates);
+        options.lowerBound = configLoader.getProperty("lowerBound", options.lowerBound);
+        options.gapStop = configLoader.getDoubleProperty("gapStop", options.gapStop);
+        options.exactMaxCities = configLoader.getIntProperty("exactMaxCities", options.exactMaxCities);
+        options.exactMethod = configLoader.getProperty("exactMethod", options.exactMethod);
+        options.exactSeedAlgorithm = configLoader.getProperty("exactSeedAlgorithm", options.exactSeedAlgorithm);
+        options.exactSeedTime = configLoader.getLongProperty("exactSeedTime", options.exactSeedTime);
+        options.checkpointInterval = configLoader.getLongProperty("checkpointInterval", options.checkpointInterval);
+        options.checkpointDirectory = configLoader.getProperty("checkpointDirectory", options.checkpointDirectory);
+        options.checkpointFile = configLoader.getProperty("checkpointFile", options.checkpointFile);
+        options.sweepProgress = configLoader.getBooleanProperty("sweepProgress", options.sweepProgress);
+        return options;
+    }
+
+    // Kopia opcji, np. do nadpisania parametrów pojedynczej wyspy
+    public AlgorithmOptions copy() {
+        try {
+            return (AlgorithmOptions) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Opis opcji, od których zależą wyniki uruchomień - wyniki zapisane przy innym opisie nie są wznawiane
+    // Pomijane są opcje wpływające tylko na zapis i pamięć (ślad, pliki wyników, punkty kontrolne, bufory instancji)
+    public String describe() {
+        return String.join("|", algorithm, crossoverMethod, String.valueOf(threads), String.valueOf(islands),
+                islandMutationMethods, islandMutationRates, islandCrossoverMethods, String.valueOf(migrationInterval),
+                String.valueOf(migrationIntervalMs), migrationTopology, String.valueOf(migrationSize), randomGenerator,
+                seeded ? String.valueOf(seed) : "-", selectionMethod, String.valueOf(tournamentSize), String.valueOf(rankPressure),
+                String.valueOf(elitism), replacement, String.valueOf(steadyStateOffspring), String.valueOf(localSearchRate),
+                String.valueOf(localSearchMoves), String.valueOf(localSearchNeighbors), String.valueOf(localSearchSegment),
+                String.valueOf(compactMatrix), String.valueOf(stagnationGenerations), String.valueOf(stagnationDiversity),
+                String.valueOf(diversityInterval), stagnationResponse, String.valueOf(mutationBoost), String.valueOf(maxMutationRate),
+                String.valueOf(immigrantRate), immigrantInit, String.valueOf(immigrantPerturbation), String.valueOf(rejectDuplicates),
+                String.valueOf(stopAtTarget), String.valueOf(targetError), String.valueOf(maxEvaluations), String.valueOf(maxGenerations),
+                String.valueOf(noImprovementGenerations), String.valueOf(acsAnts), String.valueOf(acsBeta), String.valueOf(acsQ0),
+                String.valueOf(acsRho), String.valueOf(acsXi), String.valueOf(acsCandidates), annealingMove,
+                String.valueOf(annealingInitialAcceptance), String.valueOf(annealingCooling), String.valueOf(annealingEpochLength),
+                String.valueOf(ilsRestartIterations), initMix, String.valueOf(initGraspAlpha), String.valueOf(initCandidates),
+                lowerBound, String.valueOf(gapStop), String.valueOf(exactMaxCities), exactMethod, exactSeedAlgorithm,
+                String.valueOf(exactSeedTime));
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getCrossoverMethod() {
+        return crossoverMethod;
+    }
+
+    public void setCrossoverMethod(String crossoverMethod) {
+        this.crossoverMethod = crossoverMethod;
+    }
+
+    public boolean isVerifyFitness() {
+        return verifyFitness;
+    }
+
+    public void setVerifyFitness(boolean verifyFitness) {
+        this.verifyFitness = verifyFitness;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getIslands() {
+        return islands;
+    }
+
+    public void setIslands(int islands) {
+        this.islands = islands;
+    }
+
+    public String getIslandMutationMethods() {
+        return islandMutationMethods;
+    }
+
+    public void setIslandMutationMethods(String islandMutationMethods) {
+        this.islandMutationMethods = islandMutationMethods;
+    }
+
+    public String getIslandMutationRates() {
+        return islandMutationRates;
+    }
+
+    public void setIslandMutationRates(String islandMutationRates) {
+        this.islandMutationRates = islandMutationRates;
+    }
+
+    public String getIslandCrossoverMethods() {
+        return islandCrossoverMethods;
+    }
+
+    public void setIslandCrossoverMethods(String islandCrossoverMethods) {
+        this.islandCrossoverMethods = islandCrossoverMethods;
+    }
+
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public void setMigrationInterval(int migrationInterval) {
+        this.migrationInterval = migrationInterval;
+    }
+
+    public long getMigrationIntervalMs() {
+        return migrationIntervalMs;
+    }
+
+    public void setMigrationIntervalMs(long migrationIntervalMs) {
+        this.migrationIntervalMs = migrationIntervalMs;
+    }
+
+    public String getMigrationTopology() {
+        return migrationTopology;
+    }
+
+    public void setMigrationTopology(String migrationTopology) {
+        this.migrationTopology = migrationTopology;
+    }
+
+    public int getMigrationSize() {
+        return migrationSize;
+    }
+
+    public void setMigrationSize(int migrationSize) {
+        this.migrationSize = migrationSize;
+    }
+
+    public String getRandomGenerator() {
+        return randomGenerator;
+    }
+
+    public void setRandomGenerator(String randomGenerator) {
+        this.randomGenerator = randomGenerator;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+    }
+
+    public String getSelectionMethod() {
+        return selectionMethod;
+    }
+
+    public void setSelectionMethod(String selectionMethod) {
+        this.selectionMethod = selectionMethod;
+    }
+
+    public int getTournamentSize() {
+        return tournamentSize;
+    }
+
+    public void setTournamentSize(int tournamentSize) {
+        this.tournamentSize = tournamentSize;
+    }
+
+    public double getRankPressure() {
+        return rankPressure;
+    }
+
+    public void setRankPressure(double rankPressure) {
+        this.rankPressure = rankPressure;
+    }
+
+    public int getElitism() {
+        return elitism;
+    }
+
+    public void setElitism(int elitism) {
+        this.elitism = elitism;
+    }
+
+    public String getReplacement() {
+        return replacement;
+    }
+
+    public void setReplacement(String replacement) {
+        this.replacement = replacement;
+    }
+
+    public int getSteadyStateOffspring() {
+        return steadyStateOffspring;
+    }
+
+    public void setSteadyStateOffspring(int steadyStateOffspring) {
+        this.steadyStateOffspring = steadyStateOffspring;
+    }
+
+    public double getLocalSearchRate() {
+        return localSearchRate;
+    }
+
+    public void setLocalSearchRate(double localSearchRate) {
+        this.localSearchRate = localSearchRate;
+    }
+
+    public int getLocalSearchMoves() {
+        return localSearchMoves;
+    }
+
+    public void setLocalSearchMoves(int localSearchMoves) {
+        this.localSearchMoves = localSearchMoves;
+    }
+
+    public int getLocalSearchNeighbors() {
+        return localSearchNeighbors;
+    }
+
+    public void setLocalSearchNeighbors(int localSearchNeighbors) {
+        this.localSearchNeighbors = localSearchNeighbors;
+    }
+
+    public int getLocalSearchSegment() {
+        return localSearchSegment;
+    }
+
+    public void setLocalSearchSegment(int localSearchSegment) {
+        this.localSearchSegment = localSearchSegment;
+    }
+
+    public boolean isCompactMatrix() {
+        return compactMatrix;
+    }
+
+    public void setCompactMatrix(boolean compactMatrix) {
+        this.compactMatrix = compactMatrix;
+    }
+
+    public boolean isBinaryCache() {
+        return binaryCache;
+    }
+
+    public void setBinaryCache(boolean binaryCache) {
+        this.binaryCache = binaryCache;
+    }
+
+    public long getProblemCacheMegabytes() {
+        return problemCacheMegabytes;
+    }
+
+    public void setProblemCacheMegabytes(long problemCacheMegabytes) {
+        this.problemCacheMegabytes = problemCacheMegabytes;
+    }
+
+    public int getParallelRuns() {
+        return parallelRuns;
+    }
+
+    public void setParallelRuns(int parallelRuns) {
+        this.parallelRuns = parallelRuns;
+    }
+
+    public boolean isTrace() {
+        return trace;
+    }
+
+    public void setTrace(boolean trace) {
+        this.trace = trace;
+    }
+
+    public int getTraceCapacity() {
+        return traceCapacity;
+    }
+
+    public void setTraceCapacity(int traceCapacity) {
+        this.traceCapacity = traceCapacity;
+    }
+
+    public int getTraceInterval() {
+        return traceInterval;
+    }
+
+    public void setTraceInterval(int traceInterval) {
+        this.traceInterval = traceInterval;
+    }
+
+    public String getTraceTargets() {
+        return traceTargets;
+    }
+
+    public void setTraceTargets(String traceTargets) {
+        this.traceTargets = traceTargets;
+    }
+
+    public String getTraceFormat() {
+        return traceFormat;
+    }
+
+    public void setTraceFormat(String traceFormat) {
+        this.traceFormat = traceFormat;
+    }
+
+    public String getTraceDirectory() {
+        return traceDirectory;
+    }
+
+    public void setTraceDirectory(String traceDirectory) {
+        this.traceDirectory = traceDirectory;
+    }
+
+    public int getStagnationGenerations() {
+        return stagnationGenerations;
+    }
+
+    public void setStagnationGenerations(int stagnationGenerations) {
+        this.stagnationGenerations = stagnationGenerations;
+    }
+
+    public double getStagnationDiversity() {
+        return stagnationDiversity;
+    }
+
+    public void setStagnationDiversity(double stagnationDiversity) {
+        this.stagnationDiversity = stagnationDiversity;
+    }
+
+    public int getDiversityInterval() {
+        return diversityInterval;
+    }
+
+    public void setDiversityInterval(int diversityInterval) {
+        this.diversityInterval = diversityInterval;
+    }
+
+    public String getStagnationResponse() {
+        return stagnationResponse;
+    }
+
+    public void setStagnationResponse(String stagnationResponse) {
+        this.stagnationResponse = stagnationResponse;
+    }
+
+    public double getMutationBoost() {
+        return mutationBoost;
+    }
+
+    public void setMutationBoost(double mutationBoost) {
+        this.mutationBoost = mutationBoost;
+    }
+
+    public double getMaxMutationRate() {
+        return maxMutationRate;
+    }
+
+    public void setMaxMutationRate(double maxMutationRate) {
+        this.maxMutationRate = maxMutationRate;
+    }
+
+    public double getImmigrantRate() {
+        return immigrantRate;
+    }
+
+    public void setImmigrantRate(double immigrantRate) {
+        this.immigrantRate = immigrantRate;
+    }
+
+    public String getImmigrantInit() {
+        return immigrantInit;
+    }
+
+    public void setImmigrantInit(String immigrantInit) {
+        this.immigrantInit = immigrantInit;
+    }
+
+    public int getImmigrantPerturbation() {
+        return immigrantPerturbation;
+    }
+
+    public void setImmigrantPerturbation(int immigrantPerturbation) {
+        this.immigrantPerturbation = immigrantPerturbation;
+    }
+
+    public boolean isRejectDuplicates() {
+        return rejectDuplicates;
+    }
+
+    public void setRejectDuplicates(boolean rejectDuplicates) {
+        this.rejectDuplicates = rejectDuplicates;
+    }
+
+    public String getResultsFormat() {
+        return resultsFormat;
+    }
+
+    public void setResultsFormat(String resultsFormat) {
+        this.resultsFormat = resultsFormat;
+    }
+
+    public boolean isStopAtTarget() {
+        return stopAtTarget;
+    }
+
+    public void setStopAtTarget(boolean stopAtTarget) {
+        this.stopAtTarget = stopAtTarget;
+    }
+
+    public double getTargetError() {
+        return targetError;
+    }
+
+    public void setTargetError(double targetError) {
+        this.targetError = targetError;
+    }
+
+    public long getMaxEvaluations() {
+        return maxEvaluations;
+    }
+
+    public void setMaxEvaluations(long maxEvaluations) {
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    public long getMaxGenerations() {
+        return maxGenerations;
+    }
+
+    public void setMaxGenerations(long maxGenerations) {
+        this.maxGenerations = maxGenerations;
+    }
+
+    public long getNoImprovementGenerations() {
+        return noImprovementGenerations;
+    }
+
+    public void setNoImprovementGenerations(long noImprovementGenerations) {
+        this.noImprovementGenerations = noImprovementGenerations;
+    }
+
+    public int getAcsAnts() {
+        return acsAnts;
+    }
+
+    public void setAcsAnts(int acsAnts) {
+        this.acsAnts = acsAnts;
+    }
+
+    public double getAcsBeta() {
+        return acsBeta;
+    }
+
+    public void setAcsBeta(double acsBeta) {
+        this.acsBeta = acsBeta;
+    }
+
+    public double getAcsQ0() {
+        return acsQ0;
+    }
+
+    public void setAcsQ0(double acsQ0) {
+        this.acsQ0 = acsQ0;
+    }
+
+    public double getAcsRho() {
+        return acsRho;
+    }
+
+    public void setAcsRho(double acsRho) {
+        this.acsRho = acsRho;
+    }
+
+    public double getAcsXi() {
+        return acsXi;
+    }
+
+    public void setAcsXi(double acsXi) {
+        this.acsXi = acsXi;
+    }
+
+    public int getAcsCandidates() {
+        return acsCandidates;
+    }
+
+    public void setAcsCandidates(int acsCandidates) {
+        this.acsCandidates = acsCandidates;
+    }
+
+    public String getAnnealingMove() {
+        return annealingMove;
+    }
+
+    public void setAnnealingMove(String annealingMove) {
+        this.annealingMove = annealingMove;
+    }
+
+    public double getAnnealingInitialAcceptance() {
+        return annealingInitialAcceptance;
+    }
+
+    public void setAnnealingInitialAcceptance(double annealingInitialAcceptance) {
+        this.annealingInitialAcceptance = annealingInitialAcceptance;
+    }
+
+    public double getAnnealingCooling() {
+        return annealingCooling;
+    }
+
+    public void setAnnealingCooling(double annealingCooling) {
+        this.annealingCooling = annealingCooling;
+    }
+
+    public int getAnnealingEpochLength() {
+        return annealingEpochLength;
+    }
+
+    public void setAnnealingEpochLength(int annealingEpochLength) {
+        this.annealingEpochLength = annealingEpochLength;
+    }
+
+    public int getIlsRestartIterations() {
+        return ilsRestartIterations;
+    }
+
+    public void setIlsRestartIterations(int ilsRestartIterations) {
+        this.ilsRestartIterations = ilsRestartIterations;
+    }
+
+    public String getInitMix() {
+        return initMix;
+    }
+
+    public void setInitMix(String initMix) {
+        this.initMix = initMix;
+    }
+
+    public double getInitGraspAlpha() {
+        return initGraspAlpha;
+    }
+
+    public void setInitGraspAlpha(double initGraspAlpha) {
+        this.initGraspAlpha = initGraspAlpha;
+    }
+
+    public int getInitCandidates() {
+        return initCandidates;
+    }
+
+    public void setInitCandidates(int initCandidates) {
+        this.initCandidates = initCandidates;
+    }
+
+    public String getLowerBound() {
+        return lowerBound;
+    }
+
+    public void setLowerBound(String lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    public double getGapStop() {
+        return gapStop;
+    }
+
+    public void setGapStop(double gapStop) {
+        this.gapStop = gapStop;
+    }
+
+    public int getExactMaxCities() {
+        return exactMaxCities;
+    }
+
+    public void setExactMaxCities(int exactMaxCities) {
+        this.exactMaxCities = exactMaxCities;
+    }
+
+    public String getExactMethod() {
+        return exactMethod;
+    }
+
+    public void setExactMethod(String exactMethod) {
+        this.exactMethod = exactMethod;
+    }
+
+    public String getExactSeedAlgorithm() {
+        return exactSeedAlgorithm;
+    }
+
+    public void setExactSeedAlgorithm(String exactSeedAlgorithm) {
+        this.exactSeedAlgorithm = exactSeedAlgorithm;
+    }
+
+    public long getExactSeedTime() {
+        return exactSeedTime;
+    }
+
+    public void setExactSeedTime(long exactSeedTime) {
+        this.exactSeedTime = exactSeedTime;
+    }
+
+    public long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(long checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public String getCheckpointDirectory() {
+        return checkpointDirectory;
+    }
+
+    public void setCheckpointDirectory(String checkpointDirectory) {
+        this.checkpointDirectory = checkpointDirectory;
+    }
+
+    public String getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    public void setCheckpointFile(String checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    public boolean isSweepProgress() {
+        return sweepProgress;
+    }
+
+    public void setSweepProgress(boolean sweepProgress) {
+        this.sweepProgress = sweepProgress;
+    }
+}
@@ -0,0 +1,49 @@
+package km.algorithms;
+
+import km.model.TSPProblem;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Rejestr algorytmów wybieranych nazwą z pliku konfiguracyjnego (klucz algorithm), bez rozróżniania wielkości liter
+// Wbudowane silniki są rejestrowane przy ładowaniu klasy; kolejne można dodać przez register przed startem badania
+public final class AlgorithmRegistry {
+    private static final Map<String, AlgorithmFactory> FACTORIES = new LinkedHashMap<>();
+
+    static {
+        register("genetic", GeneticAlgorithm::new);
+        register("primitive", PrimitiveGeneticAlgorithm::new);
+        register("island", IslandGeneticAlgorithm::new);
+        register("acs", AntColonySystem::new);
+        register("annealing", SimulatedAnnealing::new);
+        register("ils", IteratedLocalSearch::new);
+        register("heldkarp", HeldKarpSolver::new);
+        register("branchbound", BranchAndBoundSolver::new);
+    }
+
+    private AlgorithmRegistry() {
+    }
+
+    public static synchronized void register(String name, AlgorithmFactory factory) {
+        FACTORIES.put(name.toLowerCase(Locale.ROOT), factory);
+    }
+
+    public static synchronized AlgorithmFactory get(String name) {
+        AlgorithmFactory factory = FACTORIES.get(name.toLowerCase(Locale.ROOT));
+        if (factory == null) {
+            throw new IllegalArgumentException("Nieznany algorytm: " + name + " (dostępne: " + String.join(", ", FACTORIES.keySet()) + ")");
+        }
+        return factory;
+    }
+
+    public static Algorithm create(String name, TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
+        return get(name).create(problem, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, options);
+    }
+
+    public static synchronized List<String> names() {
+        return new ArrayList<>(FACTORIES.keySet());
+    }
+}
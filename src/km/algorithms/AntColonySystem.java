@@ -0,0 +1,336 @@
+package km.algorithms;
+
+import km.algorithms.operators.OrOptLocalSearch;
+import km.model.NeighborLists;
+import km.model.TSPProblem;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+// System mrówkowy ACS (Ant Colony System) dla ATSP
+// Feromon i iloczyn feromonu z heurystyką (1 / (d + 1))^beta przechowywane są płasko jak macierz odległości:
+// krawędź i -> j pod indeksem i * n + j, w tablicach float. Mrówka wybiera kolejne miasto spośród acsCandidates
+// najbliższych nieodwiedzonych sąsiadów: z prawdopodobieństwem q0 krawędź o największej wadze, w pozostałych
+// przypadkach losowo proporcjonalnie do wagi; dopiero gdy wszyscy kandydaci są odwiedzeni, przeglądane są
+// wszystkie miasta. Każde przejście krawędzi obniża na niej feromon (aktualizacja lokalna), a po iteracji
+// feromon na krawędziach najlepszej dotąd trasy jest wzmacniany (aktualizacja globalna)
+// Mrówki jednej iteracji mogą być budowane równolegle - każdy wątek ma własny generator i bufory; wyścigi przy
+// aktualizacji lokalnej są dopuszczalne (zapis float jest niepodzielny), ale przy threads > 1 wynik nie jest powtarzalny
+// Iteracja kolonii jest liczona jako generacja, a każda zbudowana trasa - jako ocena
+public class AntColonySystem extends Algorithm {
+    private final TSPProblem problem;
+    private final long stopTime;
+    private final int citiesCount;
+    private final int ants;
+    private final double q0;
+    private final float rho;
+    private final float xi;
+    private final double beta;
+    private final int candidatesCount;
+    private final int threads;
+    private final double localSearchRate;
+    private final int localSearchMoves;
+    private final int localSearchNeighbors;
+    private final int localSearchSegment;
+    private final AlgorithmOptions options;
+    private final RandomGenerator random;
+
+    private final NeighborLists neighbors;
+    private final float[] pheromone; // Feromon krawędzi i -> j pod indeksem i * n + j
+    private final float[] heuristic; // (1 / (d(i, j) + 1))^beta
+    private final float[] weights; // pheromone * heuristic, aktualizowane razem z feromonem
+    private float initialPheromone;
+
+    private final int[] bestTour;
+    private int bestDistance;
+    private long bestSolutionTime;
+    private long startTimeNano;
+
+    private long deadlineNano;
+    private int targetDistance;
+    private volatile boolean stopRequested;
+    private ImprovementListener listener;
+
+    private AntWorker[] workers;
+    private ExecutorService executor;
+
+    public AntColonySystem(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
+        this.problem = problem;
+        this.stopTime = stopTime * 1000; // Czas w ms
+        this.citiesCount = problem.getCitiesCount();
+        this.ants = Math.max(1, options.getAcsAnts());
+        this.q0 = options.getAcsQ0();
+        this.rho = (float) options.getAcsRho();
+        this.xi = (float) options.getAcsXi();
+        this.beta = options.getAcsBeta();
+        this.neighbors = problem.getNeighborLists(Math.max(options.getAcsCandidates(), options.getLocalSearchNeighbors()));
+        this.candidatesCount = Math.min(options.getAcsCandidates(), neighbors.size());
+        this.threads = Math.max(1, Math.min(options.getThreads(), ants));
+        this.localSearchRate = options.getLocalSearchRate();
+        this.localSearchMoves = options.getLocalSearchMoves();
+        this.localSearchNeighbors = options.getLocalSearchNeighbors();
+        this.localSearchSegment = options.getLocalSearchSegment();
+        this.options = options;
+        this.random = RandomSources.create(options);
+
+        int n = citiesCount;
+        this.pheromone = new float[n * n];
+        this.heuristic = new float[n * n];
+        this.weights = new float[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                heuristic[i * n + j] = i == j ? 0f : (float) Math.pow(1.0 / (problem.getDistance(i, j) + 1.0), beta);
+            }
+        }
+        this.bestTour = new int[n];
+    }
+
+    @Override
+    public List<Integer> solve(int optimalSolution) {
+        return solve(StopCondition.fromOptions(stopTime, options, optimalSolution, problem), null);
+    }
+
+    @Override
+    public List<Integer> solve(StopCondition stopCondition, ImprovementListener listener) {
+        startTimeNano = System.nanoTime();
+        this.listener = listener;
+        deadlineNano = stopCondition.getDeadline(startTimeNano);
+        targetDistance = stopCondition.getTargetDistance();
+        stopRequested = false;
+        bestDistance = Integer.MAX_VALUE;
+        bestSolutionTime = 0;
+
+        // Feromon początkowy 1 / (n * L), gdzie L - długość trasy najbliższego sąsiada
+        problem.copyGreedyTour(random.nextInt(citiesCount), bestTour, 0);
+        bestDistance = problem.tourLength(bestTour, 0);
+        bestSolutionTime = System.nanoTime() - startTimeNano;
+        reportImprovement();
+        initialPheromone = (float) (1.0 / ((double) citiesCount * Math.max(1, bestDistance)));
+        Arrays.fill(pheromone, initialPheromone);
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = initialPheromone * heuristic[i];
+        }
+
+        workers = new AntWorker[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new AntWorker(t * ants / threads, (t + 1) * ants / threads, RandomSources.split(random));
+        }
+        executor = threads > 1 ? Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "acs-ant");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        long iterations = 0;
+        long evaluations = 0;
+        long lastImprovementIteration = 0;
+        String reason;
+        try {
+            while ((reason = stopCondition.reason(System.nanoTime() - startTimeNano, iterations, evaluations, bestDistance, iterations - lastImprovementIteration)) == null) {
+                runAnts();
+                boolean interrupted = false;
+                for (AntWorker worker : workers) {
+                    evaluations += worker.built;
+                    interrupted |= worker.interrupted;
+                    if (worker.bestLength < bestDistance) {
+                        bestDistance = worker.bestLength;
+                        System.arraycopy(worker.bestTour, 0, bestTour, 0, citiesCount);
+                        bestSolutionTime = worker.bestTime;
+                        lastImprovementIteration = iterations;
+                        reportImprovement();
+                    }
+                }
+                if (interrupted) {
+                    continue;
+                }
+                globalUpdate();
+                iterations++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reason = "przerwanie";
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+
+        System.out.printf("Najlepsze rozwiązanie znaleziono po czasie: %d ns\n", bestSolutionTime);
+        System.out.printf("Najlepsza odległość: %d\n", bestDistance);
+        System.out.printf("Powód zatrzymania: %s, iteracje: %d, zbudowane trasy: %d\n", reason, iterations, evaluations);
+        return Tours.toList(bestTour);
+    }
+
+    @Override
+    public long getBestSolutionTime() {
+        return bestSolutionTime;
+    }
+
+    private void runAnts() throws InterruptedException {
+        if (executor == null) {
+            workers[0].call();
+            return;
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(Arrays.asList(workers))) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Błąd wątku budującego trasy mrówek", e.getCause());
+        }
+    }
+
+    // Wzmocnienie feromonu na krawędziach najlepszej dotąd trasy
+    private void globalUpdate() {
+        int n = citiesCount;
+        float deposit = rho / Math.max(1, bestDistance);
+        for (int k = 0; k < n; k++) {
+            int edge = bestTour[k] * n + bestTour[k + 1 == n ? 0 : k + 1];
+            pheromone[edge] = (1 - rho) * pheromone[edge] + deposit;
+            weights[edge] = pheromone[edge] * heuristic[edge];
+        }
+    }
+
+    private void reportImprovement() {
+        if (listener != null) {
+            listener.improved(Tours.toList(bestTour), bestDistance, bestSolutionTime);
+        }
+    }
+
+    // Budowa tras mrówek [from, to) jednej iteracji; najlepsza z nich zostaje w bestTour wątku
+    private final class AntWorker implements Callable<Void> {
+        private final int from;
+        private final int to;
+        private final RandomGenerator random;
+        private final int[] tour;
+        private final int[] bestTour;
+        private final int[] visited; // Znaczniki epok odwiedzonych miast - bez czyszczenia między mrówkami
+        private final int[] candidates; // Nieodwiedzeni kandydaci bieżącego kroku
+        private final float[] candidateWeights;
+        private final OrOptLocalSearch localSearch;
+        private int epoch;
+        private int bestLength;
+        private long bestTime;
+        private int built;
+        private boolean interrupted;
+
+        private AntWorker(int from, int to, RandomGenerator random) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.tour = new int[citiesCount];
+            this.bestTour = new int[citiesCount];
+            this.visited = new int[citiesCount];
+            this.candidates = new int[Math.max(1, candidatesCount)];
+            this.candidateWeights = new float[Math.max(1, candidatesCount)];
+            this.localSearch = localSearchRate > 0 ? new OrOptLocalSearch(problem, localSearchNeighbors, localSearchSegment) : null;
+        }
+
+        @Override
+        public Void call() {
+            bestLength = Integer.MAX_VALUE;
+            built = 0;
+            interrupted = false;
+            for (int ant = from; ant < to; ant++) {
+                if (stopRequested || System.nanoTime() >= deadlineNano) {
+                    interrupted = true;
+                    break;
+                }
+                int length = buildTour();
+                if (localSearch != null && random.nextDouble() < localSearchRate) {
+                    length = localSearch.improve(tour, 0, length, localSearchMoves, random);
+                }
+                built++;
+                if (length < bestLength) {
+                    bestLength = length;
+                    System.arraycopy(tour, 0, bestTour, 0, citiesCount);
+                    bestTime = System.nanoTime() - startTimeNano;
+                    if (targetDistance != StopCondition.NO_TARGET && length <= targetDistance) {
+                        stopRequested = true; // Pozostałe wątki kończą iterację przy następnej mrówce
+                    }
+                }
+            }
+            return null;
+        }
+
+        private int buildTour() {
+            int n = citiesCount;
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                epoch = 1;
+            }
+            int current = random.nextInt(n);
+            int first = current;
+            tour[0] = current;
+            visited[current] = epoch;
+            int length = 0;
+            for (int step = 1; step < n; step++) {
+                int next = chooseNext(current);
+                tour[step] = next;
+                visited[next] = epoch;
+                localUpdate(current * n + next);
+                length += problem.getDistance(current, next);
+                current = next;
+            }
+            localUpdate(current * n + first);
+            return length + problem.getDistance(current, first);
+        }
+
+        // Wybór następnego miasta: najpierw spośród nieodwiedzonych kandydatów, potem spośród wszystkich miast
+        private int chooseNext(int current) {
+            int n = citiesCount;
+            int base = current * n;
+            int count = 0;
+            float total = 0f;
+            int best = -1;
+            float bestWeight = -1f;
+            for (int r = 0; r < candidatesCount; r++) {
+                int city = neighbors.outgoing(current, r);
+                if (visited[city] != epoch) {
+                    float weight = weights[base + city];
+                    candidates[count] = city;
+                    candidateWeights[count++] = weight;
+                    total += weight;
+                    if (weight > bestWeight) {
+                        bestWeight = weight;
+                        best = city;
+                    }
+                }
+            }
+
+            if (count == 0) {
+                for (int city = 0; city < n; city++) {
+                    if (visited[city] != epoch && weights[base + city] > bestWeight) {
+                        bestWeight = weights[base + city];
+                        best = city;
+                    }
+                }
+                return best;
+            }
+            if (count == 1 || total <= 0f || random.nextDouble() < q0) {
+                return best;
+            }
+            float threshold = (float) (random.nextDouble() * total);
+            for (int k = 0; k < count - 1; k++) {
+                threshold -= candidateWeights[k];
+                if (threshold < 0f) {
+                    return candidates[k];
+                }
+            }
+            return candidates[count - 1];
+        }
+
+        private void localUpdate(int edge) {
+            float value = (1 - xi) * pheromone[edge] + xi * initialPheromone;
+            pheromone[edge] = value;
+            weights[edge] = value * heuristic[edge];
+        }
+    }
+}
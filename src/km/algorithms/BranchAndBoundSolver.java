@@ -0,0 +1,247 @@
+package km.algorithms;
+
+import km.model.TSPProblem;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Dokładne rozwiązanie metodą podziału i ograniczeń (przeszukiwanie w głąb od miasta 0)
+// Rozwiązanie początkowe pochodzi z krótkiego uruchomienia algorytmu exactSeedAlgorithm (domyślnie GA) przez
+// exactSeedTime ms, więc od początku odcinane są gałęzie nie lepsze od niego. Ograniczenie w węźle: długość ścieżki
+// plus większa z sum najtańszych krawędzi wchodzących do miast, które jej jeszcze nie mają, i wychodzących
+// z miast, które jej jeszcze nie mają. Krawędzie są przeglądane według list posortowanych rosnąco, więc minimum
+// po dozwolonych miastach to zwykle pierwsze nieodwiedzone miasto listy. Zbiór odwiedzonych - maska long
+// Dominacja: tablica z adresowaniem bezpośrednim (bez rozwiązywania kolizji) pamięta dla pary (zbiór odwiedzonych,
+// ostatnie miasto) najkrótszą rozwiniętą ścieżkę - ścieżka nie krótsza od zapamiętanej jest odcinana. Utrata wpisu
+// przy kolizji osłabia tylko odcinanie, nie poprawność. Bez niej instancje z wieloma krawędziami zerowymi (br17)
+// mają ogromną liczbę równoważnych ścieżek
+// Przeszukiwanie zakończone przed limitem czasu daje udowodnione optimum, przerwane - najlepszą znalezioną trasę
+public class BranchAndBoundSolver extends Algorithm {
+    static final int MAX_CITIES = 48; // Zbiór odwiedzonych i miasto w jednym kluczu long
+    private static final int STOP_CHECK_INTERVAL = 1024; // Co tyle węzłów sprawdzany jest limit czasu
+    private static final int DOMINANCE_BITS = 20; // 2^20 wpisów tablicy dominacji (12 MB)
+
+    private final TSPProblem problem;
+    private final long stopTime;
+    private final int citiesCount;
+    private final AlgorithmOptions options;
+    private final Algorithm seedAlgorithm;
+    private final int[] outgoing; // Miasta posortowane rosnąco według d(i, j), wiersz i
+    private final int[] incoming; // Miasta posortowane rosnąco według d(j, i), wiersz i
+
+    private final int[] path;
+    private final long[] dominanceKeys; // Zbiór odwiedzonych * 64 + ostatnie miasto, -1 - pusty wpis
+    private final long[] dominanceLengths;
+    private int[] bestTour;
+    private int bestDistance;
+    private long bestSolutionTime;
+    private long startTimeNano;
+    private long deadlineNano;
+    private long nodes;
+    private boolean timedOut;
+    private StopCondition stopCondition;
+    private ImprovementListener listener;
+
+    public BranchAndBoundSolver(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
+        this.problem = problem;
+        this.stopTime = stopTime * 1000; // Czas w ms
+        this.citiesCount = problem.getCitiesCount();
+        this.options = options;
+        if (citiesCount > MAX_CITIES) {
+            throw new IllegalArgumentException("Instancja zbyt duża dla metody podziału i ograniczeń: " + citiesCount + " miast (maksymalnie " + MAX_CITIES + ")");
+        }
+        this.seedAlgorithm = options.getExactSeedTime() > 0
+                ? AlgorithmRegistry.create(options.getExactSeedAlgorithm(), problem, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, options)
+                : null;
+        this.outgoing = sortedRows(problem, true);
+        this.incoming = sortedRows(problem, false);
+        this.path = new int[citiesCount];
+        this.dominanceKeys = new long[1 << DOMINANCE_BITS];
+        this.dominanceLengths = new long[1 << DOMINANCE_BITS];
+    }
+
+    @Override
+    public List<Integer> solve(int optimalSolution) {
+        return solve(StopCondition.fromOptions(stopTime, options, optimalSolution, problem), null);
+    }
+
+    @Override
+    public List<Integer> solve(StopCondition stopCondition, ImprovementListener listener) {
+        startTimeNano = System.nanoTime();
+        deadlineNano = stopCondition.getDeadline(startTimeNano);
+        this.stopCondition = stopCondition;
+        this.listener = listener;
+        nodes = 0;
+        timedOut = false;
+        Arrays.fill(dominanceKeys, -1L);
+        int n = citiesCount;
+
+        // Rozwiązanie początkowe: trasa najbliższego sąsiada, a jeśli podano - lepsza trasa z krótkiego uruchomienia GA
+        bestTour = new int[n];
+        problem.copyGreedyTour(0, bestTour, 0);
+        bestDistance = problem.tourLength(bestTour, 0);
+        long lowerBound = problem.getAssignmentBound();
+        if (seedAlgorithm != null && bestDistance > lowerBound) {
+            StopCondition seedCondition = new StopCondition(options.getExactSeedTime(), 0, 0, (int) lowerBound, 0, stopCondition.getOptimalSolution());
+            List<Integer> seed = seedAlgorithm.solve(seedCondition, null);
+            int[] seedTour = new int[n];
+            for (int i = 0; i < n; i++) {
+                seedTour[i] = seed.get(i);
+            }
+            int seedDistance = problem.tourLength(seedTour, 0);
+            if (seedDistance < bestDistance) {
+                bestDistance = seedDistance;
+                bestTour = seedTour;
+            }
+        }
+        bestSolutionTime = System.nanoTime() - startTimeNano;
+        reportImprovement();
+
+        String reason;
+        if (bestDistance <= lowerBound) {
+            reason = "udowodnione optimum"; // Rozwiązanie początkowe równe dolnemu ograniczeniu
+        } else if (stopCondition.isTargetReached(bestDistance)) {
+            reason = "osiągnięto cel";
+        } else {
+            path[0] = 0;
+            search(0, 1, 1L, 0);
+            if (timedOut) {
+                reason = stopCondition.isTargetReached(bestDistance) ? "osiągnięto cel" : "limit czasu";
+            } else {
+                reason = "udowodnione optimum";
+            }
+        }
+
+        System.out.printf("Najlepsze rozwiązanie znaleziono po czasie: %d ns\n", bestSolutionTime);
+        System.out.printf("Najlepsza odległość: %d\n", bestDistance);
+        System.out.printf("Powód zatrzymania: %s, węzły: %d\n", reason, nodes);
+        return Tours.toList(bestTour);
+    }
+
+    @Override
+    public long getBestSolutionTime() {
+        return bestSolutionTime;
+    }
+
+    // Rozwinięcie ścieżki path[0, depth) kończącej się w current o długości length
+    private void search(int current, int depth, long visited, long length) {
+        if (timedOut) {
+            return;
+        }
+        if (++nodes % STOP_CHECK_INTERVAL == 0 && System.nanoTime() >= deadlineNano) {
+            timedOut = true;
+            return;
+        }
+        int n = citiesCount;
+        if (depth == n) {
+            long total = length + problem.getDistance(current, 0);
+            if (total < bestDistance) {
+                bestDistance = (int) total;
+                System.arraycopy(path, 0, bestTour, 0, n);
+                bestSolutionTime = System.nanoTime() - startTimeNano;
+                reportImprovement();
+                if (stopCondition.isTargetReached(bestDistance)) {
+                    timedOut = true; // Cel osiągnięty - dalsze przeszukiwanie niepotrzebne
+                }
+            }
+            return;
+        }
+        if (length + bound(current, visited) >= bestDistance || dominated(current, visited, length)) {
+            return;
+        }
+        // Następniki w kolejności rosnącej odległości - dobre trasy są znajdowane wcześnie
+        int row = current * n;
+        for (int k = 0; k < n; k++) {
+            int next = outgoing[row + k];
+            if ((visited & 1L << next) != 0) {
+                continue;
+            }
+            long nextLength = length + problem.getDistance(current, next);
+            if (nextLength >= bestDistance) {
+                continue;
+            }
+            path[depth] = next;
+            search(next, depth + 1, visited | 1L << next, nextLength);
+            if (timedOut) {
+                return;
+            }
+        }
+    }
+
+    // Sprawdzenie i aktualizacja tablicy dominacji; zwraca true, jeśli ta sama para była już rozwinięta nie dłuższą ścieżką
+    private boolean dominated(int current, long visited, long length) {
+        long key = visited << 6 | current;
+        int slot = (int) (key * 0x9E3779B97F4A7C15L >>> (64 - DOMINANCE_BITS));
+        if (dominanceKeys[slot] == key && dominanceLengths[slot] <= length) {
+            return true;
+        }
+        dominanceKeys[slot] = key;
+        dominanceLengths[slot] = length;
+        return false;
+    }
+
+    // Dolne ograniczenie długości reszty trasy z current przez nieodwiedzone miasta do 0
+    private long bound(int current, long visited) {
+        int n = citiesCount;
+        long all = (1L << n) - 1;
+        long unvisited = all & ~visited;
+        long sources = unvisited | 1L << current; // Miasta bez krawędzi wychodzącej
+        long targets = unvisited | 1L; // Miasta bez krawędzi wchodzącej
+        long in = 0;
+        long out = 0;
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            int city = Long.numberOfTrailingZeros(bits);
+            in += cheapest(incoming, city, sources & ~(1L << city), false);
+        }
+        for (long bits = sources; bits != 0; bits &= bits - 1) {
+            int city = Long.numberOfTrailingZeros(bits);
+            long allowed = targets & ~(1L << city);
+            if (city == current && allowed != 1L) {
+                allowed &= ~1L; // Powrót do 0 dopiero po odwiedzeniu wszystkich miast
+            }
+            out += cheapest(outgoing, city, allowed, true);
+        }
+        return Math.max(in, out);
+    }
+
+    private long cheapest(int[] sorted, int city, long allowed, boolean out) {
+        int n = citiesCount;
+        int row = city * n;
+        for (int k = 0; k < n; k++) {
+            int other = sorted[row + k];
+            if ((allowed & 1L << other) != 0) {
+                return out ? problem.getDistance(city, other) : problem.getDistance(other, city);
+            }
+        }
+        return 0;
+    }
+
+    private void reportImprovement() {
+        if (listener != null) {
+            listener.improved(Tours.toList(bestTour), bestDistance, bestSolutionTime);
+        }
+    }
+
+    // Wiersze i: pozostałe miasta posortowane rosnąco według d(i, j) (out) lub d(j, i); kolejność przez pakowanie
+    // odległości i numeru miasta w long, bez obiektów pośrednich
+    private static int[] sortedRows(TSPProblem problem, boolean out) {
+        int n = problem.getCitiesCount();
+        int[] rows = new int[n * n];
+        long[] keys = new long[n - 1];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                if (j != i) {
+                    long distance = out ? problem.getDistance(i, j) : problem.getDistance(j, i);
+                    keys[count++] = distance << 32 | j;
+                }
+            }
+            Arrays.sort(keys);
+            for (int k = 0; k < n - 1; k++) {
+                rows[i * n + k] = (int) keys[k];
+            }
+            rows[i * n + n - 1] = i; // Samo miasto na końcu - nigdy nie jest dozwolone
+        }
+        return rows;
+    }
+}
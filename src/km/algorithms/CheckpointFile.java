@@ -0,0 +1,223 @@
+package km.algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Punkt kontrolny uruchomienia GA w pliku odwzorowanym w pamięci (little-endian)
+// Plik ma dwa miejsca na migawkę zapisywane na przemian, więc przerwanie w trakcie zapisu jednego z nich
+// pozostawia poprzednią migawkę nietkniętą. Miejsce:
+//   long magic "PEA4CKP2", long numer kolejny, long suma kontrolna (z pól poniżej), long odcisk konfiguracji,
+//   int liczba miast, int rozmiar populacji, long generacje, long ocenione trasy, long zużyty czas (ns), long czas najlepszego (ns),
+//   long generacja ostatniej poprawy, long ziarno przebiegu, int najlepsza odległość,
+//   najlepsza trasa (n int), populacja (populacja * n int), długości tras populacji (populacja int)
+// Odcisk konfiguracji to skrót opisu parametrów uruchomienia - migawka innej konfiguracji (inne współczynniki,
+// ziarno, limity) jest pomijana, więc uruchomienie zaczyna się od początku zamiast wznawiać cudzy stan
+// Wątek algorytmu kopiuje stan do bufora pośredniego tylko wtedy, gdy wątek zapisu jest wolny (offer nie czeka),
+// a kopiowanie do pliku, suma kontrolna i force() odbywają się w wątku "checkpoint-writer"
+final class CheckpointFile implements AutoCloseable {
+    private static final long MAGIC = 0x32504B4334414550L; // "PEA4CKP2" jako long little-endian
+    private static final int HEADER_BYTES = 4 * 8 + 2 * 4 + 6 * 8 + 4;
+
+    private final Path path;
+    private final int citiesCount;
+    private final int populationSize;
+    private final long configuration; // Odcisk konfiguracji uruchomienia
+    private final int slotBytes;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Snapshot staging;
+    private final BlockingQueue<Snapshot> queue = new ArrayBlockingQueue<>(1);
+    private final Thread writerThread;
+    private volatile boolean busy; // Bufor pośredni oczekuje na zapis lub jest zapisywany
+    private volatile IOException failure;
+    private long sequence;
+    private boolean foreign; // Plik zawiera poprawną migawkę innej konfiguracji
+
+    // Stan algorytmu w migawce - tablice o rozmiarach ustalonych dla instancji i populacji
+    static final class Snapshot {
+        long generations;
+        long evaluations;
+        long elapsedNs;
+        long bestSolutionTime;
+        long lastImprovementGeneration;
+        long seed;
+        int bestDistance;
+        final int[] bestTour;
+        final int[] population; // Trasy populacji jedna za drugą
+        final int[] fitness;
+
+        private Snapshot(int citiesCount, int populationSize) {
+            this.bestTour = new int[citiesCount];
+            this.population = new int[populationSize * citiesCount];
+            this.fitness = new int[populationSize];
+        }
+    }
+
+    CheckpointFile(Path path, int citiesCount, int populationSize, String configuration) throws IOException {
+        this.path = path;
+        this.citiesCount = citiesCount;
+        this.populationSize = populationSize;
+        this.configuration = fingerprint(configuration);
+        this.slotBytes = HEADER_BYTES + 4 * (citiesCount + populationSize * citiesCount + populationSize);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() != 2L * slotBytes) {
+            channel.truncate(0); // Plik innej instancji lub populacji - nie nadaje się do wznowienia
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 2L * slotBytes);
+        this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.staging = new Snapshot(citiesCount, populationSize);
+        this.writerThread = new Thread(this::drain, "checkpoint-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    // Najnowsza poprawna migawka z pliku lub null, jeśli jej nie ma
+    Snapshot read() {
+        Snapshot best = null;
+        long bestSequence = -1;
+        for (int slot = 0; slot < 2; slot++) {
+            Snapshot snapshot = new Snapshot(citiesCount, populationSize);
+            long slotSequence = readSlot(slot, snapshot);
+            if (slotSequence > bestSequence) {
+                best = snapshot;
+                bestSequence = slotSequence;
+            }
+        }
+        sequence = Math.max(0, bestSequence);
+        if (best == null && foreign) {
+            System.out.println("Pominieto punkt kontrolny innej konfiguracji: " + path);
+        }
+        return best;
+    }
+
+    // Bufor do wypełnienia stanem albo null, jeśli poprzednia migawka jest jeszcze zapisywana
+    Snapshot acquire() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        return busy ? null : staging;
+    }
+
+    // Przekazanie wypełnionego bufora wątkowi zapisu
+    void publish() {
+        busy = true;
+        queue.offer(staging);
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Snapshot snapshot = queue.take();
+                if (snapshot != staging) {
+                    return; // Znacznik końca
+                }
+                try {
+                    writeSlot((int) (++sequence & 1), snapshot);
+                    buffer.force();
+                } catch (RuntimeException e) {
+                    failure = new IOException("Błąd zapisu punktu kontrolnego " + path, e);
+                }
+                busy = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Zatrzymanie wątku zapisu po dokończeniu ostatniej migawki
+    @Override
+    public void close() throws IOException {
+        try {
+            queue.put(new Snapshot(0, 0));
+            writerThread.join();
+        } catch (InterruptedException e) {
+            writerThread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Usunięcie pliku po ukończeniu uruchomienia
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private void writeSlot(int slot, Snapshot snapshot) {
+        ByteBuffer data = slice(slot);
+        data.putLong(8, 0); // Numer kolejny 0 - miejsce w trakcie zapisu
+        data.position(HEADER_BYTES);
+        data.asIntBuffer().put(snapshot.bestTour).put(snapshot.population).put(snapshot.fitness);
+        data.position(24);
+        data.putLong(configuration).putInt(citiesCount).putInt(populationSize).putLong(snapshot.generations).putLong(snapshot.evaluations)
+                .putLong(snapshot.elapsedNs).putLong(snapshot.bestSolutionTime).putLong(snapshot.lastImprovementGeneration)
+                .putLong(snapshot.seed).putInt(snapshot.bestDistance);
+        data.putLong(16, checksum(data));
+        data.putLong(0, MAGIC);
+        data.putLong(8, sequence);
+    }
+
+    // Numer kolejny migawki z miejsca slot (wczytanej do snapshot) albo -1, jeśli miejsce jest puste lub uszkodzone
+    private long readSlot(int slot, Snapshot snapshot) {
+        ByteBuffer data = slice(slot);
+        long slotSequence = data.getLong(8);
+        if (data.getLong(0) != MAGIC || slotSequence <= 0 || data.getLong(16) != checksum(data)
+                || data.getInt(32) != citiesCount || data.getInt(36) != populationSize) {
+            return -1;
+        }
+        if (data.getLong(24) != configuration) {
+            foreign = true;
+            return -1;
+        }
+        data.position(40);
+        snapshot.generations = data.getLong();
+        snapshot.evaluations = data.getLong();
+        snapshot.elapsedNs = data.getLong();
+        snapshot.bestSolutionTime = data.getLong();
+        snapshot.lastImprovementGeneration = data.getLong();
+        snapshot.seed = data.getLong();
+        snapshot.bestDistance = data.getInt();
+        data.asIntBuffer().get(snapshot.bestTour).get(snapshot.population).get(snapshot.fitness);
+        return slotSequence;
+    }
+
+    private ByteBuffer slice(int slot) {
+        return buffer.slice(slot * slotBytes, slotBytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Odcisk opisu konfiguracji (FNV-1a po znakach)
+    private static long fingerprint(String configuration) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < configuration.length(); i++) {
+            hash = (hash ^ configuration.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // Suma kontrolna (FNV-1a po słowach) wszystkiego poza magic, numerem kolejnym i samą sumą
+    private long checksum(ByteBuffer data) {
+        long hash = 0xCBF29CE484222325L;
+        int position = 24;
+        for (; position + 8 <= slotBytes; position += 8) {
+            hash = (hash ^ data.getLong(position)) * 0x100000001B3L;
+        }
+        for (; position < slotBytes; position += 4) {
+            hash = (hash ^ data.getInt(position)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+}
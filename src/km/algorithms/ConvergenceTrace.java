@@ -0,0 +1,248 @@
+package km.algorithms;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+// Ślad zbieżności jednego uruchomienia algorytmu
+// Co interval generacji zapisywany jest punkt: czas, numer generacji, liczba ocen, najlepsza i średnia długość
+// w populacji oraz różnorodność (odsetek różnych długości tras). Punkty trafiają do tablic prymitywnych
+// o stałym rozmiarze używanych jako bufor cykliczny - przy długich uruchomieniach zostaje capacity ostatnich punktów
+// Niezależnie od bufora zapamiętywany jest czas osiągnięcia każdego progu targets (błąd względny w %)
+// W pętli algorytmu nie są alokowane żadne obiekty - tablice są tworzone w konstruktorze i w prepare przed pętlą
+public class ConvergenceTrace {
+    private final int capacity;
+    private final int interval;
+    private final int optimalSolution;
+    private final double[] targets; // Progi błędu względnego w %, malejąco
+    private final int[] targetDistances; // Długości tras odpowiadające progom
+    private final long[] targetTimes; // Czas osiągnięcia progu w ns, -1 - nieosiągnięty
+    private int nextTarget; // Indeks pierwszego nieosiągniętego progu
+
+    private final long[] times;
+    private final int[] generations;
+    private final long[] evaluations;
+    private final int[] bestDistances;
+    private final double[] meanDistances;
+    private final double[] diversities;
+    private final double[] generationRates; // Generacje na sekundę od poprzedniego punktu
+    private final double[] evaluationRates; // Oceny na sekundę od poprzedniego punktu
+    private int size;
+    private int head; // Pozycja kolejnego zapisu
+
+    private int generation;
+    private long evaluationsCount;
+    private long lastTime; // Poprzedni punkt - do wyznaczenia przepustowości
+    private int lastGeneration;
+    private long lastEvaluations;
+
+    // Zbiór różnych długości tras - adresowanie otwarte ze znacznikami epok, bez czyszczenia tablicy
+    private int[] distinctValues = new int[0];
+    private int[] distinctEpochs = new int[0];
+    private int distinctEpoch;
+
+    public ConvergenceTrace(int capacity, int interval, int optimalSolution, double[] targets) {
+        this.capacity = Math.max(1, capacity);
+        this.interval = Math.max(1, interval);
+        this.optimalSolution = optimalSolution;
+        this.targets = targets.clone();
+        Arrays.sort(this.targets);
+        for (int i = 0, j = this.targets.length - 1; i < j; i++, j--) {
+            double swap = this.targets[i];
+            this.targets[i] = this.targets[j];
+            this.targets[j] = swap;
+        }
+        this.targetDistances = new int[targets.length];
+        this.targetTimes = new long[targets.length];
+        for (int t = 0; t < targets.length; t++) {
+            targetDistances[t] = (int) Math.floor(optimalSolution * (1 + this.targets[t] / 100));
+            targetTimes[t] = -1;
+        }
+
+        this.times = new long[this.capacity];
+        this.generations = new int[this.capacity];
+        this.evaluations = new long[this.capacity];
+        this.bestDistances = new int[this.capacity];
+        this.meanDistances = new double[this.capacity];
+        this.diversities = new double[this.capacity];
+        this.generationRates = new double[this.capacity];
+        this.evaluationRates = new double[this.capacity];
+    }
+
+    // Ślad dla uruchomienia z podanymi opcjami lub null, jeśli zapis śladu jest wyłączony
+    public static ConvergenceTrace create(AlgorithmOptions options, int optimalSolution, int populationSize) {
+        if (!options.isTrace()) {
+            return null;
+        }
+        ConvergenceTrace trace = new ConvergenceTrace(options.getTraceCapacity(), options.getTraceInterval(), optimalSolution, parseTargets(options.getTraceTargets()));
+        trace.prepare(populationSize);
+        return trace;
+    }
+
+    // Progi podawane w konfiguracji jako lista oddzielona przecinkami, np. "10,5,1"
+    public static double[] parseTargets(String targets) {
+        if (targets == null || targets.isBlank()) {
+            return new double[0];
+        }
+        String[] parts = targets.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i].trim());
+        }
+        return values;
+    }
+
+    // Przygotowanie bufora różnorodności dla populacji o podanym rozmiarze - wywoływane przed pętlą algorytmu
+    public void prepare(int populationSize) {
+        int tableSize = Integer.highestOneBit(Math.max(2, populationSize) * 2 - 1) << 1;
+        if (distinctValues.length < tableSize) {
+            distinctValues = new int[tableSize];
+            distinctEpochs = new int[tableSize];
+            distinctEpoch = 0;
+        }
+    }
+
+    // Nowe najlepsze rozwiązanie znalezione po czasie timeNs od startu
+    public void improved(long timeNs, int distance) {
+        while (nextTarget < targetDistances.length && distance <= targetDistances[nextTarget]) {
+            targetTimes[nextTarget++] = timeNs;
+        }
+    }
+
+    // Koniec generacji: fitness[0, count) to długości tras bieżącej populacji, newEvaluations - liczba ocenionych tras
+    public void generation(long timeNs, int newEvaluations, int[] fitness, int count) {
+        generation++;
+        evaluationsCount += newEvaluations;
+        if (generation % interval != 0) {
+            return;
+        }
+
+        int best = Integer.MAX_VALUE;
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            best = Math.min(best, fitness[i]);
+            sum += fitness[i];
+        }
+
+        times[head] = timeNs;
+        generations[head] = generation;
+        evaluations[head] = evaluationsCount;
+        bestDistances[head] = best;
+        meanDistances[head] = (double) sum / count;
+        diversities[head] = (double) countDistinct(fitness, count) / count;
+        long elapsed = timeNs - lastTime;
+        generationRates[head] = elapsed > 0 ? (generation - lastGeneration) * 1e9 / elapsed : 0.0;
+        evaluationRates[head] = elapsed > 0 ? (evaluationsCount - lastEvaluations) * 1e9 / elapsed : 0.0;
+        lastTime = timeNs;
+        lastGeneration = generation;
+        lastEvaluations = evaluationsCount;
+        head = head + 1 == capacity ? 0 : head + 1;
+        size = Math.min(size + 1, capacity);
+    }
+
+    private int countDistinct(int[] fitness, int count) {
+        if (++distinctEpoch == Integer.MAX_VALUE) { // Przepełnienie licznika - jednorazowe wyzerowanie znaczników
+            Arrays.fill(distinctEpochs, 0);
+            distinctEpoch = 1;
+        }
+        int mask = distinctValues.length - 1;
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            int value = fitness[i];
+            int slot = (value * 0x9E3779B9) >>> 16 & mask;
+            while (distinctEpochs[slot] == distinctEpoch && distinctValues[slot] != value) {
+                slot = (slot + 1) & mask;
+            }
+            if (distinctEpochs[slot] != distinctEpoch) {
+                distinctEpochs[slot] = distinctEpoch;
+                distinctValues[slot] = value;
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    public int getGenerations() {
+        return generation;
+    }
+
+    public long getEvaluations() {
+        return evaluationsCount;
+    }
+
+    // Czas osiągnięcia progu błędu targetPercent w ns lub -1, jeśli próg nie został osiągnięty
+    public long getTimeToTarget(double targetPercent) {
+        for (int t = 0; t < targets.length; t++) {
+            if (targets[t] == targetPercent) {
+                return targetTimes[t];
+            }
+        }
+        throw new IllegalArgumentException("Nieznany próg: " + targetPercent);
+    }
+
+    // Zapis śladu do pliku directory/baseName.csv lub .jsonl
+    public Path write(Path directory, String baseName, String format) throws IOException {
+        Files.createDirectories(directory);
+        if ("csv".equalsIgnoreCase(format)) {
+            Path path = directory.resolve(baseName + ".csv");
+            writeCsv(path);
+            return path;
+        } else if ("jsonl".equalsIgnoreCase(format)) {
+            Path path = directory.resolve(baseName + ".jsonl");
+            writeJsonl(path);
+            return path;
+        }
+        throw new IllegalArgumentException("Nieznany format śladu: " + format);
+    }
+
+    // Wiersze punktów, a na końcu wiersze z czasem osiągnięcia progów (kolumna target)
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("time_ns,generation,evaluations,best,mean,diversity,generations_per_s,evaluations_per_s,target,time_to_target_ns\n");
+            for (int k = 0; k < size; k++) {
+                int i = index(k);
+                writer.write(String.format(Locale.ROOT, "%d,%d,%d,%d,%.2f,%.4f,%.1f,%.1f,,\n",
+                        times[i], generations[i], evaluations[i], bestDistances[i], meanDistances[i], diversities[i],
+                        generationRates[i], evaluationRates[i]));
+            }
+            for (int t = 0; t < targets.length; t++) {
+                writer.write(String.format(Locale.ROOT, ",,,,,,,,%s,%d\n", formatTarget(targets[t]), targetTimes[t]));
+            }
+        }
+    }
+
+    // Jeden obiekt JSON na punkt, ostatni wiersz - podsumowanie z czasami osiągnięcia progów
+    public void writeJsonl(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (int k = 0; k < size; k++) {
+                int i = index(k);
+                writer.write(String.format(Locale.ROOT,
+                        "{\"time_ns\":%d,\"generation\":%d,\"evaluations\":%d,\"best\":%d,\"mean\":%.2f,\"diversity\":%.4f,\"generations_per_s\":%.1f,\"evaluations_per_s\":%.1f}\n",
+                        times[i], generations[i], evaluations[i], bestDistances[i], meanDistances[i], diversities[i],
+                        generationRates[i], evaluationRates[i]));
+            }
+            StringBuilder summary = new StringBuilder();
+            summary.append(String.format(Locale.ROOT, "{\"optimal\":%d,\"generations\":%d,\"evaluations\":%d,\"time_to_target_ns\":{",
+                    optimalSolution, generation, evaluationsCount));
+            for (int t = 0; t < targets.length; t++) {
+                if (t > 0) {
+                    summary.append(',');
+                }
+                summary.append('"').append(formatTarget(targets[t])).append("\":").append(targetTimes[t]);
+            }
+            writer.write(summary.append("}}\n").toString());
+        }
+    }
+
+    // Indeks k-tego najstarszego punktu w buforze cyklicznym
+    private int index(int k) {
+        return size < capacity ? k : (head + k) % capacity;
+    }
+
+    private static String formatTarget(double target) {
+        return target == Math.rint(target) ? Long.toString((long) target) : Double.toString(target);
+    }
+}
@@ -1,7 +1,14 @@
 package km.algorithms;
 
+import km.algorithms.init.PopulationInitializer;
+import km.algorithms.operators.OrOptLocalSearch;
+import km.algorithms.operators.SelectionOperator;
+import km.algorithms.operators.SelectionOperators;
+import km.algorithms.operators.TourHashes;
 import km.model.TSPProblem;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 public class GeneticAlgorithm extends Algorithm {
@@ -15,80 +22,382 @@ public class GeneticAlgorithm extends Algorithm {
 
     private long bestSolutionTime;
 
+    private final AlgorithmOptions options;
+    private ConvergenceTrace trace; // Ślad zbieżności (null - wyłączony)
+    private int[] generationFitness; // Długości tras bieżącej populacji (selekcja, ślad, punkt kontrolny)
+    private int[] offspringFitness; // Długości tras tworzonych potomków
+
+    private final SelectionOperator selection;
+    private final boolean steadyState;
+    private final int elitism;
+    private final int offspringFrom; // Potomkowie zajmują indeksy [offspringFrom, offspringTo) nowej generacji
+    private final int offspringTo;
+    private final int[] eliteIndices;
+
+    private final OrOptLocalSearch localSearch; // null - etap memetyczny wyłączony (localSearchRate = 0)
+    private final double localSearchRate;
+    private final int localSearchMoves;
+
+    private final int stagnationGenerations;
+    private final double stagnationDiversity;
+    private final int diversityInterval;
+    private final String stagnationResponse;
+    private final double mutationBoost;
+    private final double maxMutationRate;
+    private final double immigrantRate;
+    private final boolean randomImmigrants;
+    private final int immigrantPerturbation;
+    private double currentMutationRate; // Współczynnik mutacji, zwiększany przy stagnacji
+    private int stagnationBest; // Najlepsza długość przy ostatnim sprawdzeniu stagnacji
+    private long lastImprovement; // Generacja ostatniej poprawy lub reakcji na stagnację
+    private int stagnationLevel; // Kolejny stopień reakcji w trybie escalate
+    private int stagnationEvents;
+    private final long[] fingerprints; // Odciski tras do liczenia różnorodności
+
+    private final ReseedableRandom random; // Jeden generator na przebieg, z nowym ziarnem na początku każdej generacji
+    private long baseSeed; // Ziarno przebiegu - generator generacji g powstaje z (baseSeed, g)
+
+    private final int[] placedEpoch; // Znaczniki miast umieszczonych w potomku podczas krzyżowania
+    private int epoch; // Numer bieżącego krzyżowania - zwiększenie czyści znaczniki w O(1)
+    private final int[] childGenes; // Bufor potomka krzyżowania - lista powstaje z niego jednorazowo, bez set() na każdy gen
+
     public GeneticAlgorithm(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod) {
+        this(problem, populationSize, mutationRate, crossoverRate, stopTime, mutationMethod, new AlgorithmOptions());
+    }
+
+    public GeneticAlgorithm(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
         this.problem = problem;
         this.populationSize = populationSize;
         this.mutationRate = mutationRate;
         this.crossoverRate = crossoverRate;
         this.stopTime = stopTime * 1000;
         this.mutationMethod = mutationMethod;
+        this.placedEpoch = new int[problem.getCitiesCount()];
+        this.childGenes = new int[problem.getCitiesCount()];
+        this.options = options;
+        this.generationFitness = new int[populationSize];
+        this.offspringFitness = new int[populationSize];
+        if ("generational".equalsIgnoreCase(options.getReplacement())) {
+            this.steadyState = false;
+            this.elitism = Math.max(0, Math.min(options.getElitism(), populationSize - 1));
+            this.offspringFrom = elitism;
+            this.offspringTo = populationSize;
+        } else if ("steadyState".equalsIgnoreCase(options.getReplacement())) {
+            this.steadyState = true;
+            this.elitism = 0;
+            this.offspringFrom = 0;
+            this.offspringTo = Math.max(1, Math.min(options.getSteadyStateOffspring(), populationSize));
+        } else {
+            throw new IllegalArgumentException("Nieznana metoda zastępowania populacji: " + options.getReplacement());
+        }
+        this.eliteIndices = new int[elitism];
+        this.localSearchRate = options.getLocalSearchRate();
+        this.localSearchMoves = options.getLocalSearchMoves();
+        this.localSearch = localSearchRate > 0 ? new OrOptLocalSearch(problem, options.getLocalSearchNeighbors(), options.getLocalSearchSegment()) : null;
+        this.stagnationGenerations = options.getStagnationGenerations();
+        this.stagnationDiversity = options.getStagnationDiversity();
+        this.diversityInterval = Math.max(1, options.getDiversityInterval());
+        this.stagnationResponse = options.getStagnationResponse();
+        if (!List.of("mutation", "immigrants", "restart", "escalate").contains(stagnationResponse)) {
+            throw new IllegalArgumentException("Nieznana reakcja na stagnację: " + stagnationResponse);
+        }
+        this.mutationBoost = options.getMutationBoost();
+        this.maxMutationRate = Math.max(mutationRate, options.getMaxMutationRate());
+        this.immigrantRate = options.getImmigrantRate();
+        if ("greedy".equalsIgnoreCase(options.getImmigrantInit())) {
+            this.randomImmigrants = false;
+        } else if ("random".equalsIgnoreCase(options.getImmigrantInit())) {
+            this.randomImmigrants = true;
+        } else {
+            throw new IllegalArgumentException("Nieznana metoda tworzenia imigrantów: " + options.getImmigrantInit());
+        }
+        this.immigrantPerturbation = options.getImmigrantPerturbation();
+        this.fingerprints = stagnationGenerations > 0 ? new long[populationSize] : null;
+        this.selection = SelectionOperators.create(options.getSelectionMethod(), populationSize, options.getTournamentSize(), options.getRankPressure());
+        this.baseSeed = options.isSeeded() ? options.getSeed() : RandomSources.randomSeed();
+        this.random = new ReseedableRandom(options.getRandomGenerator(), baseSeed);
     }
 
     @Override
     public List<Integer> solve(int optimalSolution) {
-        List<List<Integer>> population = initializePopulationGreedy(); // Inicjalizacja populacji za pomocą metody zachłannej
+        return solve(StopCondition.fromOptions(stopTime, options, optimalSolution, problem), null);
+    }
+
+    // Rodzice wybierani operatorem selectionMethod; w trybie generacyjnym elitism najlepszych osobników przechodzi
+    // bez zmian do następnej generacji, w trybie steady-state powstaje steadyStateOffspring potomków, a każdy z nich
+    // zastępuje najgorszego osobnika populacji, jeśli jest od niego lepszy (jak w PrimitiveGeneticAlgorithm)
+    // Etap memetyczny: część potomków (localSearchRate) jest poprawiana przeszukiwaniem lokalnym Or-opt
+    // Wykrywanie stagnacji (stagnationGenerations > 0) i reakcje na nią działają jak w PrimitiveGeneticAlgorithm;
+    // po wznowieniu z punktu kontrolnego liczenie stagnacji zaczyna się od nowa
+    // Przy checkpointInterval > 0 i ustawionym checkpointFile stan po pełnej generacji jest co checkpointInterval ms
+    // zapisywany w tle do pliku (CheckpointFile); uruchomienie z istniejącym plikiem wznawia pracę od ostatniej migawki
+    // z pozostałym budżetem czasu, a poprawnie zakończone uruchomienie usuwa plik
+    // Generator dostaje na początku każdej generacji ziarno z ziarna przebiegu i numeru generacji, więc migawka przechowuje
+    // tylko ziarno, a przebieg z zadanym seed daje te same wyniki niezależnie od tego, kiedy powstają migawki
+    @Override
+    public List<Integer> solve(StopCondition stopCondition, ImprovementListener listener) {
+        CheckpointFile checkpoint = openCheckpoint(stopCondition);
+        CheckpointFile.Snapshot restored = checkpoint != null ? checkpoint.read() : null;
+
+        List<List<Integer>> population;
         List<Integer> bestSolution = null;
         int bestDistance = Integer.MAX_VALUE;
         bestSolutionTime = 0; // Resetowanie czasu znalezienia najlepszego rozwiązania
-
-        long startTime = System.currentTimeMillis();
-        long startTimeNano = System.nanoTime();
-
-        while (System.currentTimeMillis() - startTime < stopTime) {
-            List<List<Integer>> newPopulation = new ArrayList<>();
-
+        long generations = 0;
+        long evaluations = 0;
+        long lastImprovementGeneration = 0;
+        long elapsedBefore = 0; // Czas zużyty przed wznowieniem
+        if (restored != null) {
+            int citiesCount = problem.getCitiesCount();
+            population = new ArrayList<>(populationSize);
             for (int i = 0; i < populationSize; i++) {
-                List<Integer> parent1 = selectParent(population); // wybór pierwszego rodzica
-                List<Integer> parent2 = selectParent(population); // wybór drugiego rodzica
+                population.add(Tours.toList(Arrays.copyOfRange(restored.population, i * citiesCount, (i + 1) * citiesCount)));
+            }
+            System.arraycopy(restored.fitness, 0, generationFitness, 0, populationSize);
+            bestSolution = Tours.toList(restored.bestTour);
+            bestDistance = restored.bestDistance;
+            bestSolutionTime = restored.bestSolutionTime;
+            generations = restored.generations;
+            evaluations = restored.evaluations;
+            lastImprovementGeneration = restored.lastImprovementGeneration;
+            elapsedBefore = restored.elapsedNs;
+            baseSeed = restored.seed;
+            System.out.printf("Wznowiono z punktu kontrolnego: generacja %d, zuzyty czas %d ms, najlepsza odleglosc %d\n",
+                    generations, elapsedBefore / 1_000_000, bestDistance);
+        } else {
+            population = initializePopulation(); // Inicjalizacja populacji według initMix (domyślnie zachłanna)
+        }
+        trace = ConvergenceTrace.create(options, stopCondition.getOptimalSolution(), populationSize);
+        currentMutationRate = mutationRate;
+        stagnationBest = bestDistance;
+        lastImprovement = generations;
+        stagnationLevel = 0;
+        stagnationEvents = 0;
+
+        long startTimeNano = System.nanoTime() - elapsedBefore;
+        long deadlineNano = stopCondition.getDeadline(startTimeNano);
+        long checkpointIntervalNano = options.getCheckpointInterval() * 1_000_000;
+        long lastCheckpointNano = System.nanoTime();
+        String reason;
+
+        while ((reason = stopCondition.reason(System.nanoTime() - startTimeNano, generations, evaluations, bestDistance, generations - lastImprovementGeneration)) == null) {
+            random.reseed(RandomSources.derive(baseSeed, generations));
+            List<List<Integer>> newPopulation = new ArrayList<>(populationSize);
+            boolean interrupted = false; // Limit czasu lub cel osiągnięty w trakcie generacji - populacja bez zmian
+            selection.prepare(generationFitness, random);
+
+            // Elita przechodzi do następnej generacji bez zmian (trasy nie są modyfikowane w miejscu, więc bez kopii)
+            selectBest(elitism);
+            for (int k = 0; k < elitism; k++) {
+                newPopulation.add(population.get(eliteIndices[k]));
+                offspringFitness[k] = generationFitness[eliteIndices[k]];
+            }
+
+            for (int i = offspringFrom; i < offspringTo; i++) {
+                if ((i & 31) == 31 && System.nanoTime() >= deadlineNano) { // Limit czasu sprawdzany co 32 potomków
+                    interrupted = true;
+                    break;
+                }
+                List<Integer> parent1 = selectParent(population, 2 * i); // wybór pierwszego rodzica
+                List<Integer> parent2 = selectParent(population, 2 * i + 1); // wybór drugiego rodzica
 
                 List<Integer> child;
-                if (Math.random() < crossoverRate) { // Sprawdzenie, czy zachodzi krzyżowanie
+                if (random.nextDouble() < crossoverRate) { // Sprawdzenie, czy zachodzi krzyżowanie
                     child = crossover(parent1, parent2); // Tworzenie potomka przez krzyżowanie
                 } else {
                     child = new ArrayList<>(parent1); // Brak krzyżowania - kopiowanie pierwszego rodzica
                 }
 
-                if (Math.random() < mutationRate) { // Sprawdzenie, czy zachodzi mutacja
+                if (random.nextDouble() < currentMutationRate) { // Sprawdzenie, czy zachodzi mutacja
                     mutate(child); // Mutacja potomka
                 }
 
-                newPopulation.add(child); // Dodanie potomka do nowej populacji
-
                 int childDistance = calculateTotalDistance(child); // Obliczenie odległości dla potomka
+                if (localSearch != null && random.nextDouble() < localSearchRate) { // Poprawa potomka przeszukiwaniem lokalnym
+                    childDistance = improve(child, childDistance);
+                }
+
+                newPopulation.add(child); // Dodanie potomka do nowej populacji
+                offspringFitness[i] = childDistance;
+                evaluations++;
                 if (childDistance < bestDistance) { // Sprawdzenie, czy potomek jest lepszy od dotychczasowego najlepszego rozwiązania
                     bestDistance = childDistance; // Aktualizacja najlepszej odległości
                     bestSolution = new ArrayList<>(child); // Aktualizacja najlepszego rozwiązania
                     bestSolutionTime = System.nanoTime() - startTimeNano; // Zapis czasu znalezienia najlepszego rozwiązania
+                    lastImprovementGeneration = generations;
+                    if (trace != null) {
+                        trace.improved(bestSolutionTime, bestDistance);
+                    }
+                    if (listener != null) {
+                        listener.improved(new ArrayList<>(bestSolution), bestDistance, bestSolutionTime);
+                    }
+                    if (stopCondition.isTargetReached(bestDistance)) {
+                        interrupted = i + 1 < offspringTo;
+                        break;
+                    }
                 }
             }
 
-            population = newPopulation; // Aktualizacja populacji do nowej generacji
+            if (interrupted) {
+                continue; // Powód zatrzymania zostanie wyznaczony w warunku pętli
+            }
+            if (steadyState) {
+                // Potomkowie zastępują najgorsze osobniki, jeśli są od nich lepsi
+                for (int i = offspringFrom; i < offspringTo; i++) {
+                    int worst = worstIndex();
+                    if (offspringFitness[i] < generationFitness[worst]) {
+                        population.set(worst, newPopulation.get(i));
+                        generationFitness[worst] = offspringFitness[i];
+                    }
+                }
+            } else {
+                population = newPopulation; // Aktualizacja populacji do nowej generacji
+                int[] swap = generationFitness;
+                generationFitness = offspringFitness;
+                offspringFitness = swap;
+            }
+            generations++;
+            if (stagnationGenerations > 0 && detectStagnation(population, bestDistance, generations)) {
+                // Imigranci lub restart - nowa trasa może być lepsza od dotychczasowej najlepszej
+                int best = bestIndex();
+                if (generationFitness[best] < bestDistance) {
+                    bestDistance = generationFitness[best];
+                    bestSolution = new ArrayList<>(population.get(best));
+                    bestSolutionTime = System.nanoTime() - startTimeNano;
+                    lastImprovementGeneration = generations;
+                    if (trace != null) {
+                        trace.improved(bestSolutionTime, bestDistance);
+                    }
+                    if (listener != null) {
+                        listener.improved(new ArrayList<>(bestSolution), bestDistance, bestSolutionTime);
+                    }
+                }
+            }
+            if (trace != null) {
+                trace.generation(System.nanoTime() - startTimeNano, offspringTo - offspringFrom, generationFitness, populationSize);
+            }
+            if (checkpoint != null && System.nanoTime() - lastCheckpointNano >= checkpointIntervalNano) {
+                try {
+                    CheckpointFile.Snapshot snapshot = checkpoint.acquire();
+                    if (snapshot != null) { // Poprzednia migawka jeszcze w zapisie - pominięcie tej
+                        fillSnapshot(snapshot, population, bestSolution, bestDistance, generations, evaluations,
+                                System.nanoTime() - startTimeNano, lastImprovementGeneration);
+                        checkpoint.publish();
+                    }
+                } catch (IOException e) {
+                    System.err.println("Punkty kontrolne wyłączone: " + e.getMessage());
+                    closeCheckpoint(checkpoint, false);
+                    checkpoint = null;
+                }
+                lastCheckpointNano = System.nanoTime();
+            }
+        }
+        if (checkpoint != null) {
+            closeCheckpoint(checkpoint, true); // Uruchomienie zakończone - migawka nie jest już potrzebna
         }
 
         // Wyświetlenie informacji o najlepszym rozwiązaniu
         System.out.printf("Najlepsze rozwiązanie znaleziono po czasie: %d ns\n", bestSolutionTime);
         System.out.printf("Najlepsza odległość: %d\n", bestDistance);
+        System.out.printf("Powód zatrzymania: %s, generacje: %d, ocenione trasy: %d\n", reason, generations, evaluations);
+        if (stagnationGenerations > 0) {
+            System.out.printf("Liczba reakcji na stagnację: %d\n", stagnationEvents);
+        }
         return bestSolution; // Zwrócenie najlepszego rozwiązania
     }
 
+    @Override
     public long getBestSolutionTime() {
         return bestSolutionTime;
     }
 
-    private List<List<Integer>> initializePopulationGreedy() {
-        List<List<Integer>> population = new ArrayList<>();
+    @Override
+    public ConvergenceTrace getTrace() {
+        return trace;
+    }
+
+    // Plik punktu kontrolnego albo null, jeśli punkty kontrolne są wyłączone lub pliku nie da się otworzyć
+    private CheckpointFile openCheckpoint(StopCondition stopCondition) {
+        if (options.getCheckpointInterval() <= 0 || options.getCheckpointFile().isEmpty()) {
+            return null;
+        }
+        try {
+            return new CheckpointFile(Path.of(options.getCheckpointFile()), problem.getCitiesCount(), populationSize, checkpointConfiguration(stopCondition));
+        } catch (IOException e) {
+            System.err.println("Nie można otworzyć pliku punktu kontrolnego: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Parametry, od których zależy przebieg - migawka zapisana przy innych wartościach nie jest wznawiana
+    // Ziarno wchodzi do opisu tylko, gdy je podano - uruchomienie bez ziarna wznawia się z ziarnem z migawki
+    private String checkpointConfiguration(StopCondition stopCondition) {
+        return String.join("|", String.valueOf(mutationRate), String.valueOf(crossoverRate), mutationMethod,
+                options.getRandomGenerator(), options.isSeeded() ? String.valueOf(options.getSeed()) : "-",
+                options.getSelectionMethod(), String.valueOf(options.getTournamentSize()), String.valueOf(options.getRankPressure()),
+                options.getReplacement(), String.valueOf(elitism), String.valueOf(offspringTo), String.valueOf(localSearchRate),
+                String.valueOf(localSearchMoves), String.valueOf(options.getLocalSearchNeighbors()),
+                String.valueOf(options.getLocalSearchSegment()), String.valueOf(stagnationGenerations), stagnationResponse,
+                stopCondition.describe());
+    }
+
+    private static void closeCheckpoint(CheckpointFile checkpoint, boolean delete) {
+        try {
+            if (delete) {
+                checkpoint.delete();
+            } else {
+                checkpoint.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Błąd podczas zamykania pliku punktu kontrolnego: " + e.getMessage());
+        }
+    }
+
+    // Stan po pełnej generacji; ziarno przebiegu wystarcza do odtworzenia generatorów kolejnych generacji,
+    // więc wznowione uruchomienie losuje dalej te same liczby co przerwane
+    private void fillSnapshot(CheckpointFile.Snapshot snapshot, List<List<Integer>> population, List<Integer> bestSolution, int bestDistance,
+                              long generations, long evaluations, long elapsedNs, long lastImprovementGeneration) {
+        int citiesCount = problem.getCitiesCount();
         for (int i = 0; i < populationSize; i++) {
-            population.add(generateGreedySolution());
+            List<Integer> tour = population.get(i);
+            for (int k = 0; k < citiesCount; k++) {
+                snapshot.population[i * citiesCount + k] = tour.get(k);
+            }
+        }
+        System.arraycopy(generationFitness, 0, snapshot.fitness, 0, populationSize);
+        for (int k = 0; k < citiesCount; k++) {
+            snapshot.bestTour[k] = bestSolution.get(k);
+        }
+        snapshot.bestDistance = bestDistance;
+        snapshot.bestSolutionTime = bestSolutionTime;
+        snapshot.generations = generations;
+        snapshot.evaluations = evaluations;
+        snapshot.elapsedNs = elapsedNs;
+        snapshot.lastImprovementGeneration = lastImprovementGeneration;
+        snapshot.seed = baseSeed;
+    }
+
+    // Trasy budowane w płaskiej tablicy przez PopulationInitializer (listy sąsiadów zamiast przeglądu O(n^2) na trasę)
+    private List<List<Integer>> initializePopulation() {
+        int citiesCount = problem.getCitiesCount();
+        int[] tours = new int[populationSize * citiesCount];
+        new PopulationInitializer(problem, options).initialize(tours, generationFitness, populationSize, random);
+        List<List<Integer>> population = new ArrayList<>(populationSize);
+        for (int i = 0; i < populationSize; i++) {
+            List<Integer> tour = new ArrayList<>(citiesCount);
+            for (int k = 0; k < citiesCount; k++) {
+                tour.add(tours[i * citiesCount + k]);
+            }
+            population.add(tour);
         }
         return population;
     }
 
-    private List<Integer> generateGreedySolution() {
+    List<Integer> generateGreedySolution() {
         int citiesCount = problem.getCitiesCount();
         List<Integer> solution = new ArrayList<>();
         boolean[] visited = new boolean[citiesCount];
 
-        Random random = new Random();
         int currentCity = random.nextInt(citiesCount);
         solution.add(currentCity);
         visited[currentCity] = true;
@@ -115,15 +424,149 @@ public class GeneticAlgorithm extends Algorithm {
         return solution;
     }
 
-    private List<Integer> selectParent(List<List<Integer>> population) {
-        Random random = new Random();
-        return population.get(random.nextInt(population.size())); // Losowy wybór rodzica z populacji
+    // Wybór rodzica operatorem selekcji; slot - numer losowania w generacji (potrzebny selekcji SUS)
+    List<Integer> selectParent(List<List<Integer>> population, int slot) {
+        return population.get(selection.select(generationFitness, slot, random));
+    }
+
+    // Indeksy count najlepszych osobników w eliteIndices[0, count)
+    private void selectBest(int count) {
+        for (int k = 0; k < count; k++) {
+            int best = -1;
+            for (int i = 0; i < populationSize; i++) {
+                if ((best < 0 || generationFitness[i] < generationFitness[best]) && !isElite(i, k)) {
+                    best = i;
+                }
+            }
+            eliteIndices[k] = best;
+        }
+    }
+
+    private boolean isElite(int index, int count) {
+        for (int k = 0; k < count; k++) {
+            if (eliteIndices[k] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int bestIndex() {
+        int best = 0;
+        for (int i = 1; i < populationSize; i++) {
+            if (generationFitness[i] < generationFitness[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // Sprawdzenie stagnacji po zakończonej generacji; zwraca true, jeśli reakcja wymieniła część populacji
+    private boolean detectStagnation(List<List<Integer>> population, int bestDistance, long generation) {
+        if (bestDistance < stagnationBest) {
+            stagnationBest = bestDistance;
+            lastImprovement = generation;
+            stagnationLevel = 0;
+            currentMutationRate = mutationRate;
+            return false;
+        }
+
+        boolean stagnant = generation - lastImprovement >= stagnationGenerations;
+        if (!stagnant && generation % diversityInterval == 0 && generation - lastImprovement >= diversityInterval) {
+            stagnant = diversity(population) < stagnationDiversity;
+        }
+        if (!stagnant) {
+            return false;
+        }
+
+        String response = stagnationResponse;
+        if ("escalate".equals(response)) {
+            response = stagnationLevel == 0 ? "mutation" : stagnationLevel == 1 ? "immigrants" : "restart";
+            stagnationLevel = (stagnationLevel + 1) % 3;
+        }
+        stagnationEvents++;
+        lastImprovement = generation; // Kolejna reakcja najwcześniej po następnym okresie bez poprawy
+        switch (response) {
+            case "mutation" -> {
+                currentMutationRate = Math.min(maxMutationRate, Math.max(currentMutationRate, 0.01) * mutationBoost);
+                return false;
+            }
+            case "immigrants" -> refill(population, populationSize - Math.max(1, (int) Math.round(immigrantRate * populationSize)));
+            default -> {
+                refill(population, Math.max(1, elitism));
+                currentMutationRate = mutationRate;
+            }
+        }
+        return true;
+    }
+
+    // Różnorodność populacji - odsetek różnych odcisków tras
+    private double diversity(List<List<Integer>> population) {
+        for (int i = 0; i < populationSize; i++) {
+            List<Integer> tour = population.get(i);
+            int size = tour.size();
+            long hash = TourHashes.edge(tour.get(size - 1), tour.get(0));
+            for (int k = 0; k < size - 1; k++) {
+                hash += TourHashes.edge(tour.get(k), tour.get(k + 1));
+            }
+            fingerprints[i] = hash;
+        }
+        Arrays.sort(fingerprints);
+        int distinct = 1;
+        for (int i = 1; i < populationSize; i++) {
+            if (fingerprints[i] != fingerprints[i - 1]) {
+                distinct++;
+            }
+        }
+        return (double) distinct / populationSize;
+    }
+
+    // Zachowanie keep najlepszych osobników i zastąpienie pozostałych nowymi trasami
+    private void refill(List<List<Integer>> population, int keep) {
+        keep = Math.max(1, Math.min(keep, populationSize - 1));
+        long[] ranking = new long[populationSize]; // Tylko przy reakcji na stagnację
+        for (int i = 0; i < populationSize; i++) {
+            ranking[i] = (long) generationFitness[i] << 32 | i;
+        }
+        Arrays.sort(ranking);
+        for (int k = keep; k < populationSize; k++) {
+            int i = (int) ranking[k];
+            List<Integer> immigrant = createImmigrant();
+            population.set(i, immigrant);
+            generationFitness[i] = calculateTotalDistance(immigrant);
+        }
+    }
+
+    // Nowa trasa - losowa lub zachłanna z losowego miasta, zaburzona mutacjami
+    private List<Integer> createImmigrant() {
+        int citiesCount = problem.getCitiesCount();
+        if (randomImmigrants) {
+            return generateRandomSolution(citiesCount);
+        }
+        problem.copyGreedyTour(random.nextInt(citiesCount), childGenes, 0);
+        List<Integer> immigrant = new ArrayList<>(citiesCount);
+        for (int i = 0; i < citiesCount; i++) {
+            immigrant.add(childGenes[i]);
+        }
+        for (int k = 0; k < immigrantPerturbation; k++) {
+            mutate(immigrant);
+        }
+        return immigrant;
+    }
+
+    private int worstIndex() {
+        int worst = 0;
+        for (int i = 1; i < populationSize; i++) {
+            if (generationFitness[i] > generationFitness[worst]) {
+                worst = i;
+            }
+        }
+        return worst;
     }
 
     // Krzyżowanie dwóch rodziców za pomocą algorytmu OX (Order Crossover)
-    private List<Integer> crossover(List<Integer> parent1, List<Integer> parent2) {
+    List<Integer> crossover(List<Integer> parent1, List<Integer> parent2) {
         int size = parent1.size(); // Rozmiar chromosomu
-        Random random = new Random();
         int start = random.nextInt(size); // Punkt początkowy fragmentu do skopiowania
         int end = random.nextInt(size); // Punkt końcowy fragmentu do skopiowania
 
@@ -133,25 +576,52 @@ public class GeneticAlgorithm extends Algorithm {
             end = temp;
         }
 
-        List<Integer> child = new ArrayList<>(Collections.nCopies(size, -1));
+        if (++epoch == Integer.MAX_VALUE) { // Przepełnienie licznika - jednorazowe wyzerowanie znaczników
+            Arrays.fill(placedEpoch, 0);
+            epoch = 1;
+        }
+
         for (int i = start; i <= end; i++) {
-            child.set(i, parent1.get(i)); // Skopiowanie fragmentu od pierwszego rodzica
+            int city = parent1.get(i);
+            childGenes[i] = city; // Skopiowanie fragmentu od pierwszego rodzica
+            placedEpoch[city] = epoch;
         }
 
         int currentIndex = 0; // Indeks dla dodawania elementów od drugiego rodzica
         for (int i = 0; i < size; i++) {
             int city = parent2.get(i); // Pobranie miasta z drugiego rodzica
-            if (!child.contains(city)) { // Sprawdzenie, czy miasto nie zostało już dodane
-                while (child.get(currentIndex) != -1) { // Szukanie wolnego miejsca w dziecku
-                    currentIndex++;
+            if (placedEpoch[city] != epoch) { // Sprawdzenie w O(1), czy miasto nie zostało już dodane
+                if (currentIndex == start) { // Przeskoczenie fragmentu skopiowanego od pierwszego rodzica
+                    currentIndex = end + 1;
                 }
-                child.set(currentIndex, city); // Dodanie miasta do dziecka
+                childGenes[currentIndex++] = city; // Dodanie miasta do dziecka
+                placedEpoch[city] = epoch;
             }
         }
 
+        List<Integer> child = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            child.add(childGenes[i]);
+        }
         return child; // Zwrócenie wygenerowanego dziecka
     }
 
+    // Poprawa potomka w miejscu; przeszukiwanie lokalne działa na tablicy int[], więc trasa przechodzi przez bufor
+    // potomka krzyżowania i jest przepisywana tylko po poprawie. Zwraca nową długość wyliczoną przyrostowo
+    private int improve(List<Integer> solution, int distance) {
+        int size = solution.size();
+        for (int i = 0; i < size; i++) {
+            childGenes[i] = solution.get(i);
+        }
+        int improved = localSearch.improve(childGenes, 0, distance, localSearchMoves, random);
+        if (improved < distance) {
+            for (int i = 0; i < size; i++) {
+                solution.set(i, childGenes[i]);
+            }
+        }
+        return improved;
+    }
+
     // Mutacja potomka
     private void mutate(List<Integer> solution) {
         if ("swap".equalsIgnoreCase(mutationMethod)) {
@@ -163,15 +633,13 @@ public class GeneticAlgorithm extends Algorithm {
         }
     }
 
-    private void swapMutation(List<Integer> solution) {
-        Random random = new Random();
+    void swapMutation(List<Integer> solution) {
         int i = random.nextInt(solution.size());
         int j = random.nextInt(solution.size());
         Collections.swap(solution, i, j);
     }
 
-    private void invertMutation(List<Integer> solution) {
-        Random random = new Random();
+    void invertMutation(List<Integer> solution) {
         int i = random.nextInt(solution.size()); // Losowy indeks początkowy
         int j = random.nextInt(solution.size()); // Losowy indeks końcowy
         if (i > j) { // Upewnienie się, że i <= j
@@ -187,7 +655,7 @@ public class GeneticAlgorithm extends Algorithm {
     }
 
     // Obliczanie całkowitej odległości trasy
-    private int calculateTotalDistance(List<Integer> solution) {
+    int calculateTotalDistance(List<Integer> solution) {
         int distance = 0; // Suma odległości
         for (int i = 0; i < solution.size() - 1; i++) {
             distance += problem.getDistance(solution.get(i), solution.get(i + 1)); // Dodanie odległości między kolejnymi miastami
@@ -202,7 +670,9 @@ public class GeneticAlgorithm extends Algorithm {
         for (int i = 0; i < citiesCount; i++) {
             solution.add(i); // Dodanie wszystkich miast do listy
         }
-        Collections.shuffle(solution); // Wymieszanie miast w losowej kolejności
+        for (int i = citiesCount - 1; i > 0; i--) { // Wymieszanie miast w losowej kolejności (Fisher-Yates)
+            Collections.swap(solution, i, random.nextInt(i + 1));
+        }
         return solution; // Zwrócenie losowego rozwiązania
     }
 }
@@ -0,0 +1,215 @@
+package km.algorithms;
+
+import km.model.TSPProblem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Dokładne rozwiązanie programowaniem dynamicznym Helda-Karpa dla małych instancji (O(2^n * n^2) czasu, O(2^n * n) pamięci)
+// Trasa zaczyna się w mieście 0; stan (S, j) - najkrótsza ścieżka z 0 przez wszystkie miasta podzbioru S kończąca się
+// w j (S ⊆ {1..n-1}, bit k - miasto k + 1). Wartości w płaskiej tablicy int[] indeksowanej S * (n - 1) + j
+// Stany warstwy |S| = k zależą tylko od warstwy k - 1 i każdy zapisuje tylko własne pola, więc warstwa jest dzielona
+// między threads wątków bez synchronizacji. Trasa jest odtwarzana z tablicy wartości, bez tablicy poprzedników
+public class HeldKarpSolver extends Algorithm {
+    static final int MAX_CITIES = 22; // 2^21 * 21 stanów - ok. 176 MB
+    private static final int INFINITY = Integer.MAX_VALUE;
+    private static final int MIN_PARALLEL_LAYER = 1024; // Mniejsze warstwy liczone w jednym wątku
+
+    private final TSPProblem problem;
+    private final long stopTime;
+    private final int citiesCount;
+    private final int threads;
+    private final AlgorithmOptions options;
+    private final int[] distances; // Lokalna kopia macierzy odległości
+
+    private int[] bestTour;
+    private int bestDistance;
+    private long bestSolutionTime;
+
+    public HeldKarpSolver(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
+        this.problem = problem;
+        this.stopTime = stopTime * 1000; // Czas w ms
+        this.citiesCount = problem.getCitiesCount();
+        this.threads = Math.max(1, options.getThreads());
+        this.options = options;
+        if (citiesCount > MAX_CITIES) {
+            throw new IllegalArgumentException("Instancja zbyt duża dla programowania dynamicznego: " + citiesCount + " miast (maksymalnie " + MAX_CITIES + ")");
+        }
+        this.distances = new int[citiesCount * citiesCount];
+        for (int i = 0; i < citiesCount; i++) {
+            for (int j = 0; j < citiesCount; j++) {
+                distances[i * citiesCount + j] = problem.getDistance(i, j);
+            }
+        }
+    }
+
+    @Override
+    public List<Integer> solve(int optimalSolution) {
+        return solve(StopCondition.fromOptions(stopTime, options, optimalSolution, problem), null);
+    }
+
+    @Override
+    public List<Integer> solve(StopCondition stopCondition, ImprovementListener listener) {
+        long startTimeNano = System.nanoTime();
+        long deadlineNano = stopCondition.getDeadline(startTimeNano);
+        int n = citiesCount;
+        int m = n - 1;
+        bestTour = new int[n];
+        String reason;
+
+        if (m < 2) {
+            for (int i = 0; i < n; i++) {
+                bestTour[i] = i;
+            }
+            reason = "udowodnione optimum";
+        } else {
+            int[] values = new int[(1 << m) * m];
+            for (int j = 0; j < m; j++) {
+                values[(1 << j) * m + j] = distances[j + 1];
+            }
+            int[] order = new int[1 << m];
+            int[] layerStart = new int[m + 2];
+            sortByLayer(m, order, layerStart);
+
+            ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "held-karp-worker");
+                thread.setDaemon(true);
+                return thread;
+            }) : null;
+            reason = "udowodnione optimum";
+            try {
+                for (int layer = 2; layer <= m; layer++) {
+                    if (System.nanoTime() >= deadlineNano) {
+                        reason = "limit czasu";
+                        break;
+                    }
+                    computeLayer(values, order, layerStart[layer], layerStart[layer + 1], executor);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reason = "przerwanie";
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            }
+
+            if ("udowodnione optimum".equals(reason)) {
+                reconstruct(values, m);
+            } else {
+                problem.copyGreedyTour(0, bestTour, 0); // Przerwane obliczenia - trasa zastępcza bez gwarancji
+            }
+        }
+        bestDistance = problem.tourLength(bestTour, 0);
+        bestSolutionTime = System.nanoTime() - startTimeNano;
+        if (listener != null) {
+            listener.improved(Tours.toList(bestTour), bestDistance, bestSolutionTime);
+        }
+
+        System.out.printf("Najlepsze rozwiązanie znaleziono po czasie: %d ns\n", bestSolutionTime);
+        System.out.printf("Najlepsza odległość: %d\n", bestDistance);
+        System.out.printf("Powód zatrzymania: %s, stany: %d\n", reason, m > 0 ? (long) m << (m - 1) : 0);
+        return Tours.toList(bestTour);
+    }
+
+    @Override
+    public long getBestSolutionTime() {
+        return bestSolutionTime;
+    }
+
+    // Podzbiory uporządkowane według liczby elementów (sortowanie przez zliczanie); warstwa k to order[layerStart[k], layerStart[k + 1])
+    private static void sortByLayer(int m, int[] order, int[] layerStart) {
+        for (int mask = 0; mask < 1 << m; mask++) {
+            layerStart[Integer.bitCount(mask) + 1]++;
+        }
+        for (int k = 1; k <= m + 1; k++) {
+            layerStart[k] += layerStart[k - 1];
+        }
+        int[] position = Arrays.copyOf(layerStart, m + 1);
+        for (int mask = 0; mask < 1 << m; mask++) {
+            order[position[Integer.bitCount(mask)]++] = mask;
+        }
+    }
+
+    private void computeLayer(int[] values, int[] order, int from, int to, ExecutorService executor) throws InterruptedException {
+        if (executor == null || to - from < MIN_PARALLEL_LAYER) {
+            computeStates(values, order, from, to);
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int taskFrom = from + (int) ((long) t * (to - from) / threads);
+            int taskTo = from + (int) ((long) (t + 1) * (to - from) / threads);
+            tasks.add(() -> {
+                computeStates(values, order, taskFrom, taskTo);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Błąd wątku programowania dynamicznego", e.getCause());
+        }
+    }
+
+    // values[S * m + j] = min po i z S \ {j} (values[(S \ {j}) * m + i] + d(i, j))
+    private void computeStates(int[] values, int[] order, int from, int to) {
+        int n = citiesCount;
+        int m = n - 1;
+        for (int k = from; k < to; k++) {
+            int mask = order[k];
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                int j = Integer.numberOfTrailingZeros(rest);
+                int previous = mask ^ (1 << j);
+                int base = previous * m;
+                long best = INFINITY;
+                for (int bits = previous; bits != 0; bits &= bits - 1) {
+                    int i = Integer.numberOfTrailingZeros(bits);
+                    long candidate = (long) values[base + i] + distances[(i + 1) * n + j + 1];
+                    if (candidate < best) {
+                        best = candidate;
+                    }
+                }
+                values[mask * m + j] = (int) best;
+            }
+        }
+    }
+
+    // Odtworzenie trasy od końca: poprzednik to miasto, dla którego równanie rekurencji jest spełnione z równością
+    private void reconstruct(int[] values, int m) {
+        int n = citiesCount;
+        int mask = (1 << m) - 1;
+        int last = -1;
+        long best = Long.MAX_VALUE;
+        for (int j = 0; j < m; j++) {
+            long candidate = (long) values[mask * m + j] + distances[(j + 1) * n];
+            if (candidate < best) {
+                best = candidate;
+                last = j;
+            }
+        }
+        bestTour[0] = 0;
+        for (int position = m; position >= 1; position--) {
+            bestTour[position] = last + 1;
+            int previous = mask ^ (1 << last);
+            int next = -1;
+            for (int bits = previous; bits != 0; bits &= bits - 1) {
+                int i = Integer.numberOfTrailingZeros(bits);
+                if ((long) values[previous * m + i] + distances[(i + 1) * n + last + 1] == values[mask * m + last]) {
+                    next = i;
+                    break;
+                }
+            }
+            mask = previous;
+            last = next;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package km.algorithms;
+
+import java.util.List;
+
+// Powiadomienie o nowym najlepszym rozwiązaniu w trakcie działania algorytmu
+// Wywoływane w wątku algorytmu (w modelu wyspowym - w wątku wyspy, która znalazła rozwiązanie), więc powinno
+// działać szybko; lista tour jest kopią przekazywaną na własność odbiorcy, timeNs - czas od startu
+@FunctionalInterface
+public interface ImprovementListener {
+    void improved(List<Integer> tour, int distance, long timeNs);
+}
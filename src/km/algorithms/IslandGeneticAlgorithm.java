@@ -0,0 +1,259 @@
+package km.algorithms;
+
+import km.model.TSPProblem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+// Model wyspowy - K niezależnych populacji PrimitiveGeneticAlgorithm, każda na osobnym wątku i z własnymi parametrami
+// Co migrationInterval generacji (lub co migrationIntervalMs ms) wyspy wysyłają najlepsze osobniki do sąsiadów
+// w topologii pierścienia albo grafu pełnego; migranci przekazywani są przez nieblokujące kolejki
+public class IslandGeneticAlgorithm extends Algorithm {
+
+    private final TSPProblem problem;
+    private final long stopTime;
+    private final int citiesCount;
+    private final int migrationInterval;
+    private final long migrationIntervalMs;
+    private final int migrationSize;
+    private final boolean fullTopology;
+    private final AlgorithmOptions options;
+
+    private final PrimitiveGeneticAlgorithm[] islands;
+    private final List<Queue<Migrant>> inboxes = new ArrayList<>();
+
+    private int bestDistance;
+    private long bestSolutionTime;
+
+    // Stan zatrzymania wspólny dla wysp: limit ocen liczony łącznie, osiągnięcie celu przez jedną wyspę kończy wszystkie
+    private final AtomicLong totalEvaluations = new AtomicLong();
+    private volatile boolean stopped;
+    private String stopReason;
+    private int reportedDistance; // Najlepsza długość przekazana słuchaczowi - filtr poprawek lokalnych dla wysp
+
+    public IslandGeneticAlgorithm(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
+        this.problem = problem;
+        this.stopTime = stopTime * 1000;
+        this.citiesCount = problem.getCitiesCount();
+        this.migrationInterval = Math.max(1, options.getMigrationInterval());
+        this.migrationIntervalMs = options.getMigrationIntervalMs();
+        this.migrationSize = Math.max(1, options.getMigrationSize());
+        this.options = options;
+
+        if ("ring".equalsIgnoreCase(options.getMigrationTopology())) {
+            this.fullTopology = false;
+        } else if ("full".equalsIgnoreCase(options.getMigrationTopology())) {
+            this.fullTopology = true;
+        } else {
+            throw new IllegalArgumentException("Nieznana topologia migracji: " + options.getMigrationTopology());
+        }
+
+        // Parametry wysp podawane jako listy rozdzielone przecinkami, przypisywane cyklicznie
+        String[] mutationMethods = splitOrDefault(options.getIslandMutationMethods(), mutationMethod);
+        String[] mutationRates = splitOrDefault(options.getIslandMutationRates(), String.valueOf(mutationRate));
+        String[] crossoverMethods = splitOrDefault(options.getIslandCrossoverMethods(), options.getCrossoverMethod());
+
+        // Ziarna wysp wyznaczane z jednego generatora - przy podanym seed cały model jest powtarzalny
+        RandomGenerator seeds = RandomSources.create(options);
+        int islandsCount = Math.max(1, options.getIslands());
+        this.islands = new PrimitiveGeneticAlgorithm[islandsCount];
+        for (int k = 0; k < islandsCount; k++) {
+            AlgorithmOptions islandOptions = options.copy();
+            islandOptions.setThreads(1); // Równoległość zapewniają same wyspy
+            islandOptions.setSeed(seeds.nextLong());
+            islandOptions.setCrossoverMethod(crossoverMethods[k % crossoverMethods.length]);
+            islands[k] = new PrimitiveGeneticAlgorithm(problem, populationSize,
+                    Double.parseDouble(mutationRates[k % mutationRates.length]), crossoverRate, stopTime,
+                    mutationMethods[k % mutationMethods.length], islandOptions);
+            inboxes.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    @Override
+    public List<Integer> solve(int optimalSolution) {
+        return solve(StopCondition.fromOptions(stopTime, options, optimalSolution, problem), null);
+    }
+
+    @Override
+    public List<Integer> solve(StopCondition stopCondition, ImprovementListener listener) {
+        long startTimeNano = System.nanoTime();
+        totalEvaluations.set(0);
+        stopped = false;
+        stopReason = null;
+        reportedDistance = Integer.MAX_VALUE;
+        ImprovementListener globalListener = listener == null ? null : (tour, distance, timeNs) -> {
+            synchronized (this) {
+                if (distance < reportedDistance) {
+                    reportedDistance = distance;
+                    listener.improved(tour, distance, timeNs);
+                }
+            }
+        };
+
+        Thread[] threads = new Thread[islands.length];
+        for (int k = 0; k < islands.length; k++) {
+            int island = k;
+            islands[k].setImprovementListener(globalListener);
+            threads[k] = new Thread(() -> runIsland(island, startTimeNano, stopCondition), "ga-island-" + k);
+            threads[k].setDaemon(true);
+            threads[k].start();
+        }
+
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            stop("przerwano", true);
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            joinUninterruptibly(threads); // Wyspy kończą bieżącą generację - dopiero potem można czytać ich stan
+            Thread.currentThread().interrupt();
+        }
+
+        // Wybór najlepszej wyspy
+        int[] bestTour = new int[citiesCount];
+        bestDistance = Integer.MAX_VALUE;
+        for (PrimitiveGeneticAlgorithm island : islands) {
+            if (island.getBestDistance() < bestDistance) {
+                bestDistance = island.getBestDistance();
+                bestSolutionTime = island.getBestSolutionTime();
+                island.copyBestTour(bestTour);
+            }
+        }
+
+        System.out.printf("Najlepsze rozwiązanie znaleziono po czasie: %d ns\n", bestSolutionTime);
+        System.out.printf("Najlepsza odległość: %d\n", bestDistance);
+        System.out.printf("Powód zatrzymania: %s, ocenione trasy: %d\n", stopReason, totalEvaluations.get());
+
+        List<Integer> solution = new ArrayList<>(citiesCount);
+        for (int city : bestTour) {
+            solution.add(city);
+        }
+        return solution;
+    }
+
+    @Override
+    public long getBestSolutionTime() {
+        return bestSolutionTime;
+    }
+
+    private void runIsland(int index, long startTimeNano, StopCondition stopCondition) {
+        PrimitiveGeneticAlgorithm island = islands[index];
+        Queue<Migrant> inbox = inboxes.get(index);
+        int[] emigrants = new int[migrationSize * citiesCount];
+        int[] emigrantDistances = new int[migrationSize];
+        long migrationIntervalNano = migrationIntervalMs * 1_000_000;
+        long lastMigration = System.nanoTime();
+        long generation = 0;
+
+        island.initialize(startTimeNano);
+        island.setStopCondition(stopCondition.getDeadline(startTimeNano), stopCondition.getTargetDistance());
+        try {
+            while (!stopped) {
+                // Limity generacji i braku poprawy dotyczą wyspy, limit ocen - wszystkich wysp łącznie
+                String reason = stopCondition.reason(System.nanoTime() - startTimeNano, island.getGenerations(),
+                        totalEvaluations.get(), island.getBestDistance(), island.getGenerationsWithoutImprovement());
+                if (reason != null) {
+                    stop(reason, stopCondition.isTargetReached(island.getBestDistance()));
+                    break;
+                }
+                long evaluationsBefore = island.getEvaluations();
+                island.evolve();
+                totalEvaluations.addAndGet(island.getEvaluations() - evaluationsBefore);
+                if (island.isGenerationInterrupted()) {
+                    continue;
+                }
+                generation++;
+
+                // Przyjęcie migrantów z innych wysp - zastępują najgorsze osobniki
+                Migrant migrant;
+                while ((migrant = inbox.poll()) != null) {
+                    island.replaceWorst(migrant.tour, 0, migrant.distance, startTimeNano);
+                }
+
+                boolean migrate = migrationIntervalNano > 0
+                        ? System.nanoTime() - lastMigration >= migrationIntervalNano
+                        : generation % migrationInterval == 0;
+                if (migrate && islands.length > 1) {
+                    lastMigration = System.nanoTime();
+                    int count = island.copyBest(migrationSize, emigrants, emigrantDistances);
+                    if (fullTopology) {
+                        for (int k = 0; k < islands.length; k++) {
+                            if (k != index) {
+                                send(k, emigrants, emigrantDistances, count);
+                            }
+                        }
+                    } else {
+                        send((index + 1) % islands.length, emigrants, emigrantDistances, count);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            island.shutdown();
+        }
+    }
+
+    private static void joinUninterruptibly(Thread[] threads) {
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException ignored) {
+                    // Flaga przerwania jest przywracana przez wywołującego
+                }
+            }
+        }
+    }
+
+    // Zatrzymanie wyspy; po osiągnięciu celu przerywane są też generacje pozostałych wysp
+    private synchronized void stop(String reason, boolean all) {
+        if (stopReason == null) {
+            stopReason = reason;
+        }
+        if (all) {
+            stopped = true;
+            for (PrimitiveGeneticAlgorithm island : islands) {
+                island.requestStop();
+            }
+        }
+    }
+
+    private void send(int target, int[] tours, int[] distances, int count) {
+        Queue<Migrant> inbox = inboxes.get(target);
+        for (int m = 0; m < count; m++) {
+            int[] tour = new int[citiesCount];
+            System.arraycopy(tours, m * citiesCount, tour, 0, citiesCount);
+            inbox.offer(new Migrant(tour, distances[m]));
+        }
+    }
+
+    private static String[] splitOrDefault(String values, String defaultValue) {
+        if (values == null || values.isBlank()) {
+            return new String[]{defaultValue};
+        }
+        String[] parts = values.split(",");
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim();
+        }
+        return parts;
+    }
+
+    // Trasa przekazywana między wyspami - kopia niezależna od buforów populacji nadawcy
+    private static final class Migrant {
+        private final int[] tour;
+        private final int distance;
+
+        private Migrant(int[] tour, int distance) {
+            this.tour = tour;
+            this.distance = distance;
+        }
+    }
+}
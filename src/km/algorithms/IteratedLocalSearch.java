@@ -0,0 +1,212 @@
+package km.algorithms;
+
+import km.algorithms.operators.OrOptLocalSearch;
+import km.model.TSPProblem;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+// Równoległe iterowane przeszukiwanie lokalne (ILS) z wielu punktów startowych
+// Każdy wątek zaczyna od trasy najbliższego sąsiada z innego miasta i powtarza: zaburzenie double-bridge
+// (A B C D -> A C B D, bez odwracania krawędzi, więc poprawne dla ATSP), przeszukiwanie lokalne Or-opt
+// do optimum lokalnego (localSearchNeighbors, localSearchSegment) i przyjęcie trasy nie gorszej od bieżącej
+// Po ilsRestartIterations iteracjach bez poprawy wątek wraca do najlepszej trasy znalezionej przez wszystkie wątki
+// Iteracja dowolnego wątku jest liczona jako generacja i jako ocena; limity dotyczą wszystkich wątków łącznie
+public class IteratedLocalSearch extends Algorithm {
+    private static final int MIN_CITIES = 8; // Poniżej - tylko przeszukiwanie lokalne trasy startowej
+
+    private final TSPProblem problem;
+    private final long stopTime;
+    private final int citiesCount;
+    private final int threads;
+    private final int restartIterations;
+    private final int localSearchNeighbors;
+    private final int localSearchSegment;
+    private final AlgorithmOptions options;
+    private final RandomGenerator random;
+
+    private final int[] bestTour;
+    private int bestDistance;
+    private long bestSolutionTime;
+
+    private final AtomicLong iterations = new AtomicLong();
+    private volatile long lastImprovementIteration;
+    private volatile boolean stopped;
+    private String stopReason;
+    private ImprovementListener listener;
+
+    public IteratedLocalSearch(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
+        this.problem = problem;
+        this.stopTime = stopTime * 1000; // Czas w ms
+        this.citiesCount = problem.getCitiesCount();
+        this.threads = Math.max(1, options.getThreads());
+        this.restartIterations = options.getIlsRestartIterations();
+        this.localSearchNeighbors = options.getLocalSearchNeighbors();
+        this.localSearchSegment = options.getLocalSearchSegment();
+        this.options = options;
+        this.random = RandomSources.create(options);
+        this.bestTour = new int[citiesCount];
+    }
+
+    @Override
+    public List<Integer> solve(int optimalSolution) {
+        return solve(StopCondition.fromOptions(stopTime, options, optimalSolution, problem), null);
+    }
+
+    @Override
+    public List<Integer> solve(StopCondition stopCondition, ImprovementListener listener) {
+        long startTimeNano = System.nanoTime();
+        this.listener = listener;
+        bestDistance = Integer.MAX_VALUE;
+        bestSolutionTime = 0;
+        iterations.set(0);
+        lastImprovementIteration = 0;
+        stopped = false;
+        stopReason = null;
+
+        Walker[] walkers = new Walker[threads];
+        Thread[] workers = new Thread[threads];
+        for (int k = 0; k < threads; k++) {
+            walkers[k] = new Walker(RandomSources.split(random), startTimeNano, stopCondition);
+            workers[k] = new Thread(walkers[k], "ils-walker-" + k);
+            workers[k].setDaemon(true);
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            stopped = true;
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+            Thread.currentThread().interrupt();
+        }
+
+        System.out.printf("Najlepsze rozwiązanie znaleziono po czasie: %d ns\n", bestSolutionTime);
+        System.out.printf("Najlepsza odległość: %d\n", bestDistance);
+        System.out.printf("Powód zatrzymania: %s, iteracje: %d\n", stopReason, iterations.get());
+        synchronized (this) {
+            return Tours.toList(bestTour);
+        }
+    }
+
+    @Override
+    public long getBestSolutionTime() {
+        return bestSolutionTime;
+    }
+
+    // Zgłoszenie trasy wątku; zwraca true, jeśli jest nowym najlepszym rozwiązaniem
+    private synchronized boolean offer(int[] tour, int length, long timeNs) {
+        if (length >= bestDistance) {
+            return false;
+        }
+        bestDistance = length;
+        System.arraycopy(tour, 0, bestTour, 0, citiesCount);
+        bestSolutionTime = timeNs;
+        lastImprovementIteration = iterations.get();
+        if (listener != null) {
+            listener.improved(Tours.toList(bestTour), bestDistance, bestSolutionTime);
+        }
+        return true;
+    }
+
+    private synchronized int copyBest(int[] tour) {
+        System.arraycopy(bestTour, 0, tour, 0, citiesCount);
+        return bestDistance;
+    }
+
+    private synchronized int getBestDistance() {
+        return bestDistance;
+    }
+
+    private synchronized void stop(String reason) {
+        if (stopReason == null) {
+            stopReason = reason;
+        }
+        stopped = true;
+    }
+
+    // Jeden ciąg ILS z własnym generatorem, buforami i przeszukiwaniem lokalnym
+    private final class Walker implements Runnable {
+        private final RandomGenerator random;
+        private final long startTimeNano;
+        private final StopCondition stopCondition;
+        private final OrOptLocalSearch localSearch;
+        private int[] current;
+        private int[] candidate;
+
+        private Walker(RandomGenerator random, long startTimeNano, StopCondition stopCondition) {
+            this.random = random;
+            this.startTimeNano = startTimeNano;
+            this.stopCondition = stopCondition;
+            this.localSearch = new OrOptLocalSearch(problem, localSearchNeighbors, localSearchSegment);
+            this.current = new int[citiesCount];
+            this.candidate = new int[citiesCount];
+        }
+
+        @Override
+        public void run() {
+            problem.copyGreedyTour(random.nextInt(citiesCount), current, 0);
+            int currentLength = localSearch.improve(current, 0, problem.tourLength(current, 0), Integer.MAX_VALUE, random);
+            offer(current, currentLength, System.nanoTime() - startTimeNano);
+            int sinceImprovement = 0;
+
+            while (!stopped) {
+                long done = iterations.get();
+                String reason = stopCondition.reason(System.nanoTime() - startTimeNano, done, done, getBestDistance(), done - lastImprovementIteration);
+                if (reason == null && citiesCount < MIN_CITIES) {
+                    reason = "za mało miast";
+                }
+                if (reason != null) {
+                    stop(reason);
+                    break;
+                }
+
+                int candidateLength = doubleBridge(currentLength);
+                candidateLength = localSearch.improve(candidate, 0, candidateLength, Integer.MAX_VALUE, random);
+                iterations.incrementAndGet();
+                if (candidateLength <= currentLength) {
+                    sinceImprovement = candidateLength < currentLength ? 0 : sinceImprovement + 1;
+                    int[] swap = current;
+                    current = candidate;
+                    candidate = swap;
+                    currentLength = candidateLength;
+                    if (offer(current, currentLength, System.nanoTime() - startTimeNano) && stopCondition.isTargetReached(currentLength)) {
+                        stop("osiągnięto cel");
+                    }
+                } else if (restartIterations > 0 && ++sinceImprovement >= restartIterations) {
+                    currentLength = copyBest(current);
+                    sinceImprovement = 0;
+                }
+            }
+        }
+
+        // Zaburzenie double-bridge trasy current zapisane w candidate; zwraca długość wyliczoną przyrostowo
+        private int doubleBridge(int length) {
+            int n = citiesCount;
+            // Granice 1 <= p1 < p2 < p3 <= n - 1 dzielą trasę na niepuste fragmenty A, B, C i D
+            int p1 = 1 + random.nextInt(n - 3);
+            int p2 = p1 + 1 + random.nextInt(n - p1 - 2);
+            int p3 = p2 + 1 + random.nextInt(n - p2 - 1);
+            int aEnd = current[p1 - 1];
+            int bStart = current[p1];
+            int bEnd = current[p2 - 1];
+            int cStart = current[p2];
+            int cEnd = current[p3 - 1];
+            int dStart = current[p3];
+
+            System.arraycopy(current, 0, candidate, 0, p1);
+            System.arraycopy(current, p2, candidate, p1, p3 - p2);
+            System.arraycopy(current, p1, candidate, p1 + p3 - p2, p2 - p1);
+            System.arraycopy(current, p3, candidate, p3, n - p3);
+
+            return length + problem.getDistance(aEnd, cStart) + problem.getDistance(cEnd, bStart) + problem.getDistance(bEnd, dStart)
+                    - problem.getDistance(aEnd, bStart) - problem.getDistance(bEnd, cStart) - problem.getDistance(cEnd, dStart);
+        }
+    }
+}
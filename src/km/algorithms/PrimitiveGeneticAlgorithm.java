@@ -0,0 +1,719 @@
+package km.algorithms;
+
+import km.algorithms.init.PopulationInitializer;
+import km.algorithms.operators.CrossoverOperator;
+import km.algorithms.operators.CrossoverOperators;
+import km.algorithms.operators.MutationOperator;
+import km.algorithms.operators.MutationOperators;
+import km.algorithms.operators.OrOptLocalSearch;
+import km.algorithms.operators.SelectionOperator;
+import km.algorithms.operators.SelectionOperators;
+import km.algorithms.operators.TourHashes;
+import km.model.TSPProblem;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+// Wariant algorytmu genetycznego przechowujący populację w płaskich tablicach int[]
+// Osobnik i zajmuje fragment [i * n, (i + 1) * n) tablicy, a dwie tablice (bieżąca i następna generacja)
+// są zamieniane miejscami po każdej generacji, więc w pętli głównej nie są alokowane żadne trasy
+// Długość każdej trasy jest przechowywana w tablicy fitness i aktualizowana przyrostowo przez operatory mutacji
+// Potomkowie mogą być tworzeni równolegle - każdy wątek wypełnia własny zakres indeksów następnej generacji
+// W trybie generacyjnym elitism najlepszych osobników przechodzi bez zmian do następnej generacji,
+// w trybie steady-state w każdej generacji tworzonych jest tylko steadyStateOffspring potomków,
+// a każdy z nich zastępuje najgorszego osobnika populacji, jeśli jest od niego lepszy
+// Etap memetyczny: część potomków (localSearchRate) jest poprawiana ograniczonym przeszukiwaniem lokalnym Or-opt
+// Wykrywanie stagnacji (stagnationGenerations > 0): brak poprawy najlepszego rozwiązania przez zadaną liczbę generacji
+// lub spadek różnorodności (odsetek różnych odcisków tras) poniżej stagnationDiversity wywołuje reakcję - zwiększenie
+// współczynnika mutacji, wymianę najgorszych osobników na imigrantów albo restart populacji z zachowaniem elity
+// Odciski tras (rejectDuplicates) służą tylko do wykrywania duplikatów: potomek identyczny z trasą populacji lub
+// innym potomkiem wątku jest dodatkowo mutowany. Odcisk potomka z krzyżowania jest liczony od nowa w O(n),
+// a operatory mutacji i przeszukiwania lokalnego aktualizują go przyrostowo
+public class PrimitiveGeneticAlgorithm extends Algorithm {
+    private static final int MAX_DUPLICATE_MUTATIONS = 3; // Próby zmiany potomka będącego duplikatem
+    private static final int STOP_CHECK_INTERVAL = 32; // Co ilu potomków wątek sprawdza limit czasu (potęga 2)
+
+    private final TSPProblem problem;
+    private final int populationSize;
+    private final double mutationRate;
+    private final double crossoverRate;
+    private final long stopTime;
+    private final String mutationMethod;
+    private final String crossoverMethod;
+    private final int citiesCount;
+    private final int threads;
+    private final boolean verifyFitness; // Tryb diagnostyczny - porównanie z pełnym przeliczeniem długości
+    private final boolean steadyState;
+    private final int offspringFrom; // Zakres indeksów tworzonych potomków [offspringFrom, offspringTo)
+    private final int offspringTo;
+    private final int elitism;
+    private final SelectionOperator selection;
+    private final double localSearchRate;
+    private final int localSearchMoves;
+    private final int localSearchNeighbors;
+    private final int localSearchSegment;
+    private final int stagnationGenerations;
+    private final double stagnationDiversity;
+    private final int diversityInterval;
+    private final String stagnationResponse;
+    private final double mutationBoost;
+    private final double maxMutationRate;
+    private final double immigrantRate;
+    private final boolean randomImmigrants;
+    private final int immigrantPerturbation;
+    private final boolean hashing; // Czy utrzymywane są odciski tras populacji
+    private final boolean rejectDuplicates;
+
+    private final RandomGenerator random;
+
+    private int[] population; // Bieżąca generacja (populationSize * citiesCount)
+    private int[] nextPopulation; // Bufor na kolejną generację
+    private int[] fitness; // Długości tras bieżącej generacji
+    private int[] nextFitness; // Długości tras kolejnej generacji
+    private long[] hashes; // Odciski tras bieżącej generacji (null, gdy hashing wyłączony)
+    private long[] nextHashes;
+    private final TourHashSet populationHashes; // Odciski bieżącej generacji do wykrywania duplikatów
+    private final int[] bestTour;
+    private final int[] selectedIndices; // Bufor indeksów wybranych najlepszych osobników
+
+    private Breeder[] breeders;
+    private ExecutorService executor;
+
+    private int bestDistance;
+    private long bestSolutionTime;
+    private long startTimeNano;
+
+    private long deadlineNano; // Limit czasu sprawdzany także w trakcie generacji
+    private int targetDistance; // Cel - po jego osiągnięciu wątki przerywają generację
+    private volatile boolean stopRequested; // Zatrzymanie zgłoszone z innego wątku (model wyspowy)
+    private boolean generationInterrupted; // Czy ostatnia generacja została przerwana przed końcem
+    private long generations; // Liczba pełnych generacji
+    private long evaluations; // Liczba utworzonych (ocenionych) potomków
+    private long lastImprovementGeneration;
+    private ImprovementListener listener;
+
+    private double currentMutationRate; // Współczynnik mutacji, zwiększany przy stagnacji
+    private int generation;
+    private int stagnationBest; // Najlepsza długość przy ostatnim sprawdzeniu stagnacji
+    private int lastImprovement; // Generacja ostatniej poprawy lub ostatniej reakcji na stagnację
+    private int stagnationLevel; // Kolejny stopień reakcji w trybie escalate
+    private int stagnationEvents;
+    private final long[] fingerprints; // Odciski tras do liczenia różnorodności
+    private final long[] ranking; // Pary (długość, indeks) do wyboru zachowywanych osobników
+    private final MutationOperator perturbation; // Zaburzanie tras zachłannych imigrantów (wątek główny)
+    private final PopulationInitializer initializer; // Budowa populacji początkowej według initMix
+
+    private final AlgorithmOptions options;
+    private ConvergenceTrace trace; // Ślad zbieżności (null - wyłączony, np. na wyspach modelu wyspowego)
+
+    public PrimitiveGeneticAlgorithm(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
+        this.problem = problem;
+        this.populationSize = populationSize;
+        this.mutationRate = mutationRate;
+        this.crossoverRate = crossoverRate;
+        this.stopTime = stopTime * 1000; // Czas w ms
+        this.mutationMethod = mutationMethod;
+        this.crossoverMethod = options.getCrossoverMethod();
+        this.citiesCount = problem.getCitiesCount();
+        this.verifyFitness = options.isVerifyFitness();
+
+        if ("generational".equalsIgnoreCase(options.getReplacement())) {
+            this.steadyState = false;
+            this.elitism = Math.max(0, Math.min(options.getElitism(), populationSize - 1));
+            this.offspringFrom = elitism;
+            this.offspringTo = populationSize;
+        } else if ("steadyState".equalsIgnoreCase(options.getReplacement())) {
+            this.steadyState = true;
+            this.elitism = 0;
+            this.offspringFrom = 0;
+            this.offspringTo = Math.max(1, Math.min(options.getSteadyStateOffspring(), populationSize));
+        } else {
+            throw new IllegalArgumentException("Nieznana metoda zastępowania populacji: " + options.getReplacement());
+        }
+        this.threads = Math.max(1, Math.min(options.getThreads(), offspringTo - offspringFrom));
+        this.localSearchRate = options.getLocalSearchRate();
+        this.localSearchMoves = options.getLocalSearchMoves();
+        this.localSearchNeighbors = options.getLocalSearchNeighbors();
+        this.localSearchSegment = options.getLocalSearchSegment();
+        this.stagnationGenerations = options.getStagnationGenerations();
+        this.stagnationDiversity = options.getStagnationDiversity();
+        this.diversityInterval = Math.max(1, options.getDiversityInterval());
+        this.stagnationResponse = options.getStagnationResponse();
+        if (!List.of("mutation", "immigrants", "restart", "escalate").contains(stagnationResponse)) {
+            throw new IllegalArgumentException("Nieznana reakcja na stagnację: " + stagnationResponse);
+        }
+        this.mutationBoost = options.getMutationBoost();
+        this.maxMutationRate = Math.max(mutationRate, options.getMaxMutationRate());
+        this.immigrantRate = options.getImmigrantRate();
+        if ("greedy".equalsIgnoreCase(options.getImmigrantInit())) {
+            this.randomImmigrants = false;
+        } else if ("random".equalsIgnoreCase(options.getImmigrantInit())) {
+            this.randomImmigrants = true;
+        } else {
+            throw new IllegalArgumentException("Nieznana metoda tworzenia imigrantów: " + options.getImmigrantInit());
+        }
+        this.immigrantPerturbation = options.getImmigrantPerturbation();
+        this.rejectDuplicates = options.isRejectDuplicates();
+        this.hashing = rejectDuplicates;
+        this.selection = SelectionOperators.create(options.getSelectionMethod(), populationSize, options.getTournamentSize(), options.getRankPressure());
+        this.random = RandomSources.create(options);
+        this.options = options;
+
+        this.population = new int[populationSize * citiesCount];
+        this.nextPopulation = new int[populationSize * citiesCount];
+        this.fitness = new int[populationSize];
+        this.nextFitness = new int[populationSize];
+        this.bestTour = new int[citiesCount];
+        this.selectedIndices = new int[populationSize];
+        this.hashes = hashing ? new long[populationSize] : null;
+        this.nextHashes = hashing ? new long[populationSize] : null;
+        this.populationHashes = rejectDuplicates ? new TourHashSet(populationSize) : null;
+        this.fingerprints = stagnationGenerations > 0 ? new long[populationSize] : null;
+        this.ranking = stagnationGenerations > 0 ? new long[populationSize] : null;
+        this.perturbation = stagnationGenerations > 0 ? MutationOperators.create(mutationMethod, problem, hashing) : null;
+        this.initializer = new PopulationInitializer(problem, options);
+    }
+
+    @Override
+    public List<Integer> solve(int optimalSolution) {
+        return solve(StopCondition.fromOptions(stopTime, options, optimalSolution, problem), null);
+    }
+
+    @Override
+    public List<Integer> solve(StopCondition stopCondition, ImprovementListener listener) {
+        long startTimeNano = System.nanoTime();
+        trace = ConvergenceTrace.create(options, stopCondition.getOptimalSolution(), populationSize);
+        this.listener = listener;
+        initialize(startTimeNano);
+        setStopCondition(stopCondition.getDeadline(startTimeNano), stopCondition.getTargetDistance());
+        String reason = null;
+        try {
+            while ((reason = stopCondition.reason(System.nanoTime() - startTimeNano, generations, evaluations, bestDistance, generations - lastImprovementGeneration)) == null) {
+                long evaluationsBefore = evaluations;
+                evolve();
+                if (trace != null && !generationInterrupted) {
+                    trace.generation(System.nanoTime() - startTimeNano, (int) (evaluations - evaluationsBefore), fitness, populationSize);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            shutdown();
+        }
+
+        System.out.printf("Najlepsze rozwiązanie znaleziono po czasie: %d ns\n", bestSolutionTime);
+        System.out.printf("Najlepsza odległość: %d\n", bestDistance);
+        System.out.printf("Powód zatrzymania: %s, generacje: %d, ocenione trasy: %d\n", reason, generations, evaluations);
+        if (stagnationGenerations > 0) {
+            System.out.printf("Liczba reakcji na stagnację: %d\n", stagnationEvents);
+        }
+        if (rejectDuplicates) {
+            System.out.printf("Odrzucone duplikaty: %d\n", getRejectedDuplicates());
+        }
+        return Tours.toList(bestTour); // Konwersja do listy tylko dla wyniku końcowego
+    }
+
+    // Utworzenie populacji początkowej i wątków - czas znalezienia rozwiązań liczony jest od startTimeNano
+    void initialize(long startTimeNano) {
+        bestDistance = Integer.MAX_VALUE;
+        bestSolutionTime = 0; // Resetowanie czasu znalezienia najlepszego rozwiązania
+        this.startTimeNano = startTimeNano;
+        currentMutationRate = mutationRate;
+        generation = 0;
+        lastImprovement = 0;
+        stagnationLevel = 0;
+        stagnationEvents = 0;
+        generations = 0;
+        evaluations = 0;
+        lastImprovementGeneration = 0;
+        generationInterrupted = false;
+        stopRequested = false;
+        setStopCondition(Long.MAX_VALUE, StopCondition.NO_TARGET);
+
+        initializer.initialize(population, fitness, populationSize, random); // Populacja początkowa według initMix
+        for (int i = 0; i < populationSize; i++) {
+            if (verifyFitness) {
+                verifyDistance(population, i * citiesCount, fitness[i]);
+            }
+            if (hashing) {
+                hashes[i] = TourHashes.of(population, i * citiesCount, citiesCount);
+            }
+            if (fitness[i] < bestDistance) {
+                bestDistance = fitness[i];
+                System.arraycopy(population, i * citiesCount, bestTour, 0, citiesCount);
+                bestSolutionTime = System.nanoTime() - startTimeNano;
+            }
+        }
+        reportImprovement();
+        stagnationBest = bestDistance;
+
+        // Podział populacji na rozłączne zakresy - każdy wątek ma własny generator i bufory operatorów
+        breeders = new Breeder[threads];
+        int offspringCount = offspringTo - offspringFrom;
+        for (int t = 0; t < threads; t++) {
+            breeders[t] = new Breeder(offspringFrom + t * offspringCount / threads, offspringFrom + (t + 1) * offspringCount / threads, RandomSources.split(random), startTimeNano);
+        }
+        executor = threads > 1 ? Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ga-breeder");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    // Limit czasu (System.nanoTime) i cel sprawdzane przez wątki tworzące potomków w trakcie generacji
+    void setStopCondition(long deadlineNano, int targetDistance) {
+        this.deadlineNano = deadlineNano;
+        this.targetDistance = targetDistance;
+    }
+
+    // Przerwanie bieżącej i kolejnych generacji z innego wątku
+    void requestStop() {
+        stopRequested = true;
+    }
+
+    void setImprovementListener(ImprovementListener listener) {
+        this.listener = listener;
+    }
+
+    // Utworzenie jednej generacji potomków
+    // Po przekroczeniu limitu czasu lub osiągnięciu celu w trakcie generacji najlepszy z utworzonych potomków
+    // jest zapamiętywany, ale populacja pozostaje bez zmian (generationInterrupted)
+    void evolve() throws InterruptedException {
+        selection.prepare(fitness, random);
+
+        // Elita przechodzi do następnej generacji bez zmian
+        if (elitism > 0) {
+            selectBest(elitism);
+            for (int k = 0; k < elitism; k++) {
+                System.arraycopy(population, selectedIndices[k] * citiesCount, nextPopulation, k * citiesCount, citiesCount);
+                nextFitness[k] = fitness[selectedIndices[k]];
+                if (hashing) {
+                    nextHashes[k] = hashes[selectedIndices[k]];
+                }
+            }
+        }
+
+        if (rejectDuplicates) {
+            populationHashes.clear();
+            for (int i = 0; i < populationSize; i++) {
+                populationHashes.add(hashes[i]);
+            }
+        }
+
+        if (executor == null) {
+            breeders[0].call();
+        } else {
+            try {
+                for (Future<Void> future : executor.invokeAll(Arrays.asList(breeders))) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Błąd wątku tworzącego potomków", e.getCause());
+            }
+        }
+
+        // Redukcja najlepszych wyników wątków po zakończeniu generacji
+        for (Breeder breeder : breeders) {
+            if (breeder.bestIndex >= 0 && nextFitness[breeder.bestIndex] < bestDistance) {
+                bestDistance = nextFitness[breeder.bestIndex];
+                System.arraycopy(nextPopulation, breeder.bestIndex * citiesCount, bestTour, 0, citiesCount);
+                bestSolutionTime = breeder.bestTime;
+                reportImprovement();
+            }
+        }
+
+        generationInterrupted = false;
+        for (Breeder breeder : breeders) {
+            evaluations += breeder.produced;
+            generationInterrupted |= breeder.interrupted;
+        }
+        if (generationInterrupted) {
+            return;
+        }
+        generations++;
+
+        if (steadyState) {
+            // Potomkowie zastępują najgorsze osobniki, jeśli są od nich lepsi
+            for (int i = offspringFrom; i < offspringTo; i++) {
+                int worst = worstIndex();
+                if (nextFitness[i] < fitness[worst]) {
+                    System.arraycopy(nextPopulation, i * citiesCount, population, worst * citiesCount, citiesCount);
+                    fitness[worst] = nextFitness[i];
+                    if (hashing) {
+                        hashes[worst] = nextHashes[i];
+                    }
+                }
+            }
+        } else {
+            // Zamiana buforów - następna generacja staje się bieżącą
+            int[] swap = population;
+            population = nextPopulation;
+            nextPopulation = swap;
+            swap = fitness;
+            fitness = nextFitness;
+            nextFitness = swap;
+            long[] swapHashes = hashes;
+            hashes = nextHashes;
+            nextHashes = swapHashes;
+        }
+
+        if (stagnationGenerations > 0) {
+            detectStagnation();
+        }
+    }
+
+    // Sprawdzenie stagnacji po zakończonej generacji - wykonywane w wątku głównym, gdy wątki potomków nie pracują
+    private void detectStagnation() {
+        generation++;
+        if (bestDistance < stagnationBest) {
+            stagnationBest = bestDistance;
+            lastImprovement = generation;
+            stagnationLevel = 0;
+            currentMutationRate = mutationRate;
+            return;
+        }
+
+        boolean stagnant = generation - lastImprovement >= stagnationGenerations;
+        if (!stagnant && generation % diversityInterval == 0 && generation - lastImprovement >= diversityInterval) {
+            stagnant = diversity() < stagnationDiversity;
+        }
+        if (!stagnant) {
+            return;
+        }
+
+        String response = stagnationResponse;
+        if ("escalate".equals(response)) {
+            response = stagnationLevel == 0 ? "mutation" : stagnationLevel == 1 ? "immigrants" : "restart";
+            stagnationLevel = (stagnationLevel + 1) % 3;
+        }
+        switch (response) {
+            case "mutation" -> currentMutationRate = Math.min(maxMutationRate, Math.max(currentMutationRate, 0.01) * mutationBoost);
+            case "immigrants" -> refill(populationSize - Math.max(1, (int) Math.round(immigrantRate * populationSize)));
+            default -> {
+                refill(Math.max(1, elitism));
+                currentMutationRate = mutationRate;
+            }
+        }
+        stagnationEvents++;
+        lastImprovement = generation; // Kolejna reakcja najwcześniej po następnym okresie bez poprawy
+    }
+
+    // Różnorodność populacji - odsetek różnych odcisków tras
+    private double diversity() {
+        for (int i = 0; i < populationSize; i++) {
+            fingerprints[i] = hashing ? hashes[i] : TourHashes.of(population, i * citiesCount, citiesCount);
+        }
+        Arrays.sort(fingerprints);
+        int distinct = 1;
+        for (int i = 1; i < populationSize; i++) {
+            if (fingerprints[i] != fingerprints[i - 1]) {
+                distinct++;
+            }
+        }
+        return (double) distinct / populationSize;
+    }
+
+    // Zachowanie keep najlepszych osobników i zastąpienie pozostałych nowymi trasami
+    private void refill(int keep) {
+        keep = Math.max(1, Math.min(keep, populationSize - 1));
+        for (int i = 0; i < populationSize; i++) {
+            ranking[i] = (long) fitness[i] << 32 | i;
+        }
+        Arrays.sort(ranking);
+        for (int k = keep; k < populationSize; k++) {
+            int i = (int) ranking[k];
+            int offset = i * citiesCount;
+            fitness[i] = createImmigrant(offset);
+            if (hashing) {
+                hashes[i] = TourHashes.of(population, offset, citiesCount);
+            }
+            if (fitness[i] < bestDistance) {
+                bestDistance = fitness[i];
+                System.arraycopy(population, offset, bestTour, 0, citiesCount);
+                bestSolutionTime = System.nanoTime() - startTimeNano;
+                reportImprovement();
+            }
+        }
+    }
+
+    // Nowa trasa w bieżącej populacji od pozycji offset - losowa lub zachłanna z losowego miasta, zaburzona mutacjami
+    private int createImmigrant(int offset) {
+        if (randomImmigrants) {
+            for (int i = 0; i < citiesCount; i++) {
+                population[offset + i] = i;
+            }
+            for (int i = citiesCount - 1; i > 0; i--) { // Fisher-Yates
+                int j = random.nextInt(i + 1);
+                int temp = population[offset + i];
+                population[offset + i] = population[offset + j];
+                population[offset + j] = temp;
+            }
+            return calculateTotalDistance(population, offset);
+        }
+        problem.copyGreedyTour(random.nextInt(citiesCount), population, offset);
+        int length = calculateTotalDistance(population, offset);
+        for (int k = 0; k < immigrantPerturbation; k++) {
+            length = perturbation.mutate(population, offset, length, random);
+        }
+        return length;
+    }
+
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    int getBestDistance() {
+        return bestDistance;
+    }
+
+    long getGenerations() {
+        return generations;
+    }
+
+    long getEvaluations() {
+        return evaluations;
+    }
+
+    long getGenerationsWithoutImprovement() {
+        return generations - lastImprovementGeneration;
+    }
+
+    boolean isGenerationInterrupted() {
+        return generationInterrupted;
+    }
+
+    void copyBestTour(int[] tour) {
+        System.arraycopy(bestTour, 0, tour, 0, citiesCount);
+    }
+
+    // Skopiowanie count najlepszych osobników bieżącej generacji do tablicy tours, długości do distances
+    int copyBest(int count, int[] tours, int[] distances) {
+        count = Math.min(count, populationSize);
+        selectBest(count);
+        for (int k = 0; k < count; k++) {
+            System.arraycopy(population, selectedIndices[k] * citiesCount, tours, k * citiesCount, citiesCount);
+            distances[k] = fitness[selectedIndices[k]];
+        }
+        return count;
+    }
+
+    // Wybór indeksów count najlepszych osobników do selectedIndices w O(count * populationSize), bez sortowania
+    private void selectBest(int count) {
+        for (int k = 0; k < count; k++) {
+            int best = -1;
+            for (int i = 0; i < populationSize; i++) {
+                if ((best < 0 || fitness[i] < fitness[best]) && !isSelected(i, k)) {
+                    best = i;
+                }
+            }
+            selectedIndices[k] = best;
+        }
+    }
+
+    private boolean isSelected(int index, int count) {
+        for (int k = 0; k < count; k++) {
+            if (selectedIndices[k] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Zastąpienie najgorszego osobnika bieżącej generacji trasą z zewnątrz (np. migrantem z innej wyspy)
+    void replaceWorst(int[] tours, int offset, int distance, long startTimeNano) {
+        int worst = worstIndex();
+        if (distance >= fitness[worst]) {
+            return;
+        }
+        System.arraycopy(tours, offset, population, worst * citiesCount, citiesCount);
+        fitness[worst] = distance;
+        if (hashing) {
+            hashes[worst] = TourHashes.of(tours, offset, citiesCount);
+        }
+        if (distance < bestDistance) {
+            bestDistance = distance;
+            System.arraycopy(tours, offset, bestTour, 0, citiesCount);
+            bestSolutionTime = System.nanoTime() - startTimeNano;
+            reportImprovement();
+        }
+    }
+
+    // Nowe najlepsze rozwiązanie (bestTour, bestDistance, bestSolutionTime) - powiadomienie śladu i słuchacza
+    private void reportImprovement() {
+        lastImprovementGeneration = generations;
+        if (trace != null) {
+            trace.improved(bestSolutionTime, bestDistance);
+        }
+        if (listener != null) {
+            listener.improved(Tours.toList(bestTour), bestDistance, bestSolutionTime);
+        }
+    }
+
+    private int worstIndex() {
+        int worst = 0;
+        for (int i = 1; i < populationSize; i++) {
+            if (fitness[i] > fitness[worst]) {
+                worst = i;
+            }
+        }
+        return worst;
+    }
+
+    public long getRejectedDuplicates() {
+        long rejected = 0;
+        for (Breeder breeder : breeders) {
+            rejected += breeder.rejectedDuplicates;
+        }
+        return rejected;
+    }
+
+    @Override
+    public long getBestSolutionTime() {
+        return bestSolutionTime;
+    }
+
+    @Override
+    public ConvergenceTrace getTrace() {
+        return trace;
+    }
+
+    private int calculateTotalDistance(int[] tours, int offset) {
+        return problem.tourLength(tours, offset);
+    }
+
+    private void verifyDistance(int[] tours, int offset, int distance) {
+        int expected = calculateTotalDistance(tours, offset);
+        if (expected != distance) {
+            throw new IllegalStateException("Niezgodna długość trasy: przyrostowo " + distance + ", pełne przeliczenie " + expected);
+        }
+    }
+
+    // Tworzenie potomków o indeksach [from, to) - populacja bieżąca jest tylko odczytywana,
+    // a każdy wątek zapisuje wyłącznie własny zakres następnej generacji
+    private final class Breeder implements Callable<Void> {
+        private final int from;
+        private final int to;
+        private final RandomGenerator random;
+        private final long startTimeNano;
+        private final CrossoverOperator crossover;
+        private final MutationOperator mutation;
+        private final OrOptLocalSearch localSearch;
+        private final TourHashSet childHashes; // Odciski potomków utworzonych przez wątek w bieżącej generacji
+        private long rejectedDuplicates;
+        private int produced; // Liczba potomków utworzonych w ostatniej generacji
+        private boolean interrupted; // Czy ostatnia generacja została przerwana (limit czasu, cel, requestStop)
+
+        private int bestIndex; // Najlepszy potomek z zakresu w ostatniej generacji
+        private long bestTime;
+
+        private Breeder(int from, int to, RandomGenerator random, long startTimeNano) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.startTimeNano = startTimeNano;
+            this.crossover = CrossoverOperators.create(crossoverMethod, citiesCount);
+            this.mutation = MutationOperators.create(mutationMethod, problem, hashing);
+            this.localSearch = localSearchRate > 0 ? new OrOptLocalSearch(problem, localSearchNeighbors, localSearchSegment) : null;
+            this.childHashes = rejectDuplicates ? new TourHashSet(to - from) : null;
+        }
+
+        @Override
+        public Void call() {
+            int[] population = PrimitiveGeneticAlgorithm.this.population;
+            int[] nextPopulation = PrimitiveGeneticAlgorithm.this.nextPopulation;
+            int[] fitness = PrimitiveGeneticAlgorithm.this.fitness;
+            int[] nextFitness = PrimitiveGeneticAlgorithm.this.nextFitness;
+            long[] hashes = PrimitiveGeneticAlgorithm.this.hashes;
+            long[] nextHashes = PrimitiveGeneticAlgorithm.this.nextHashes;
+            int localBest = bestDistance;
+            bestIndex = -1;
+            if (childHashes != null) {
+                childHashes.clear();
+            }
+            interrupted = false;
+
+            int i = from;
+            for (; i < to; i++) {
+                // Tani test przerwania: cel po każdej poprawie, czas i żądanie zatrzymania co STOP_CHECK_INTERVAL potomków
+                if (((i - from) & (STOP_CHECK_INTERVAL - 1)) == STOP_CHECK_INTERVAL - 1
+                        && (stopRequested || System.nanoTime() >= deadlineNano)) {
+                    interrupted = true;
+                    break;
+                }
+                int parent1 = selection.select(fitness, 2 * i, random); // Indeks pierwszego rodzica
+                int parent2 = selection.select(fitness, 2 * i + 1, random); // Indeks drugiego rodzica
+                int child = i * citiesCount; // Przesunięcie potomka w tablicy następnej generacji
+
+                int childDistance;
+                long childHash = 0;
+                if (random.nextDouble() < crossoverRate) { // Sprawdzenie, czy zachodzi krzyżowanie
+                    crossover.crossover(population, parent1 * citiesCount, parent2 * citiesCount, nextPopulation, child, random);
+                    childDistance = calculateTotalDistance(nextPopulation, child);
+                    if (hashing) {
+                        childHash = TourHashes.of(nextPopulation, child, citiesCount);
+                    }
+                } else {
+                    System.arraycopy(population, parent1 * citiesCount, nextPopulation, child, citiesCount); // Brak krzyżowania - kopiowanie pierwszego rodzica
+                    childDistance = fitness[parent1]; // Długość dziedziczona bez ponownego liczenia
+                    if (hashing) {
+                        childHash = hashes[parent1];
+                    }
+                }
+
+                if (random.nextDouble() < currentMutationRate) { // Sprawdzenie, czy zachodzi mutacja
+                    childDistance = mutation.mutate(nextPopulation, child, childDistance, random);
+                    childHash += mutation.getHashDelta();
+                }
+
+                if (localSearch != null && random.nextDouble() < localSearchRate) { // Poprawa potomka przeszukiwaniem lokalnym
+                    childDistance = localSearch.improve(nextPopulation, child, childDistance, localSearchMoves, random);
+                    childHash += localSearch.getHashDelta();
+                }
+
+                // Duplikat trasy z populacji lub wcześniejszego potomka - kilka prób wymuszonej mutacji
+                if (childHashes != null) {
+                    for (int attempt = 0; attempt < MAX_DUPLICATE_MUTATIONS && (populationHashes.contains(childHash) || childHashes.contains(childHash)); attempt++) {
+                        childDistance = mutation.mutate(nextPopulation, child, childDistance, random);
+                        childHash += mutation.getHashDelta();
+                        rejectedDuplicates++;
+                    }
+                    childHashes.add(childHash);
+                }
+
+                if (verifyFitness) {
+                    verifyDistance(nextPopulation, child, childDistance);
+                    if (hashing && TourHashes.of(nextPopulation, child, citiesCount) != childHash) {
+                        throw new IllegalStateException("Niezgodny odcisk trasy potomka " + i);
+                    }
+                }
+
+                nextFitness[i] = childDistance;
+                if (hashing) {
+                    nextHashes[i] = childHash;
+                }
+                if (childDistance < localBest) {
+                    localBest = childDistance;
+                    bestIndex = i;
+                    bestTime = System.nanoTime() - startTimeNano;
+                    if (targetDistance != StopCondition.NO_TARGET && childDistance <= targetDistance) {
+                        stopRequested = true; // Pozostałe wątki przerywają generację przy najbliższym sprawdzeniu
+                        interrupted = i + 1 < to;
+                        i++;
+                        break;
+                    }
+                }
+            }
+            produced = i - from;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package km.algorithms;
+
+import km.algorithms.operators.SplitMix;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Tworzenie generatorów liczb losowych dla algorytmów
+// Jeden generator na wątek - bez alokacji w pętli głównej i bez współdzielonego stanu jak w Math.random()
+public final class RandomSources {
+
+    private RandomSources() {
+    }
+
+    // splittable - SplittableRandom, xoshiro - Xoshiro256PlusPlus
+    public static RandomGenerator create(String kind, long seed) {
+        if ("splittable".equalsIgnoreCase(kind)) {
+            return new SplittableRandom(seed);
+        } else if ("xoshiro".equalsIgnoreCase(kind)) {
+            return RandomGeneratorFactory.of("Xoshiro256PlusPlus").create(seed);
+        }
+        throw new IllegalArgumentException("Nieznany generator liczb losowych: " + kind);
+    }
+
+    public static RandomGenerator create(AlgorithmOptions options) {
+        return create(options.getRandomGenerator(), options.isSeeded() ? options.getSeed() : randomSeed());
+    }
+
+    // Niezależny strumień dla kolejnego wątku - deterministyczny, jeśli generator nadrzędny był zasiany
+    public static RandomGenerator split(RandomGenerator parent) {
+        if (parent instanceof RandomGenerator.SplittableGenerator splittable) {
+            return splittable.split();
+        } else if (parent instanceof RandomGenerator.JumpableGenerator jumpable) {
+            return jumpable.copyAndJump();
+        }
+        return new SplittableRandom(parent.nextLong());
+    }
+
+    // Ziarno strumienia o numerze index wyprowadzone z seed (mieszanie splitmix64) - strumienie kolejnych
+    // numerów są niezależne, a każdy można odtworzyć bez znajomości poprzednich
+    public static long derive(long seed, long index) {
+        return SplitMix.mix(seed + (index + 1) * SplitMix.GOLDEN_GAMMA);
+    }
+
+    public static long randomSeed() {
+        return new SplittableRandom().nextLong();
+    }
+}
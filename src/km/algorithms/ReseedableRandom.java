@@ -0,0 +1,56 @@
+package km.algorithms;
+
+import km.algorithms.operators.SplitMix;
+
+import java.util.random.RandomGenerator;
+
+// Generator, któremu można nadać nowe ziarno bez tworzenia nowego obiektu (RandomGeneratorFactory.create w pętli
+// głównej alokuje i używa refleksji). Rodzaje jak w RandomSources:
+//   splittable - ciąg splitmix64 (nextLong zgodne z new SplittableRandom(seed)),
+//   xoshiro    - Xoshiro256PlusPlus ze stanem wypełnionym ciągiem splitmix64 z ziarna
+// Pozostałe metody (nextInt(bound), nextDouble, ...) to domyślne implementacje RandomGenerator oparte na nextLong
+final class ReseedableRandom implements RandomGenerator {
+    private final boolean xoshiro;
+    private long s0; // splittable - jedyne słowo stanu
+    private long s1;
+    private long s2;
+    private long s3;
+
+    ReseedableRandom(String kind, long seed) {
+        if ("splittable".equalsIgnoreCase(kind)) {
+            this.xoshiro = false;
+        } else if ("xoshiro".equalsIgnoreCase(kind)) {
+            this.xoshiro = true;
+        } else {
+            throw new IllegalArgumentException("Nieznany generator liczb losowych: " + kind);
+        }
+        reseed(seed);
+    }
+
+    void reseed(long seed) {
+        if (!xoshiro) {
+            s0 = seed;
+            return;
+        }
+        s0 = SplitMix.mix(seed += SplitMix.GOLDEN_GAMMA);
+        s1 = SplitMix.mix(seed += SplitMix.GOLDEN_GAMMA);
+        s2 = SplitMix.mix(seed += SplitMix.GOLDEN_GAMMA);
+        s3 = SplitMix.mix(seed + SplitMix.GOLDEN_GAMMA);
+    }
+
+    @Override
+    public long nextLong() {
+        if (!xoshiro) {
+            return SplitMix.mix(s0 += SplitMix.GOLDEN_GAMMA);
+        }
+        long result = Long.rotateLeft(s0 + s3, 23) + s0;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+}
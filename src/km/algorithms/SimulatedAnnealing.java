@@ -0,0 +1,305 @@
+package km.algorithms;
+
+import km.model.TSPProblem;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+// Symulowane wyżarzanie na jednej trasie w tablicy int[], zaczynające od trasy najbliższego sąsiada
+// Zmiana długości jest liczona przed wykonaniem ruchu, a trasa zmieniana tylko po jego przyjęciu:
+//   insert - przeniesienie fragmentu 1..3 miast w inne miejsce bez odwracania (zmiana w O(1)),
+//   swap   - zamiana dwóch miast (O(1)),
+//   invert - odwrócenie fragmentu (w ATSP zmiana w czasie proporcjonalnym do długości fragmentu)
+// Domyślny ruch to insert niezależnie od mutationMethod - nie odwraca krawędzi, więc w ATSP daje wyraźnie lepsze trasy
+// Temperatura początkowa jest dobierana tak, aby średnie pogorszenie z próbki ruchów było przyjmowane
+// z prawdopodobieństwem annealingInitialAcceptance; po każdej epoce (annealingEpochLength ruchów) temperatura
+// jest mnożona przez annealingCooling, a po spadku poniżej MIN_TEMPERATURE_RATIO temperatury początkowej
+// wyżarzanie zaczyna się od nowa od najlepszej znalezionej trasy
+// Epoka jest liczona jako generacja, a każdy proponowany ruch - jako ocena
+public class SimulatedAnnealing extends Algorithm {
+    private static final int MOVE_INSERT = 0;
+    private static final int MOVE_SWAP = 1;
+    private static final int MOVE_INVERT = 2;
+    private static final int MAX_INSERT_SEGMENT = 3;
+    private static final int TEMPERATURE_SAMPLES = 200; // Liczba ruchów do oszacowania temperatury początkowej
+    private static final double MIN_TEMPERATURE_RATIO = 1e-3;
+    private static final int STOP_CHECK_INTERVAL = 256; // Co ile ruchów sprawdzany jest limit czasu (potęga 2)
+
+    private final TSPProblem problem;
+    private final long stopTime;
+    private final int citiesCount;
+    private final int move;
+    private final double initialAcceptance;
+    private final double cooling;
+    private final int epochLength;
+    private final AlgorithmOptions options;
+    private final RandomGenerator random;
+
+    private final int[] tour;
+    private final int[] bestTour;
+    private final int[] segment; // Bufor przenoszonego fragmentu
+    private int length;
+    private int bestDistance;
+    private long bestSolutionTime;
+
+    // Parametry ostatnio proponowanego ruchu
+    private int moveI;
+    private int moveJ;
+    private int moveLength;
+
+    public SimulatedAnnealing(TSPProblem problem, int populationSize, double mutationRate, double crossoverRate, long stopTime, String mutationMethod, AlgorithmOptions options) {
+        this.problem = problem;
+        this.stopTime = stopTime * 1000; // Czas w ms
+        this.citiesCount = problem.getCitiesCount();
+        String moveName = options.getAnnealingMove() == null || options.getAnnealingMove().isBlank() ? "insert" : options.getAnnealingMove();
+        if ("insert".equalsIgnoreCase(moveName)) {
+            this.move = MOVE_INSERT;
+        } else if ("swap".equalsIgnoreCase(moveName)) {
+            this.move = MOVE_SWAP;
+        } else if ("invert".equalsIgnoreCase(moveName)) {
+            this.move = MOVE_INVERT;
+        } else {
+            throw new IllegalArgumentException("Nieznany ruch wyżarzania: " + moveName);
+        }
+        this.initialAcceptance = Math.min(0.99, Math.max(0.01, options.getAnnealingInitialAcceptance()));
+        this.cooling = options.getAnnealingCooling();
+        this.epochLength = options.getAnnealingEpochLength() > 0 ? options.getAnnealingEpochLength() : 10 * citiesCount;
+        this.options = options;
+        this.random = RandomSources.create(options);
+        this.tour = new int[citiesCount];
+        this.bestTour = new int[citiesCount];
+        this.segment = new int[MAX_INSERT_SEGMENT];
+    }
+
+    @Override
+    public List<Integer> solve(int optimalSolution) {
+        return solve(StopCondition.fromOptions(stopTime, options, optimalSolution, problem), null);
+    }
+
+    @Override
+    public List<Integer> solve(StopCondition stopCondition, ImprovementListener listener) {
+        long startTimeNano = System.nanoTime();
+        long deadlineNano = stopCondition.getDeadline(startTimeNano);
+        problem.copyGreedyTour(random.nextInt(citiesCount), tour, 0);
+        length = problem.tourLength(tour, 0);
+        bestDistance = length;
+        System.arraycopy(tour, 0, bestTour, 0, citiesCount);
+        bestSolutionTime = System.nanoTime() - startTimeNano;
+        if (listener != null) {
+            listener.improved(Tours.toList(bestTour), bestDistance, bestSolutionTime);
+        }
+
+        boolean movable = citiesCount >= MAX_INSERT_SEGMENT + 3;
+        double initialTemperature = movable ? initialTemperature() : 0;
+        double temperature = initialTemperature;
+        long epochs = 0;
+        long evaluations = 0;
+        long lastImprovementEpoch = 0;
+        String reason;
+        while ((reason = stopCondition.reason(System.nanoTime() - startTimeNano, epochs, evaluations, bestDistance, epochs - lastImprovementEpoch)) == null) {
+            if (!movable) {
+                reason = "za mało miast";
+                break;
+            }
+            boolean interrupted = false;
+            for (int m = 0; m < epochLength; m++) {
+                if ((m & (STOP_CHECK_INTERVAL - 1)) == STOP_CHECK_INTERVAL - 1 && System.nanoTime() >= deadlineNano) {
+                    interrupted = true;
+                    break;
+                }
+                evaluations++;
+                int delta = propose();
+                if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) {
+                    continue;
+                }
+                apply();
+                length += delta;
+                if (length < bestDistance) {
+                    bestDistance = length;
+                    System.arraycopy(tour, 0, bestTour, 0, citiesCount);
+                    bestSolutionTime = System.nanoTime() - startTimeNano;
+                    lastImprovementEpoch = epochs;
+                    if (listener != null) {
+                        listener.improved(Tours.toList(bestTour), bestDistance, bestSolutionTime);
+                    }
+                    if (stopCondition.isTargetReached(bestDistance)) {
+                        interrupted = true;
+                        break;
+                    }
+                }
+            }
+            if (interrupted) {
+                continue;
+            }
+            epochs++;
+            temperature *= cooling;
+            if (temperature < initialTemperature * MIN_TEMPERATURE_RATIO) {
+                // Ponowne wyżarzanie od najlepszej trasy
+                temperature = initialTemperature;
+                System.arraycopy(bestTour, 0, tour, 0, citiesCount);
+                length = bestDistance;
+            }
+        }
+
+        System.out.printf("Najlepsze rozwiązanie znaleziono po czasie: %d ns\n", bestSolutionTime);
+        System.out.printf("Najlepsza odległość: %d\n", bestDistance);
+        System.out.printf("Powód zatrzymania: %s, epoki: %d, ruchy: %d\n", reason, epochs, evaluations);
+        return Tours.toList(bestTour);
+    }
+
+    @Override
+    public long getBestSolutionTime() {
+        return bestSolutionTime;
+    }
+
+    // Temperatura, przy której średnie pogorszenie jest przyjmowane z prawdopodobieństwem initialAcceptance
+    private double initialTemperature() {
+        long worsening = 0;
+        int count = 0;
+        for (int s = 0; s < TEMPERATURE_SAMPLES; s++) {
+            int delta = propose();
+            if (delta > 0) {
+                worsening += delta;
+                count++;
+            }
+        }
+        double mean = count > 0 ? (double) worsening / count : 1.0;
+        return -mean / Math.log(initialAcceptance);
+    }
+
+    // Losowanie ruchu i wyznaczenie zmiany długości bez zmiany trasy
+    private int propose() {
+        return switch (move) {
+            case MOVE_SWAP -> proposeSwap();
+            case MOVE_INVERT -> proposeInvert();
+            default -> proposeInsert();
+        };
+    }
+
+    private void apply() {
+        switch (move) {
+            case MOVE_SWAP -> {
+                int temp = tour[moveI];
+                tour[moveI] = tour[moveJ];
+                tour[moveJ] = temp;
+            }
+            case MOVE_INVERT -> {
+                for (int left = moveI, right = moveJ; left < right; left++, right--) {
+                    int temp = tour[left];
+                    tour[left] = tour[right];
+                    tour[right] = temp;
+                }
+            }
+            default -> applyInsert();
+        }
+    }
+
+    private int distance(int fromIndex, int toIndex) {
+        return problem.getDistance(tour[fromIndex], tour[toIndex]);
+    }
+
+    private int next(int index) {
+        return index + 1 == citiesCount ? 0 : index + 1;
+    }
+
+    private int previous(int index) {
+        return index == 0 ? citiesCount - 1 : index - 1;
+    }
+
+    // Zamiana miast na pozycjach i < j; sąsiednie pozycje (także przez koniec tablicy) wymieniają trzy krawędzie
+    private int proposeSwap() {
+        int i = random.nextInt(citiesCount);
+        int j = random.nextInt(citiesCount - 1);
+        if (j >= i) {
+            j++;
+        }
+        if (i > j) {
+            int temp = i;
+            i = j;
+            j = temp;
+        }
+        moveI = i;
+        moveJ = j;
+        int a = tour[i];
+        int b = tour[j];
+        int pi = tour[previous(i)];
+        int ni = tour[next(i)];
+        int pj = tour[previous(j)];
+        int nj = tour[next(j)];
+        if (j == i + 1) {
+            // ... pi a b nj ... -> ... pi b a nj ...
+            return problem.getDistance(pi, b) + problem.getDistance(b, a) + problem.getDistance(a, nj)
+                    - problem.getDistance(pi, a) - problem.getDistance(a, b) - problem.getDistance(b, nj);
+        }
+        if (i == 0 && j == citiesCount - 1) {
+            // Sąsiedztwo przez koniec tablicy: ... pj b | a ni ... -> ... pj a | b ni ...
+            return problem.getDistance(pj, a) + problem.getDistance(a, b) + problem.getDistance(b, ni)
+                    - problem.getDistance(pj, b) - problem.getDistance(b, a) - problem.getDistance(a, ni);
+        }
+        return problem.getDistance(pi, b) + problem.getDistance(b, ni) + problem.getDistance(pj, a) + problem.getDistance(a, nj)
+                - problem.getDistance(pi, a) - problem.getDistance(a, ni) - problem.getDistance(pj, b) - problem.getDistance(b, nj);
+    }
+
+    // Odwrócenie fragmentu [i, j], 0 <= i < j < n, bez odwracania całej trasy
+    private int proposeInvert() {
+        int i;
+        int j;
+        do {
+            i = random.nextInt(citiesCount);
+            j = random.nextInt(citiesCount);
+            if (i > j) {
+                int temp = i;
+                i = j;
+                j = temp;
+            }
+        } while (j - i < 1 || j - i >= citiesCount - 1);
+        moveI = i;
+        moveJ = j;
+        int before = previous(i);
+        int after = next(j);
+        int delta = distance(before, j) + distance(i, after) - distance(before, i) - distance(j, after);
+        for (int k = i; k < j; k++) {
+            delta += distance(k + 1, k) - distance(k, k + 1);
+        }
+        return delta;
+    }
+
+    // Fragment [i, i + L) przenoszony między miasta na pozycjach j i j + 1 (j poza fragmentem i różne od i - 1)
+    private int proposeInsert() {
+        int n = citiesCount;
+        int segmentLength = 1 + random.nextInt(MAX_INSERT_SEGMENT);
+        int i = random.nextInt(n - segmentLength + 1);
+        int end = i + segmentLength - 1;
+        // Pozycja j losowana spośród n - L - 1 dozwolonych: pomijane są fragment i pozycja tuż przed nim
+        int before = previous(i);
+        int r = random.nextInt(n - segmentLength - 1);
+        int j = i == 0 ? end + 1 + r : (r < i - 1 ? r : r + segmentLength + 1);
+        moveI = i;
+        moveJ = j;
+        moveLength = segmentLength;
+        int p = tour[before];
+        int a = tour[i];
+        int b = tour[end];
+        int after = tour[next(end)];
+        int c = tour[j];
+        int d = tour[next(j)];
+        return problem.getDistance(p, after) + problem.getDistance(c, a) + problem.getDistance(b, d)
+                - problem.getDistance(p, a) - problem.getDistance(b, after) - problem.getDistance(c, d);
+    }
+
+    private void applyInsert() {
+        int i = moveI;
+        int j = moveJ;
+        int segmentLength = moveLength;
+        System.arraycopy(tour, i, segment, 0, segmentLength);
+        if (j > i) {
+            // [fragment][i + L .. j] -> [i + L .. j][fragment]
+            System.arraycopy(tour, i + segmentLength, tour, i, j - i - segmentLength + 1);
+            System.arraycopy(segment, 0, tour, j - segmentLength + 1, segmentLength);
+        } else {
+            // [j + 1 .. i - 1][fragment] -> [fragment][j + 1 .. i - 1]
+            System.arraycopy(tour, j + 1, tour, j + 1 + segmentLength, i - j - 1);
+            System.arraycopy(segment, 0, tour, j + 1, segmentLength);
+        }
+    }
+}
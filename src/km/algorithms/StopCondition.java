@@ -0,0 +1,101 @@
+package km.algorithms;
+
+import km.model.TSPProblem;
+
+// Warunek zatrzymania algorytmu - pierwszy spełniony z podanych limitów kończy działanie
+// Limit 0 (lub brak celu) oznacza, że dane kryterium nie jest sprawdzane. Czas jest sprawdzany także wewnątrz
+// generacji (co kilkadziesiąt potomków), pozostałe kryteria - po każdej generacji
+public class StopCondition {
+    public static final int NO_TARGET = Integer.MIN_VALUE;
+
+    private final long timeLimitNs;
+    private final long maxEvaluations;
+    private final long maxGenerations;
+    private final int targetDistance; // Zatrzymanie po znalezieniu trasy nie dłuższej niż cel
+    private final long noImprovementGenerations;
+    private final int optimalSolution; // Znane optimum (0 - nieznane), używane w raportach i śladzie
+    private final boolean gapTarget; // Cel wyznaczony z dolnego ograniczenia (gapStop), a nie ze znanego optimum
+
+    public StopCondition(long timeLimitMs, long maxEvaluations, long maxGenerations, int targetDistance, long noImprovementGenerations, int optimalSolution) {
+        this(timeLimitMs, maxEvaluations, maxGenerations, targetDistance, noImprovementGenerations, optimalSolution, false);
+    }
+
+    private StopCondition(long timeLimitMs, long maxEvaluations, long maxGenerations, int targetDistance, long noImprovementGenerations, int optimalSolution, boolean gapTarget) {
+        this.timeLimitNs = timeLimitMs * 1_000_000;
+        this.maxEvaluations = maxEvaluations;
+        this.maxGenerations = maxGenerations;
+        this.targetDistance = targetDistance;
+        this.noImprovementGenerations = noImprovementGenerations;
+        this.optimalSolution = optimalSolution;
+        this.gapTarget = gapTarget;
+    }
+
+    // Warunek dla dotychczasowego wywołania solve(optimalSolution): limit czasu z konstruktora algorytmu
+    // i pozostałe limity z konfiguracji; celem jest optimum powiększone o targetError %, jeśli stopAtTarget
+    public static StopCondition fromOptions(long timeLimitMs, AlgorithmOptions options, int optimalSolution) {
+        int target = NO_TARGET;
+        if (options.isStopAtTarget() && optimalSolution > 0) {
+            target = (int) Math.floor(optimalSolution * (1 + options.getTargetError() / 100));
+        }
+        return new StopCondition(timeLimitMs, options.getMaxEvaluations(), options.getMaxGenerations(), target,
+                options.getNoImprovementGenerations(), optimalSolution);
+    }
+
+    // Jak wyżej, a dodatkowo przy gapStop > 0 celem może być dolne ograniczenie instancji (lowerBound) powiększone
+    // o gapStop % - trasa nie dłuższa ma udowodnioną lukę do optimum poniżej progu. Obowiązuje łagodniejszy z celów
+    public static StopCondition fromOptions(long timeLimitMs, AlgorithmOptions options, int optimalSolution, TSPProblem problem) {
+        StopCondition condition = fromOptions(timeLimitMs, options, optimalSolution);
+        if (options.getGapStop() <= 0) {
+            return condition;
+        }
+        long lowerBound = problem.getLowerBound(options.getLowerBound());
+        int target = (int) Math.min(Integer.MAX_VALUE, (long) Math.floor(lowerBound * (1 + options.getGapStop() / 100)));
+        if (target <= condition.targetDistance) {
+            return condition;
+        }
+        return new StopCondition(timeLimitMs, options.getMaxEvaluations(), options.getMaxGenerations(), target,
+                options.getNoImprovementGenerations(), optimalSolution, true);
+    }
+
+    // Chwila (System.nanoTime) upływu limitu czasu dla uruchomienia rozpoczętego w startTimeNano
+    public long getDeadline(long startTimeNano) {
+        return timeLimitNs > 0 ? startTimeNano + timeLimitNs : Long.MAX_VALUE;
+    }
+
+    public int getTargetDistance() {
+        return targetDistance;
+    }
+
+    public int getOptimalSolution() {
+        return optimalSolution;
+    }
+
+    public boolean isTargetReached(int bestDistance) {
+        return targetDistance != NO_TARGET && bestDistance <= targetDistance;
+    }
+
+    // Opis limitów (np. do porównania konfiguracji punktu kontrolnego)
+    String describe() {
+        return timeLimitNs + "|" + maxEvaluations + "|" + maxGenerations + "|" + targetDistance + "|" + noImprovementGenerations;
+    }
+
+    // Powód zatrzymania lub null, jeśli algorytm ma działać dalej - bez alokacji
+    public String reason(long elapsedNs, long generations, long evaluations, int bestDistance, long generationsWithoutImprovement) {
+        if (isTargetReached(bestDistance)) {
+            return gapTarget ? "luka poniżej progu" : "osiągnięto cel";
+        }
+        if (timeLimitNs > 0 && elapsedNs >= timeLimitNs) {
+            return "limit czasu";
+        }
+        if (maxEvaluations > 0 && evaluations >= maxEvaluations) {
+            return "limit ocen";
+        }
+        if (maxGenerations > 0 && generations >= maxGenerations) {
+            return "limit generacji";
+        }
+        if (noImprovementGenerations > 0 && generationsWithoutImprovement >= noImprovementGenerations) {
+            return "brak poprawy";
+        }
+        return null;
+    }
+}
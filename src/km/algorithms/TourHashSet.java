@@ -0,0 +1,52 @@
+package km.algorithms;
+
+import java.util.Arrays;
+
+// Zbiór odcisków tras o ograniczonym rozmiarze, czyszczony w O(1) przez zwiększenie numeru epoki
+// Służy do wykrywania duplikatów w populacji - każdy wątek używa własnej instancji
+final class TourHashSet {
+    private final long[] keys;
+    private final int[] epochs;
+    private final int mask;
+    private int epoch = 1;
+
+    TourHashSet(int maxSize) {
+        int size = Integer.highestOneBit(Math.max(2, maxSize) * 2 - 1) << 1;
+        this.keys = new long[size];
+        this.epochs = new int[size];
+        this.mask = size - 1;
+    }
+
+    void clear() {
+        if (++epoch == Integer.MAX_VALUE) { // Przepełnienie licznika - jednorazowe wyzerowanie znaczników
+            Arrays.fill(epochs, 0);
+            epoch = 1;
+        }
+    }
+
+    boolean contains(long hash) {
+        for (int slot = slot(hash); epochs[slot] == epoch; slot = (slot + 1) & mask) {
+            if (keys[slot] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Dodanie odcisku - zbiór musi mieć miejsce na co najmniej jeden nowy element (maxSize z konstruktora)
+    void add(long hash) {
+        int slot = slot(hash);
+        while (epochs[slot] == epoch) {
+            if (keys[slot] == hash) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        epochs[slot] = epoch;
+        keys[slot] = hash;
+    }
+
+    private int slot(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
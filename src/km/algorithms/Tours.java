@@ -0,0 +1,20 @@
+package km.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Wspólne operacje na trasach zapisanych w tablicach int[], używane przez silniki działające na tablicach
+final class Tours {
+
+    private Tours() {
+    }
+
+    // Konwersja do listy tylko dla wyniku końcowego i słuchacza poprawy
+    static List<Integer> toList(int[] tour) {
+        List<Integer> solution = new ArrayList<>(tour.length);
+        for (int city : tour) {
+            solution.add(city);
+        }
+        return solution;
+    }
+}
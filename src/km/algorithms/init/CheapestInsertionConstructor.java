@@ -0,0 +1,119 @@
+package km.algorithms.init;
+
+import km.model.TSPProblem;
+
+import java.util.random.RandomGenerator;
+
+// Najtańsze wstawianie dla ATSP: zaczynając od cyklu start -> najbliższy sąsiad -> start, w każdym kroku wstawiane
+// jest miasto o najmniejszym koszcie d(u, c) + d(c, v) - d(u, v) w najlepszą krawędź u -> v
+// Dla każdego miasta spoza trasy pamiętana jest jego najlepsza krawędź; po wstawieniu c między u i v wystarczy
+// porównać ją z dwiema nowymi krawędziami, a pełne przeliczenie jest potrzebne tylko miastom, których najlepszą
+// krawędzią była usunięta u -> v. Trasa jest przechowywana jako tablica następników
+public class CheapestInsertionConstructor implements TourConstructor {
+    private final TSPProblem problem;
+    private final int citiesCount;
+    private final int[] next; // Następnik miasta w budowanej trasie
+    private final boolean[] inTour;
+    private final int[] bestFrom; // Początek najlepszej krawędzi do wstawienia miasta
+    private final long[] bestCost;
+    private final int[] outside; // Miasta spoza trasy - pierwsze remaining pozycji
+    private final int[] tourCities; // Miasta trasy w kolejności wstawiania
+
+    public CheapestInsertionConstructor(TSPProblem problem) {
+        this.problem = problem;
+        this.citiesCount = problem.getCitiesCount();
+        this.next = new int[citiesCount];
+        this.inTour = new boolean[citiesCount];
+        this.bestFrom = new int[citiesCount];
+        this.bestCost = new long[citiesCount];
+        this.outside = new int[citiesCount];
+        this.tourCities = new int[citiesCount];
+    }
+
+    @Override
+    public int build(int[] tours, int offset, int start, RandomGenerator random) {
+        int n = citiesCount;
+        if (n < 3) {
+            for (int i = 0; i < n; i++) {
+                tours[offset + i] = (start + i) % n;
+            }
+            return problem.tourLength(tours, offset);
+        }
+
+        int second = -1;
+        for (int city = 0; city < n; city++) {
+            inTour[city] = false;
+            if (city != start && (second < 0 || problem.getDistance(start, city) < problem.getDistance(start, second))) {
+                second = city;
+            }
+        }
+        next[start] = second;
+        next[second] = start;
+        inTour[start] = true;
+        inTour[second] = true;
+        tourCities[0] = start;
+        tourCities[1] = second;
+        int tourSize = 2;
+
+        int remaining = 0;
+        for (int city = 0; city < n; city++) {
+            if (!inTour[city]) {
+                outside[remaining++] = city;
+                recompute(city, tourSize);
+            }
+        }
+
+        while (remaining > 0) {
+            int chosenIndex = 0;
+            for (int k = 1; k < remaining; k++) {
+                if (bestCost[outside[k]] < bestCost[outside[chosenIndex]]) {
+                    chosenIndex = k;
+                }
+            }
+            int c = outside[chosenIndex];
+            outside[chosenIndex] = outside[--remaining];
+            int u = bestFrom[c];
+            int v = next[u];
+            next[u] = c;
+            next[c] = v;
+            inTour[c] = true;
+            tourCities[tourSize++] = c;
+
+            for (int k = 0; k < remaining; k++) {
+                int city = outside[k];
+                if (bestFrom[city] == u) {
+                    recompute(city, tourSize); // Najlepsza krawędź u -> v została usunięta
+                } else {
+                    consider(city, u);
+                    consider(city, c);
+                }
+            }
+        }
+
+        int city = start;
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            tours[offset + i] = city;
+            length += problem.getDistance(city, next[city]);
+            city = next[city];
+        }
+        return length;
+    }
+
+    private void recompute(int city, int tourSize) {
+        bestCost[city] = Long.MAX_VALUE;
+        for (int k = 0; k < tourSize; k++) {
+            consider(city, tourCities[k]);
+        }
+    }
+
+    // Porównanie wstawienia miasta city w krawędź from -> next[from] z dotychczas najlepszym
+    private void consider(int city, int from) {
+        int to = next[from];
+        long cost = (long) problem.getDistance(from, city) + problem.getDistance(city, to) - problem.getDistance(from, to);
+        if (cost < bestCost[city]) {
+            bestCost[city] = cost;
+            bestFrom[city] = from;
+        }
+    }
+}
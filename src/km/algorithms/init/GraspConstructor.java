@@ -0,0 +1,106 @@
+package km.algorithms.init;
+
+import km.model.NeighborLists;
+import km.model.TSPProblem;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Zrandomizowany najbliższy sąsiad (GRASP): kolejne miasto jest losowane z listy kandydatów ograniczonej do
+// nieodwiedzonych miast o odległości nie większej niż dmin + alpha * (dmax - dmin)
+// Kandydaci pochodzą z posortowanych list najbliższych sąsiadów wyznaczonych raz dla instancji, więc krok kosztuje
+// zwykle O(k); pełny przegląd miast następuje tylko, gdy wszyscy sąsiedzi z listy są już odwiedzeni
+// Przy alpha = 0 jest to zwykły algorytm najbliższego sąsiada (ta sama trasa co TSPProblem.copyGreedyTour)
+public class GraspConstructor implements TourConstructor {
+    private final TSPProblem problem;
+    private final NeighborLists neighbors;
+    private final int citiesCount;
+    private final int candidatesCount;
+    private final double alpha;
+    private final int[] visited; // Znaczniki epok odwiedzonych miast
+    private final int[] candidates; // Nieodwiedzeni sąsiedzi bieżącego miasta, rosnąco według odległości
+    private int epoch;
+
+    public GraspConstructor(TSPProblem problem, int candidatesCount, double alpha) {
+        this.problem = problem;
+        this.neighbors = problem.getNeighborLists(candidatesCount);
+        this.citiesCount = problem.getCitiesCount();
+        this.candidatesCount = Math.min(candidatesCount, neighbors.size());
+        this.alpha = Math.max(0.0, Math.min(1.0, alpha));
+        this.visited = new int[citiesCount];
+        this.candidates = new int[Math.max(1, this.candidatesCount)];
+    }
+
+    @Override
+    public int build(int[] tours, int offset, int start, RandomGenerator random) {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            epoch = 1;
+        }
+        int current = start;
+        tours[offset] = current;
+        visited[current] = epoch;
+        int length = 0;
+        for (int step = 1; step < citiesCount; step++) {
+            int next = choose(current, random);
+            tours[offset + step] = next;
+            visited[next] = epoch;
+            length += problem.getDistance(current, next);
+            current = next;
+        }
+        return length + problem.getDistance(current, start);
+    }
+
+    private int choose(int current, RandomGenerator random) {
+        int count = 0;
+        for (int r = 0; r < candidatesCount; r++) {
+            int city = neighbors.outgoing(current, r);
+            if (visited[city] != epoch) {
+                candidates[count++] = city;
+            }
+        }
+        if (count > 0) {
+            if (alpha == 0.0 || count == 1) {
+                return candidates[0];
+            }
+            // Lista jest posortowana, więc kandydaci spełniający próg tworzą jej początek
+            int min = problem.getDistance(current, candidates[0]);
+            double threshold = min + alpha * (problem.getDistance(current, candidates[count - 1]) - min);
+            int restricted = 1;
+            while (restricted < count && problem.getDistance(current, candidates[restricted]) <= threshold) {
+                restricted++;
+            }
+            return candidates[random.nextInt(restricted)];
+        }
+        return chooseFromAll(current, random);
+    }
+
+    // Wszyscy sąsiedzi z listy odwiedzeni - dwa przebiegi po wszystkich miastach
+    private int chooseFromAll(int current, RandomGenerator random) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        int nearest = -1;
+        for (int city = 0; city < citiesCount; city++) {
+            if (visited[city] != epoch) {
+                int distance = problem.getDistance(current, city);
+                if (distance < min) {
+                    min = distance;
+                    nearest = city;
+                }
+                max = Math.max(max, distance);
+            }
+        }
+        if (alpha == 0.0 || min == max) {
+            return nearest;
+        }
+        double threshold = min + alpha * ((double) max - min);
+        int chosen = nearest;
+        int seen = 0;
+        for (int city = 0; city < citiesCount; city++) {
+            if (visited[city] != epoch && problem.getDistance(current, city) <= threshold && random.nextInt(++seen) == 0) {
+                chosen = city; // Losowanie równomierne bez bufora (reservoir sampling)
+            }
+        }
+        return chosen;
+    }
+}
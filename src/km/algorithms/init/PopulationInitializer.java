@@ -0,0 +1,184 @@
+package km.algorithms.init;
+
+import km.algorithms.AlgorithmOptions;
+import km.model.TSPProblem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// Budowa populacji początkowej w płaskiej tablicy int[] z mieszanki heurystyk podanej w initMix
+// (np. "greedy:0.6,grasp:0.3,random:0.1"): liczby tras poszczególnych heurystyk wynikają z udziałów
+// (metoda największych reszt), a kolejne trasy populacji są przypisane heurystykom w kolejności z initMix
+// Miasta startowe są kolejnymi elementami losowej permutacji miast, więc trasy najbliższego sąsiada
+// (greedy) nie powtarzają się, dopóki populacja nie jest większa od liczby miast
+// Trasy mogą być budowane równolegle przez threads wątków - każdy z własnymi buforami heurystyk; każda trasa
+// ma własne ziarno wylosowane z generatora algorytmu, więc przy podanym seed wynik nie zależy od liczby wątków
+public class PopulationInitializer {
+    private final TSPProblem problem;
+    private final int citiesCount;
+    private final int threads;
+    private final String[] methods; // Heurystyki z initMix
+    private final double[] shares; // Udziały heurystyk (suma 1)
+    private final int candidatesCount;
+    private final double graspAlpha;
+
+    public PopulationInitializer(TSPProblem problem, AlgorithmOptions options) {
+        this.problem = problem;
+        this.citiesCount = problem.getCitiesCount();
+        this.threads = Math.max(1, options.getThreads());
+        this.candidatesCount = Math.max(1, options.getInitCandidates());
+        this.graspAlpha = options.getInitGraspAlpha();
+
+        String[] parts = options.getInitMix().split(",");
+        this.methods = new String[parts.length];
+        this.shares = new double[parts.length];
+        double total = 0;
+        for (int k = 0; k < parts.length; k++) {
+            String[] pair = parts[k].trim().split(":");
+            methods[k] = pair[0].trim();
+            shares[k] = pair.length > 1 ? Double.parseDouble(pair[1].trim()) : 1.0;
+            if (shares[k] < 0) {
+                throw new IllegalArgumentException("Ujemny udział metody inicjalizacji: " + parts[k]);
+            }
+            total += shares[k];
+            createConstructor(methods[k]); // Wczesne wykrycie nieznanej nazwy
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Niepoprawny skład populacji początkowej: " + options.getInitMix());
+        }
+        for (int k = 0; k < shares.length; k++) {
+            shares[k] /= total;
+        }
+    }
+
+    // Heurystyka o podanej nazwie - nowa instancja z własnymi buforami
+    public TourConstructor createConstructor(String method) {
+        if ("greedy".equalsIgnoreCase(method)) {
+            return new GraspConstructor(problem, candidatesCount, 0.0);
+        } else if ("grasp".equalsIgnoreCase(method)) {
+            return new GraspConstructor(problem, candidatesCount, graspAlpha);
+        } else if ("insertion".equalsIgnoreCase(method)) {
+            return new CheapestInsertionConstructor(problem);
+        } else if ("random".equalsIgnoreCase(method)) {
+            return new RandomKeysConstructor(problem);
+        }
+        throw new IllegalArgumentException("Nieznana metoda inicjalizacji: " + method);
+    }
+
+    // Wypełnia tours[0, count * n) trasami początkowymi i lengths[0, count) ich długościami
+    public void initialize(int[] tours, int[] lengths, int count, RandomGenerator random) {
+        int[] assignment = assign(count);
+        int[] starts = startCities(count, random);
+
+        long[] seeds = new long[count];
+        for (int i = 0; i < count; i++) {
+            seeds[i] = random.nextLong();
+        }
+
+        int workers = Math.min(threads, Math.max(1, count));
+        if (workers == 1) {
+            build(tours, lengths, assignment, starts, seeds, 0, count);
+            return;
+        }
+
+        List<Thread> threadsList = new ArrayList<>(workers);
+        RuntimeException[] failure = new RuntimeException[1];
+        for (int t = 0; t < workers; t++) {
+            int from = t * count / workers;
+            int to = (t + 1) * count / workers;
+            Thread thread = new Thread(() -> {
+                try {
+                    build(tours, lengths, assignment, starts, seeds, from, to);
+                } catch (RuntimeException e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                }
+            }, "init-worker-" + t);
+            thread.setDaemon(true);
+            thread.start();
+            threadsList.add(thread);
+        }
+        try {
+            for (Thread thread : threadsList) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Przerwano budowę populacji początkowej", e);
+        }
+        synchronized (failure) {
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        }
+    }
+
+    private void build(int[] tours, int[] lengths, int[] assignment, int[] starts, long[] seeds, int from, int to) {
+        TourConstructor[] constructors = new TourConstructor[methods.length];
+        for (int i = from; i < to; i++) {
+            int method = assignment[i];
+            if (constructors[method] == null) {
+                constructors[method] = createConstructor(methods[method]);
+            }
+            lengths[i] = constructors[method].build(tours, i * citiesCount, starts[i], new SplittableRandom(seeds[i]));
+        }
+    }
+
+    // Indeks heurystyki dla każdej trasy - liczby tras według udziałów, zaokrąglone metodą największych reszt
+    private int[] assign(int count) {
+        int[] counts = new int[methods.length];
+        double[] remainders = new double[methods.length];
+        int assigned = 0;
+        for (int k = 0; k < methods.length; k++) {
+            double exact = shares[k] * count;
+            counts[k] = (int) Math.floor(exact);
+            remainders[k] = exact - counts[k];
+            assigned += counts[k];
+        }
+        while (assigned < count) {
+            int largest = 0;
+            for (int k = 1; k < methods.length; k++) {
+                if (remainders[k] > remainders[largest]) {
+                    largest = k;
+                }
+            }
+            counts[largest]++;
+            remainders[largest] = -1;
+            assigned++;
+        }
+
+        int[] assignment = new int[count];
+        int i = 0;
+        for (int k = 0; k < methods.length; k++) {
+            for (int c = 0; c < counts[k]; c++) {
+                assignment[i++] = k;
+            }
+        }
+        return assignment;
+    }
+
+    // Miasta startowe - kolejne permutacje wszystkich miast (Fisher-Yates), bez powtórzeń w obrębie permutacji
+    private int[] startCities(int count, RandomGenerator random) {
+        int[] starts = new int[count];
+        int[] permutation = new int[citiesCount];
+        for (int city = 0; city < citiesCount; city++) {
+            permutation[city] = city;
+        }
+        for (int i = 0; i < count; i++) {
+            int k = i % citiesCount;
+            if (k == 0) {
+                for (int j = citiesCount - 1; j > 0; j--) {
+                    int swap = random.nextInt(j + 1);
+                    int temp = permutation[j];
+                    permutation[j] = permutation[swap];
+                    permutation[swap] = temp;
+                }
+            }
+            starts[i] = permutation[k];
+        }
+        return starts;
+    }
+}
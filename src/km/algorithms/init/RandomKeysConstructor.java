@@ -0,0 +1,33 @@
+package km.algorithms.init;
+
+import km.model.TSPProblem;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Trasa losowa z kodowania kluczami losowymi: każde miasto dostaje losowy klucz, a kolejność miast wynika
+// z posortowania kluczy. Klucz (32 bity) i numer miasta są pakowane w jeden long, więc sortowana jest
+// tablica prymitywna bez obiektów pośrednich. Miasto start jest pomijane - trasa jest w pełni losowa
+public class RandomKeysConstructor implements TourConstructor {
+    private final TSPProblem problem;
+    private final int citiesCount;
+    private final long[] keys;
+
+    public RandomKeysConstructor(TSPProblem problem) {
+        this.problem = problem;
+        this.citiesCount = problem.getCitiesCount();
+        this.keys = new long[citiesCount];
+    }
+
+    @Override
+    public int build(int[] tours, int offset, int start, RandomGenerator random) {
+        for (int city = 0; city < citiesCount; city++) {
+            keys[city] = (long) random.nextInt() << 32 | city;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < citiesCount; i++) {
+            tours[offset + i] = (int) keys[i];
+        }
+        return problem.tourLength(tours, offset);
+    }
+}
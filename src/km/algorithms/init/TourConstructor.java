@@ -0,0 +1,10 @@
+package km.algorithms.init;
+
+import java.util.random.RandomGenerator;
+
+// Heurystyka budująca trasę początkową w płaskiej tablicy int[] od pozycji offset
+// start - miasto początkowe wskazane przez PopulationInitializer (heurystyki losowe mogą je pominąć)
+// Zwraca długość zbudowanej trasy; instancja ma własne bufory, więc jest używana przez jeden wątek
+public interface TourConstructor {
+    int build(int[] tours, int offset, int start, RandomGenerator random);
+}
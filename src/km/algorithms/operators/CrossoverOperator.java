@@ -0,0 +1,9 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Operator krzyżowania działający na trasach zapisanych w płaskich tablicach int[]
+// Implementacje przechowują własne bufory pomocnicze, więc jedna instancja nie może być używana przez kilka wątków naraz
+public interface CrossoverOperator {
+    void crossover(int[] parents, int parent1, int parent2, int[] child, int childOffset, RandomGenerator random);
+}
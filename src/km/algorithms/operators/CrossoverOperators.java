@@ -0,0 +1,21 @@
+package km.algorithms.operators;
+
+public final class CrossoverOperators {
+
+    private CrossoverOperators() {
+    }
+
+    // Tworzenie operatora krzyżowania na podstawie nazwy z pliku konfiguracyjnego
+    public static CrossoverOperator create(String method, int citiesCount) {
+        if ("ox".equalsIgnoreCase(method)) {
+            return new OrderCrossover(citiesCount);
+        } else if ("pmx".equalsIgnoreCase(method)) {
+            return new PartiallyMappedCrossover(citiesCount);
+        } else if ("cx".equalsIgnoreCase(method)) {
+            return new CycleCrossover(citiesCount);
+        } else if ("erx".equalsIgnoreCase(method)) {
+            return new EdgeRecombinationCrossover(citiesCount);
+        }
+        throw new IllegalArgumentException("Nieznana metoda krzyżowania: " + method);
+    }
+}
@@ -0,0 +1,39 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Krzyżowanie CX (Cycle Crossover) - kolejne cykle pozycji dziedziczone naprzemiennie od obu rodziców
+public class CycleCrossover implements CrossoverOperator {
+    private final int citiesCount;
+    private final int[] positionInParent1; // Indeks miasta w pierwszym rodzicu
+    private final EpochMarker visited; // Pozycje należące do już przetworzonych cykli
+
+    public CycleCrossover(int citiesCount) {
+        this.citiesCount = citiesCount;
+        this.positionInParent1 = new int[citiesCount];
+        this.visited = new EpochMarker(citiesCount);
+    }
+
+    @Override
+    public void crossover(int[] parents, int parent1, int parent2, int[] child, int childOffset, RandomGenerator random) {
+        visited.clear();
+        for (int i = 0; i < citiesCount; i++) {
+            positionInParent1[parents[parent1 + i]] = i;
+        }
+
+        boolean fromParent1 = random.nextBoolean(); // Losowy wybór rodzica dla pierwszego cyklu
+        for (int start = 0; start < citiesCount; start++) {
+            if (visited.isMarked(start)) {
+                continue;
+            }
+            int source = fromParent1 ? parent1 : parent2;
+            int position = start;
+            do {
+                visited.mark(position);
+                child[childOffset + position] = parents[source + position];
+                position = positionInParent1[parents[parent2 + position]];
+            } while (position != start);
+            fromParent1 = !fromParent1;
+        }
+    }
+}
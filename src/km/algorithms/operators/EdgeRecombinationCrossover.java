@@ -0,0 +1,110 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Krzyżowanie ERX (Edge Recombination Crossover) w czasie O(n)
+// Każde miasto ma co najwyżej 4 sąsiadów (poprzednik i następnik w obu rodzicach)
+public class EdgeRecombinationCrossover implements CrossoverOperator {
+    private static final int MAX_NEIGHBORS = 4;
+
+    private final int citiesCount;
+    private final int[] neighbors; // Listy sąsiedztwa, MAX_NEIGHBORS pozycji na miasto
+    private final int[] neighborCounts;
+    private final int[] unvisited; // Nieodwiedzone miasta (usuwanie przez zamianę z ostatnim)
+    private final int[] unvisitedIndex; // Pozycja miasta w tablicy unvisited
+    private final int[] candidates; // Bufor remisów przy wyborze kolejnego miasta
+
+    public EdgeRecombinationCrossover(int citiesCount) {
+        this.citiesCount = citiesCount;
+        this.neighbors = new int[citiesCount * MAX_NEIGHBORS];
+        this.neighborCounts = new int[citiesCount];
+        this.unvisited = new int[citiesCount];
+        this.unvisitedIndex = new int[citiesCount];
+        this.candidates = new int[MAX_NEIGHBORS];
+    }
+
+    @Override
+    public void crossover(int[] parents, int parent1, int parent2, int[] child, int childOffset, RandomGenerator random) {
+        for (int i = 0; i < citiesCount; i++) {
+            neighborCounts[i] = 0;
+            unvisited[i] = i;
+            unvisitedIndex[i] = i;
+        }
+        addEdges(parents, parent1);
+        addEdges(parents, parent2);
+
+        int unvisitedCount = citiesCount;
+        int city = parents[parent1 + random.nextInt(citiesCount)];
+        for (int i = 0; i < citiesCount; i++) {
+            child[childOffset + i] = city;
+
+            // Usunięcie miasta ze zbioru nieodwiedzonych i z list sąsiedztwa
+            int last = unvisited[--unvisitedCount];
+            int index = unvisitedIndex[city];
+            unvisited[index] = last;
+            unvisitedIndex[last] = index;
+            int base = city * MAX_NEIGHBORS;
+            for (int k = 0; k < neighborCounts[city]; k++) {
+                removeNeighbor(neighbors[base + k], city);
+            }
+
+            if (unvisitedCount == 0) {
+                break;
+            }
+
+            // Wybór sąsiada z najkrótszą listą sąsiedztwa, remisy rozstrzygane losowo
+            int candidatesCount = 0;
+            int fewest = Integer.MAX_VALUE;
+            for (int k = 0; k < neighborCounts[city]; k++) {
+                int next = neighbors[base + k];
+                int count = neighborCounts[next];
+                if (count < fewest) {
+                    fewest = count;
+                    candidatesCount = 0;
+                }
+                if (count == fewest) {
+                    candidates[candidatesCount++] = next;
+                }
+            }
+
+            if (candidatesCount > 0) {
+                city = candidates[random.nextInt(candidatesCount)];
+            } else {
+                city = unvisited[random.nextInt(unvisitedCount)]; // Brak sąsiadów - losowe nieodwiedzone miasto
+            }
+        }
+    }
+
+    private void addEdges(int[] parents, int offset) {
+        for (int i = 0; i < citiesCount; i++) {
+            int city = parents[offset + i];
+            int next = parents[offset + (i + 1 == citiesCount ? 0 : i + 1)];
+            addNeighbor(city, next);
+            addNeighbor(next, city);
+        }
+    }
+
+    private void addNeighbor(int city, int neighbor) {
+        int base = city * MAX_NEIGHBORS;
+        int count = neighborCounts[city];
+        for (int k = 0; k < count; k++) {
+            if (neighbors[base + k] == neighbor) {
+                return; // Krawędź wspólna dla obu rodziców
+            }
+        }
+        neighbors[base + count] = neighbor;
+        neighborCounts[city] = count + 1;
+    }
+
+    private void removeNeighbor(int city, int neighbor) {
+        int base = city * MAX_NEIGHBORS;
+        int count = neighborCounts[city];
+        for (int k = 0; k < count; k++) {
+            if (neighbors[base + k] == neighbor) {
+                neighbors[base + k] = neighbors[base + count - 1];
+                neighborCounts[city] = count - 1;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package km.algorithms.operators;
+
+import java.util.Arrays;
+
+// Zbiór oznaczonych miast czyszczony w O(1) przez zwiększenie numeru epoki
+// Element jest oznaczony, jeśli jego znacznik jest równy bieżącej epoce
+final class EpochMarker {
+    private final int[] stamps;
+    private int epoch;
+
+    EpochMarker(int size) {
+        this.stamps = new int[size];
+    }
+
+    void clear() {
+        if (++epoch == Integer.MAX_VALUE) { // Przepełnienie licznika - jednorazowe wyzerowanie tablicy
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    void mark(int index) {
+        stamps[index] = epoch;
+    }
+
+    boolean isMarked(int index) {
+        return stamps[index] == epoch;
+    }
+}
@@ -0,0 +1,91 @@
+package km.algorithms.operators;
+
+import km.model.TSPProblem;
+
+import java.util.random.RandomGenerator;
+
+// Odwrócenie fragmentu trasy z aktualizacją długości w czasie proporcjonalnym do długości fragmentu
+// W ATSP odwrócenie zmienia kierunek krawędzi wewnątrz fragmentu, dlatego w tym samym przebiegu
+// sumowane są wagi krawędzi w kierunku pierwotnym i przeciwnym (oraz, gdy hashing, ich skróty do odcisku trasy)
+public class InvertMutation implements MutationOperator {
+    private final TSPProblem problem;
+    private final int citiesCount;
+    private final boolean hashing;
+    private long hashDelta;
+
+    public InvertMutation(TSPProblem problem) {
+        this(problem, false);
+    }
+
+    public InvertMutation(TSPProblem problem, boolean hashing) {
+        this.problem = problem;
+        this.citiesCount = problem.getCitiesCount();
+        this.hashing = hashing;
+    }
+
+    @Override
+    public int mutate(int[] tours, int offset, int length, RandomGenerator random) {
+        int i = random.nextInt(citiesCount);
+        int j = random.nextInt(citiesCount);
+        if (i > j) {
+            int temp = i;
+            i = j;
+            j = temp;
+        }
+        hashDelta = 0;
+        if (i == j) {
+            return length;
+        }
+
+        // Krawędzie łączące fragment z resztą trasy (przy odwróceniu całej trasy jest to ta sama krawędź)
+        int before = i == 0 ? citiesCount - 1 : i - 1;
+        int after = j == citiesCount - 1 ? 0 : j + 1;
+        boolean sharedEdge = before == j;
+        int outerBefore = problem.getDistance(tours[offset + before], tours[offset + i]);
+        if (!sharedEdge) {
+            outerBefore += problem.getDistance(tours[offset + j], tours[offset + after]);
+        }
+
+        int forward = 0;
+        int backward = 0;
+        if (hashing) {
+            hashDelta = -outerHash(tours, offset, before, i, j, after, sharedEdge);
+        }
+        for (int k = offset + i; k < offset + j; k++) {
+            forward += problem.getDistance(tours[k], tours[k + 1]);
+            backward += problem.getDistance(tours[k + 1], tours[k]);
+            if (hashing) {
+                hashDelta += TourHashes.edge(tours[k + 1], tours[k]) - TourHashes.edge(tours[k], tours[k + 1]);
+            }
+        }
+
+        for (int left = offset + i, right = offset + j; left < right; left++, right--) {
+            int temp = tours[left];
+            tours[left] = tours[right];
+            tours[right] = temp;
+        }
+
+        int outerAfter = problem.getDistance(tours[offset + before], tours[offset + i]);
+        if (!sharedEdge) {
+            outerAfter += problem.getDistance(tours[offset + j], tours[offset + after]);
+        }
+
+        if (hashing) {
+            hashDelta += outerHash(tours, offset, before, i, j, after, sharedEdge);
+        }
+        return length - outerBefore - forward + outerAfter + backward;
+    }
+
+    @Override
+    public long getHashDelta() {
+        return hashDelta;
+    }
+
+    private long outerHash(int[] tours, int offset, int before, int i, int j, int after, boolean sharedEdge) {
+        long hash = TourHashes.edge(tours[offset + before], tours[offset + i]);
+        if (!sharedEdge) {
+            hash += TourHashes.edge(tours[offset + j], tours[offset + after]);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,33 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Selekcja rankingowa liniowa z naciskiem selekcyjnym pressure z przedziału [1, 2]
+// Zamiast sortowania populacji używany jest turniej dwóch osobników, w którym lepszy wygrywa
+// z prawdopodobieństwem pressure / 2 - wartość oczekiwana liczby wyborów osobnika jest wtedy
+// liniową funkcją jego rangi, tak jak w klasycznej selekcji rankingowej
+public class LinearRankSelection implements SelectionOperator {
+    private final int populationSize;
+    private final double winProbability;
+
+    public LinearRankSelection(int populationSize, double pressure) {
+        if (pressure < 1.0 || pressure > 2.0) {
+            throw new IllegalArgumentException("Nacisk selekcyjny musi należeć do przedziału [1, 2]: " + pressure);
+        }
+        this.populationSize = populationSize;
+        this.winProbability = pressure / 2;
+    }
+
+    @Override
+    public void prepare(int[] fitness, RandomGenerator random) {
+    }
+
+    @Override
+    public int select(int[] fitness, int slot, RandomGenerator random) {
+        int first = random.nextInt(populationSize);
+        int second = random.nextInt(populationSize);
+        int better = fitness[first] <= fitness[second] ? first : second;
+        int worse = better == first ? second : first;
+        return random.nextDouble() < winProbability ? better : worse;
+    }
+}
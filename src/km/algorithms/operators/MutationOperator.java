@@ -0,0 +1,12 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Operator mutacji działający na trasie zapisanej w płaskiej tablicy int[]
+// Zwraca nową długość trasy wyliczoną przyrostowo na podstawie długości przed mutacją
+// Zmiana odcisku trasy (TourHashes) w ostatnim wywołaniu jest dostępna przez getHashDelta
+public interface MutationOperator {
+    int mutate(int[] tours, int offset, int length, RandomGenerator random);
+
+    long getHashDelta();
+}
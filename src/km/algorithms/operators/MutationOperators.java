@@ -0,0 +1,24 @@
+package km.algorithms.operators;
+
+import km.model.TSPProblem;
+
+public final class MutationOperators {
+
+    private MutationOperators() {
+    }
+
+    // Tworzenie operatora mutacji na podstawie nazwy z pliku konfiguracyjnego
+    public static MutationOperator create(String method, TSPProblem problem) {
+        return create(method, problem, false);
+    }
+
+    // hashing - czy operator ma wyznaczać zmianę odcisku trasy, gdy wymaga to dodatkowej pracy
+    public static MutationOperator create(String method, TSPProblem problem, boolean hashing) {
+        if ("swap".equalsIgnoreCase(method)) {
+            return new SwapMutation(problem);
+        } else if ("invert".equalsIgnoreCase(method)) {
+            return new InvertMutation(problem, hashing);
+        }
+        throw new IllegalArgumentException("Nieznana metoda mutacji: " + method);
+    }
+}
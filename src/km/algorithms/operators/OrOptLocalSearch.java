@@ -0,0 +1,181 @@
+package km.algorithms.operators;
+
+import km.model.NeighborLists;
+import km.model.TSPProblem;
+
+import java.util.random.RandomGenerator;
+
+// Ograniczone przeszukiwanie lokalne przenoszące fragment trasy w inne miejsce bez zmiany jego kierunku
+// Fragmenty do 3 miast to klasyczny Or-opt, dłuższe - ruch 3-opt "segment insertion"; żaden ruch nie odwraca
+// krawędzi, więc jest poprawny dla ATSP. Miejsca wstawienia fragmentu a..b pochodzą z list najbliższych sąsiadów:
+// poprzednikiem może zostać miasto bliskie a (lista incoming), następnikiem miasto bliskie b (lista outgoing)
+// Każdy ruch wymienia trzy krawędzie, więc zmiana odcisku trasy (TourHashes) jest sumowana razem z długością
+public class OrOptLocalSearch {
+    private final TSPProblem problem;
+    private final NeighborLists neighbors;
+    private final int citiesCount;
+    private final int neighborsCount;
+    private final int maxSegment;
+    private final int[] position; // Pozycja miasta w przeszukiwanej trasie
+    private final int[] segment; // Bufor przenoszonego fragmentu
+    private long hashDelta; // Zmiana odcisku trasy w ostatnim wywołaniu improve
+
+    public OrOptLocalSearch(TSPProblem problem, int neighborsCount, int maxSegment) {
+        this.problem = problem;
+        this.neighbors = problem.getNeighborLists(neighborsCount);
+        this.citiesCount = problem.getCitiesCount();
+        this.neighborsCount = Math.min(neighborsCount, neighbors.size());
+        this.maxSegment = Math.max(1, Math.min(maxSegment, citiesCount - 3));
+        this.position = new int[citiesCount];
+        this.segment = new int[this.maxSegment];
+    }
+
+    // Poprawia trasę zapisaną od pozycji offset, wykonując co najwyżej maxMoves ruchów poprawiających
+    // Zwraca nową długość trasy wyliczoną przyrostowo
+    public int improve(int[] tours, int offset, int length, int maxMoves, RandomGenerator random) {
+        if (citiesCount < 5) {
+            return length;
+        }
+        for (int i = 0; i < citiesCount; i++) {
+            position[tours[offset + i]] = i;
+        }
+
+        hashDelta = 0;
+        int moves = 0;
+        int start = random.nextInt(citiesCount);
+        int unchanged = 0; // Liczba kolejnych pozycji bez poprawy - pełny obieg kończy przeszukiwanie
+        int s = start;
+        while (unchanged < citiesCount && moves < maxMoves) {
+            int delta = improveAt(tours, offset, s);
+            if (delta < 0) {
+                length += delta;
+                moves++;
+                unchanged = 0;
+            } else {
+                unchanged++;
+                s = s + 1 == citiesCount ? 0 : s + 1;
+            }
+        }
+        return length;
+    }
+
+    // Próba przeniesienia fragmentu zaczynającego się na pozycji s; zwraca zmianę długości (0, jeśli brak ruchu)
+    private int improveAt(int[] tours, int offset, int s) {
+        int n = citiesCount;
+        int a = tours[offset + s];
+        int p = tours[offset + (s == 0 ? n - 1 : s - 1)];
+
+        for (int length = 1; length <= maxSegment; length++) {
+            int e = (s + length - 1) % n;
+            int b = tours[offset + e];
+            int next = tours[offset + (e + 1) % n];
+            int removeGain = problem.getDistance(p, a) + problem.getDistance(b, next) - problem.getDistance(p, next);
+            if (removeGain <= 0) {
+                continue;
+            }
+
+            // Poprzednik fragmentu bliski miastu a
+            for (int r = 0; r < neighborsCount; r++) {
+                int c = neighbors.incoming(a, r);
+                int toA = problem.getDistance(c, a);
+                if (toA >= removeGain) {
+                    break;
+                }
+                int gap = position[c];
+                if (gap == (s == 0 ? n - 1 : s - 1) || inSegment(gap, s, length)) {
+                    continue;
+                }
+                int d = tours[offset + (gap + 1) % n];
+                int delta = toA + problem.getDistance(b, d) - problem.getDistance(c, d) - removeGain;
+                if (delta < 0) {
+                    hashDelta += moveHash(p, a, b, next, c, d);
+                    move(tours, offset, s, length, gap);
+                    return delta;
+                }
+            }
+
+            // Następnik fragmentu bliski miastu b
+            for (int r = 0; r < neighborsCount; r++) {
+                int d = neighbors.outgoing(b, r);
+                int fromB = problem.getDistance(b, d);
+                if (fromB >= removeGain) {
+                    break;
+                }
+                int gap = position[d] == 0 ? n - 1 : position[d] - 1;
+                if (gap == (s == 0 ? n - 1 : s - 1) || inSegment(gap, s, length) || inSegment(position[d], s, length)) {
+                    continue;
+                }
+                int c = tours[offset + gap];
+                int delta = problem.getDistance(c, a) + fromB - problem.getDistance(c, d) - removeGain;
+                if (delta < 0) {
+                    hashDelta += moveHash(p, a, b, next, c, d);
+                    move(tours, offset, s, length, gap);
+                    return delta;
+                }
+            }
+        }
+        return 0;
+    }
+
+    public long getHashDelta() {
+        return hashDelta;
+    }
+
+    // Fragment a..b między p i next trafia między c i d
+    private static long moveHash(int p, int a, int b, int next, int c, int d) {
+        return TourHashes.edge(p, next) + TourHashes.edge(c, a) + TourHashes.edge(b, d)
+                - TourHashes.edge(p, a) - TourHashes.edge(b, next) - TourHashes.edge(c, d);
+    }
+
+    private boolean inSegment(int index, int s, int length) {
+        int distance = index - s;
+        if (distance < 0) {
+            distance += citiesCount;
+        }
+        return distance < length;
+    }
+
+    // Przeniesienie fragmentu [s, s + length) za miasto na pozycji gap (indeksy cykliczne)
+    // Przesuwana jest krótsza z dwóch części trasy leżących między fragmentem a miejscem wstawienia
+    private void move(int[] tours, int offset, int s, int length, int gap) {
+        int n = citiesCount;
+        int e = (s + length - 1) % n;
+        int forward = gap - e; // Miasta między końcem fragmentu a miejscem wstawienia
+        if (forward < 0) {
+            forward += n;
+        }
+        int backward = n - length - forward;
+
+        for (int k = 0; k < length; k++) {
+            segment[k] = tours[offset + (s + k) % n];
+        }
+
+        if (forward <= backward) {
+            // [fragment][środek] -> [środek][fragment], początek na pozycji s
+            for (int k = 0; k < forward; k++) {
+                int city = tours[offset + (e + 1 + k) % n];
+                int target = (s + k) % n;
+                tours[offset + target] = city;
+                position[city] = target;
+            }
+            for (int k = 0; k < length; k++) {
+                int target = (s + forward + k) % n;
+                tours[offset + target] = segment[k];
+                position[segment[k]] = target;
+            }
+        } else {
+            // [środek][fragment] -> [fragment][środek], środek zaczyna się za pozycją gap
+            for (int k = backward - 1; k >= 0; k--) {
+                int city = tours[offset + (gap + 1 + k) % n];
+                int target = (gap + 1 + length + k) % n;
+                tours[offset + target] = city;
+                position[city] = target;
+            }
+            for (int k = 0; k < length; k++) {
+                int target = (gap + 1 + k) % n;
+                tours[offset + target] = segment[k];
+                position[segment[k]] = target;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Krzyżowanie OX (Order Crossover) w czasie O(n) bez alokacji
+public class OrderCrossover implements CrossoverOperator {
+    private final int citiesCount;
+    private final EpochMarker placed; // Miasta już umieszczone w potomku
+
+    public OrderCrossover(int citiesCount) {
+        this.citiesCount = citiesCount;
+        this.placed = new EpochMarker(citiesCount);
+    }
+
+    @Override
+    public void crossover(int[] parents, int parent1, int parent2, int[] child, int childOffset, RandomGenerator random) {
+        int start = random.nextInt(citiesCount);
+        int end = random.nextInt(citiesCount);
+        if (start > end) {
+            int temp = start;
+            start = end;
+            end = temp;
+        }
+
+        placed.clear();
+        for (int i = start; i <= end; i++) {
+            int city = parents[parent1 + i];
+            child[childOffset + i] = city; // Skopiowanie fragmentu od pierwszego rodzica
+            placed.mark(city);
+        }
+
+        int currentIndex = 0;
+        for (int i = 0; i < citiesCount; i++) {
+            int city = parents[parent2 + i];
+            if (!placed.isMarked(city)) {
+                if (currentIndex == start) { // Pominięcie skopiowanego fragmentu
+                    currentIndex = end + 1;
+                }
+                child[childOffset + currentIndex++] = city; // Pozostałe miasta w kolejności z drugiego rodzica
+            }
+        }
+    }
+}
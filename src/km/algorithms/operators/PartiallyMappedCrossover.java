@@ -0,0 +1,64 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Krzyżowanie PMX (Partially Mapped Crossover) w czasie O(n)
+public class PartiallyMappedCrossover implements CrossoverOperator {
+    private final int citiesCount;
+    private final int[] positionInParent2; // Indeks miasta w drugim rodzicu
+    private final EpochMarker placed; // Miasta już umieszczone w potomku
+    private final EpochMarker filled; // Zajęte pozycje potomka
+
+    public PartiallyMappedCrossover(int citiesCount) {
+        this.citiesCount = citiesCount;
+        this.positionInParent2 = new int[citiesCount];
+        this.placed = new EpochMarker(citiesCount);
+        this.filled = new EpochMarker(citiesCount);
+    }
+
+    @Override
+    public void crossover(int[] parents, int parent1, int parent2, int[] child, int childOffset, RandomGenerator random) {
+        int start = random.nextInt(citiesCount);
+        int end = random.nextInt(citiesCount);
+        if (start > end) {
+            int temp = start;
+            start = end;
+            end = temp;
+        }
+
+        placed.clear();
+        filled.clear();
+        for (int i = 0; i < citiesCount; i++) {
+            positionInParent2[parents[parent2 + i]] = i;
+        }
+
+        for (int i = start; i <= end; i++) {
+            int city = parents[parent1 + i];
+            child[childOffset + i] = city; // Skopiowanie fragmentu od pierwszego rodzica
+            placed.mark(city);
+            filled.mark(i);
+        }
+
+        // Miasta z fragmentu drugiego rodzica trafiają na pozycje wyznaczone przez odwzorowanie
+        for (int i = start; i <= end; i++) {
+            int city = parents[parent2 + i];
+            if (placed.isMarked(city)) {
+                continue;
+            }
+            int position = i;
+            do {
+                position = positionInParent2[parents[parent1 + position]];
+            } while (position >= start && position <= end);
+            child[childOffset + position] = city;
+            placed.mark(city);
+            filled.mark(position);
+        }
+
+        // Pozostałe pozycje wypełniane bezpośrednio z drugiego rodzica
+        for (int i = 0; i < citiesCount; i++) {
+            if (!filled.isMarked(i)) {
+                child[childOffset + i] = parents[parent2 + i];
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Losowy wybór rodzica bez względu na długość trasy
+public class RandomSelection implements SelectionOperator {
+    private final int populationSize;
+
+    public RandomSelection(int populationSize) {
+        this.populationSize = populationSize;
+    }
+
+    @Override
+    public void prepare(int[] fitness, RandomGenerator random) {
+    }
+
+    @Override
+    public int select(int[] fitness, int slot, RandomGenerator random) {
+        return random.nextInt(populationSize);
+    }
+}
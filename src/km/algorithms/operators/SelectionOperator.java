@@ -0,0 +1,12 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Operator selekcji działający na tablicy długości tras (mniejsza długość - lepszy osobnik)
+// prepare() jest wywoływane raz na generację z jednego wątku, select() może być wywoływane równolegle
+// slot to numer losowania w generacji: rodzice potomka i mają numery 2 * i oraz 2 * i + 1
+public interface SelectionOperator {
+    void prepare(int[] fitness, RandomGenerator random);
+
+    int select(int[] fitness, int slot, RandomGenerator random);
+}
@@ -0,0 +1,21 @@
+package km.algorithms.operators;
+
+public final class SelectionOperators {
+
+    private SelectionOperators() {
+    }
+
+    // Tworzenie operatora selekcji na podstawie nazwy z pliku konfiguracyjnego
+    public static SelectionOperator create(String method, int populationSize, int tournamentSize, double rankPressure) {
+        if ("random".equalsIgnoreCase(method)) {
+            return new RandomSelection(populationSize);
+        } else if ("tournament".equalsIgnoreCase(method)) {
+            return new TournamentSelection(populationSize, tournamentSize);
+        } else if ("rank".equalsIgnoreCase(method)) {
+            return new LinearRankSelection(populationSize, rankPressure);
+        } else if ("sus".equalsIgnoreCase(method)) {
+            return new StochasticUniversalSampling(populationSize);
+        }
+        throw new IllegalArgumentException("Nieznana metoda selekcji: " + method);
+    }
+}
@@ -0,0 +1,16 @@
+package km.algorithms.operators;
+
+// Funkcja mieszająca splitmix64 (wariant 13 Stafforda, jak w SplittableRandom) - wspólna dla odcisków tras
+// i ziaren generatorów liczb losowych
+public final class SplitMix {
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SplitMix() {
+    }
+
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
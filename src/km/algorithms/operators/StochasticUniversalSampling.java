@@ -0,0 +1,53 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Stochastic Universal Sampling - wszyscy rodzice generacji losowani jednym obrotem koła ruletki
+// z równo rozmieszczonymi wskaźnikami; waga osobnika to (najdłuższa trasa - długość trasy + 1)
+// Wynik losowania jest mieszany, a select() zwraca jedynie wcześniej wybrany indeks dla danego numeru losowania
+public class StochasticUniversalSampling implements SelectionOperator {
+    private final int populationSize;
+    private final long[] cumulativeWeights;
+    private final int[] selected; // Indeksy rodziców, 2 na potomka
+
+    public StochasticUniversalSampling(int populationSize) {
+        this.populationSize = populationSize;
+        this.cumulativeWeights = new long[populationSize];
+        this.selected = new int[2 * populationSize];
+    }
+
+    @Override
+    public void prepare(int[] fitness, RandomGenerator random) {
+        int worst = 0;
+        for (int i = 0; i < populationSize; i++) {
+            worst = Math.max(worst, fitness[i]);
+        }
+        long total = 0;
+        for (int i = 0; i < populationSize; i++) {
+            total += worst - fitness[i] + 1;
+            cumulativeWeights[i] = total;
+        }
+
+        double step = (double) total / selected.length;
+        double pointer = random.nextDouble() * step;
+        int index = 0;
+        for (int k = 0; k < selected.length; k++, pointer += step) {
+            while (index < populationSize - 1 && cumulativeWeights[index] <= pointer) {
+                index++;
+            }
+            selected[k] = index;
+        }
+
+        for (int k = selected.length - 1; k > 0; k--) { // Wymieszanie, aby pary rodziców nie były uporządkowane
+            int j = random.nextInt(k + 1);
+            int temp = selected[k];
+            selected[k] = selected[j];
+            selected[j] = temp;
+        }
+    }
+
+    @Override
+    public int select(int[] fitness, int slot, RandomGenerator random) {
+        return selected[slot];
+    }
+}
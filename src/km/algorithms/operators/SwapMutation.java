@@ -0,0 +1,79 @@
+package km.algorithms.operators;
+
+import km.model.TSPProblem;
+
+import java.util.random.RandomGenerator;
+
+// Zamiana dwóch miast z aktualizacją długości trasy w O(1)
+// Krawędź k to (tour[k], tour[k + 1 mod n]); zamiana pozycji i, j zmienia co najwyżej krawędzie i - 1, i, j - 1, j
+// Zmiana odcisku trasy jest liczona z tych samych krawędzi
+public class SwapMutation implements MutationOperator {
+    private final TSPProblem problem;
+    private final int citiesCount;
+    private final int[] edges = new int[4]; // Indeksy zmienianych krawędzi bez powtórzeń
+    private long hashDelta;
+
+    public SwapMutation(TSPProblem problem) {
+        this.problem = problem;
+        this.citiesCount = problem.getCitiesCount();
+    }
+
+    @Override
+    public int mutate(int[] tours, int offset, int length, RandomGenerator random) {
+        int i = random.nextInt(citiesCount);
+        int j = random.nextInt(citiesCount);
+        hashDelta = 0;
+        if (i == j) {
+            return length;
+        }
+
+        int edgesCount = 0;
+        edgesCount = addEdge(edgesCount, i == 0 ? citiesCount - 1 : i - 1);
+        edgesCount = addEdge(edgesCount, i);
+        edgesCount = addEdge(edgesCount, j == 0 ? citiesCount - 1 : j - 1);
+        edgesCount = addEdge(edgesCount, j);
+
+        length -= edgesLength(tours, offset, edgesCount);
+        hashDelta = -edgesHash(tours, offset, edgesCount);
+        int temp = tours[offset + i];
+        tours[offset + i] = tours[offset + j];
+        tours[offset + j] = temp;
+        hashDelta += edgesHash(tours, offset, edgesCount);
+        return length + edgesLength(tours, offset, edgesCount);
+    }
+
+    @Override
+    public long getHashDelta() {
+        return hashDelta;
+    }
+
+    private int addEdge(int edgesCount, int edge) {
+        for (int k = 0; k < edgesCount; k++) {
+            if (edges[k] == edge) {
+                return edgesCount;
+            }
+        }
+        edges[edgesCount] = edge;
+        return edgesCount + 1;
+    }
+
+    private int edgesLength(int[] tours, int offset, int edgesCount) {
+        int length = 0;
+        for (int k = 0; k < edgesCount; k++) {
+            int edge = edges[k];
+            int next = edge + 1 == citiesCount ? 0 : edge + 1;
+            length += problem.getDistance(tours[offset + edge], tours[offset + next]);
+        }
+        return length;
+    }
+
+    private long edgesHash(int[] tours, int offset, int edgesCount) {
+        long hash = 0;
+        for (int k = 0; k < edgesCount; k++) {
+            int edge = edges[k];
+            int next = edge + 1 == citiesCount ? 0 : edge + 1;
+            hash += TourHashes.edge(tours[offset + edge], tours[offset + next]);
+        }
+        return hash;
+    }
+}
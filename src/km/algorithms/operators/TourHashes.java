@@ -0,0 +1,23 @@
+package km.algorithms.operators;
+
+// Odcisk trasy niezależny od miasta początkowego - suma (mod 2^64) skrótów wszystkich skierowanych krawędzi
+// Dwie trasy z tym samym zbiorem krawędzi mają ten sam odcisk, a zmiana kilku krawędzi zmienia go o różnicę
+// ich skrótów, więc odcisk można aktualizować przyrostowo tak jak długość trasy
+public final class TourHashes {
+
+    private TourHashes() {
+    }
+
+    // Skrót krawędzi from -> to (mieszanie splitmix64), różny dla obu kierunków
+    public static long edge(int from, int to) {
+        return SplitMix.mix(((long) from << 32 | (to & 0xFFFFFFFFL)) + SplitMix.GOLDEN_GAMMA);
+    }
+
+    public static long of(int[] tours, int offset, int citiesCount) {
+        long hash = 0;
+        for (int i = 0; i < citiesCount - 1; i++) {
+            hash += edge(tours[offset + i], tours[offset + i + 1]);
+        }
+        return hash + edge(tours[offset + citiesCount - 1], tours[offset]);
+    }
+}
@@ -0,0 +1,33 @@
+package km.algorithms.operators;
+
+import java.util.random.RandomGenerator;
+
+// Selekcja turniejowa - najlepszy z tournamentSize losowo wybranych osobników
+public class TournamentSelection implements SelectionOperator {
+    private final int populationSize;
+    private final int tournamentSize;
+
+    public TournamentSelection(int populationSize, int tournamentSize) {
+        if (tournamentSize < 1) {
+            throw new IllegalArgumentException("Rozmiar turnieju musi być dodatni: " + tournamentSize);
+        }
+        this.populationSize = populationSize;
+        this.tournamentSize = tournamentSize;
+    }
+
+    @Override
+    public void prepare(int[] fitness, RandomGenerator random) {
+    }
+
+    @Override
+    public int select(int[] fitness, int slot, RandomGenerator random) {
+        int best = random.nextInt(populationSize);
+        for (int k = 1; k < tournamentSize; k++) {
+            int candidate = random.nextInt(populationSize);
+            if (fitness[candidate] < fitness[best]) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
@@ -1,51 +1,297 @@
 package km.data;
 
-import java.io.FileWriter;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Formatter;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+// Zapis wyników do pliku przez osobny wątek
+// Wiersze są formatowane w wątku wywołującym do buforów wielokrotnego użytku (jeden bufor na wątek), a następnie
+// trafiają do ograniczonej kolejki; wątek zapisu pobiera je partiami i zapisuje przez bufor, więc wątki badania
+// czekają na dysk tylko wtedy, gdy kolejka jest pełna. Zapisywać może jednocześnie wiele wątków - kolejność
+// wierszy odpowiada kolejności wywołań. Format liczb w CSV jest taki jak wcześniej (domyślne ustawienia regionalne)
+//
+// Tryb binarny (format "binary") - zamiast tekstu rekordy little-endian poprzedzone nagłówkiem "PEA4RES1":
+//   bajt typu: 0 - nagłówek kolumn, 1 - wynik uruchomienia, 2 - średnie
+//   napis: int długość w bajtach + UTF-8
+//   0: int liczba kolumn, napisy
+//   1: napis plik, napis metoda, int populacja, int iteracja, int odległość, double błąd, long czas najlepszego,
+//      long czas wykonania, int liczba miast ścieżki (0 - brak) i kolejne miasta jako int
+//   2: napis plik, napis metoda, int populacja, double błąd, double czas najlepszego (ns), double czas wykonania
 public class CSVWriter {
-    private FileWriter writer;
+    private static final int QUEUE_CAPACITY = 4096; // Maksymalna liczba wierszy oczekujących na zapis
+    private static final int BATCH_SIZE = 256; // Maksymalna liczba wierszy pobieranych z kolejki naraz
+    private static final byte[] BINARY_MAGIC = "PEA4RES1".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = new byte[0]; // Znacznik końca kolejki
+
+    private final boolean binary;
+    private final Charset charset = Charset.defaultCharset();
+    private final ThreadLocal<RowBuffer> rowBuffers = ThreadLocal.withInitial(RowBuffer::new);
+
+    private BlockingQueue<byte[]> queue;
+    private Thread writerThread;
+    private volatile IOException failure; // Błąd wątku zapisu zgłaszany przy kolejnym wywołaniu
 
     public CSVWriter() {
-        this.writer = null;
+        this("csv");
     }
 
-    // Ustawia ścieżkę do pliku i inicjalizuje nagłówki kolumn
+    public CSVWriter(String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            this.binary = false;
+        } else if ("binary".equalsIgnoreCase(format)) {
+            this.binary = true;
+        } else {
+            throw new IllegalArgumentException("Nieznany format wyników: " + format);
+        }
+    }
+
+    // Ustawia ścieżkę do pliku i uruchamia wątek zapisu
     public void setFilePath(String filePath) throws IOException {
-        if (writer != null) {
-            writer.close();
+        close();
+        OutputStream output = new BufferedOutputStream(new FileOutputStream(filePath), 1 << 16);
+        if (binary) {
+            output.write(BINARY_MAGIC);
         }
-        writer = new FileWriter(filePath);
+        failure = null;
+        queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        writerThread = new Thread(() -> drain(queue, output), "csv-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
     }
 
     // Dodanie nagłówka do pliku CSV
     public void writeRecordHeader(String... headers) throws IOException {
+        RowBuffer row = rowBuffers.get();
+        if (binary) {
+            row.begin(0).putInt(headers.length);
+            for (String header : headers) {
+                row.putString(header);
+            }
+            enqueue(row.toBytes());
+            return;
+        }
+        row.text.setLength(0);
         for (int i = 0; i < headers.length; i++) {
-            writer.write(headers[i]);
+            row.text.append(headers[i]);
             if (i < headers.length - 1) {
-                writer.write(", ");
+                row.text.append(", ");
             }
         }
-        writer.write("\n");
+        enqueue(row.text.append('\n'));
     }
 
     // Zapisuje wiersz z wynikami, uwzględniając czas znalezienia najlepszego rozwiązania
     public void writeRecord(String file, String mutationMethod, int populationSize, int run, int bestDistance, double relativeError, long bestSolutionTimeMs, long executionTimeMs, String bestPath) throws IOException {
-        writer.write(String.format("%s, %s, %d, %d, %d, %.2f, %d, %d, %s\n",
-                file, mutationMethod, populationSize, run, bestDistance, relativeError, bestSolutionTimeMs, executionTimeMs, bestPath));
+        if (binary) {
+            if (!"-".equals(bestPath)) {
+                throw new IllegalArgumentException("W trybie binarnym ścieżka musi być listą miast");
+            }
+            writeRecord(file, mutationMethod, populationSize, run, bestDistance, relativeError, bestSolutionTimeMs, executionTimeMs, (List<Integer>) null);
+            return;
+        }
+        RowBuffer row = rowBuffers.get();
+        recordPrefix(row, file, mutationMethod, populationSize, run, bestDistance, relativeError, bestSolutionTimeMs, executionTimeMs);
+        enqueue(row.text.append(bestPath).append('\n'));
+    }
+
+    // Wariant ze ścieżką jako listą miast (null - brak ścieżki, w CSV "-") - bez tworzenia napisu z całą trasą
+    public void writeRecord(String file, String mutationMethod, int populationSize, int run, int bestDistance, double relativeError, long bestSolutionTimeMs, long executionTimeMs, List<Integer> bestPath) throws IOException {
+        RowBuffer row = rowBuffers.get();
+        if (binary) {
+            row.begin(1).putString(file).putString(mutationMethod).putInt(populationSize).putInt(run).putInt(bestDistance)
+                    .putDouble(relativeError).putLong(bestSolutionTimeMs).putLong(executionTimeMs);
+            row.putInt(bestPath == null ? 0 : bestPath.size());
+            if (bestPath != null) {
+                for (int city : bestPath) {
+                    row.putInt(city);
+                }
+            }
+            enqueue(row.toBytes());
+            return;
+        }
+        recordPrefix(row, file, mutationMethod, populationSize, run, bestDistance, relativeError, bestSolutionTimeMs, executionTimeMs);
+        if (bestPath == null) {
+            row.text.append('-');
+        } else {
+            // Ten sam zapis co List.toString()
+            row.text.append('[');
+            for (int i = 0; i < bestPath.size(); i++) {
+                if (i > 0) {
+                    row.text.append(", ");
+                }
+                row.text.append(bestPath.get(i).intValue());
+            }
+            row.text.append(']');
+        }
+        enqueue(row.text.append('\n'));
     }
 
     // Zapisuje średnie wartości dla pliku
     public void writeAverageRecord(String file, String mutationMethod, int populationSize, double averageRelativeError, double averageBestSolutionTimeNs, double averageExecutionTimeMs) throws IOException {
-        writer.write(String.format("%s, %s, %d, -, -, %.2f, %.2f, %.2f, -\n",
-                file, mutationMethod, populationSize, averageRelativeError, averageBestSolutionTimeNs / 1_000_000, averageExecutionTimeMs));
+        RowBuffer row = rowBuffers.get();
+        if (binary) {
+            row.begin(2).putString(file).putString(mutationMethod).putInt(populationSize)
+                    .putDouble(averageRelativeError).putDouble(averageBestSolutionTimeNs).putDouble(averageExecutionTimeMs);
+            enqueue(row.toBytes());
+            return;
+        }
+        row.text.setLength(0);
+        row.text.append(file).append(", ").append(mutationMethod).append(", ").append(populationSize).append(", -, -, ");
+        row.formatter.format("%.2f, %.2f, %.2f", averageRelativeError, averageBestSolutionTimeNs / 1_000_000, averageExecutionTimeMs);
+        enqueue(row.text.append(", -\n"));
     }
 
-    // Zamknięcie strumienia
+    // Zamknięcie strumienia - czeka na zapisanie wszystkich wierszy z kolejki
     public void close() throws IOException {
-        if (writer != null) {
-            writer.flush();
-            writer.close();
+        if (writerThread == null) {
+            return;
+        }
+        try {
+            queue.put(END);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Przerwano oczekiwanie na zapis wyników", e);
+        } finally {
+            writerThread = null;
+            queue = null;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void recordPrefix(RowBuffer row, String file, String mutationMethod, int populationSize, int run, int bestDistance, double relativeError, long bestSolutionTimeMs, long executionTimeMs) {
+        row.text.setLength(0);
+        row.text.append(file).append(", ").append(mutationMethod).append(", ").append(populationSize).append(", ")
+                .append(run).append(", ").append(bestDistance).append(", ");
+        row.formatter.format("%.2f", relativeError);
+        row.text.append(", ").append(bestSolutionTimeMs).append(", ").append(executionTimeMs).append(", ");
+    }
+
+    private void enqueue(CharSequence text) throws IOException {
+        enqueue(text.toString().getBytes(charset));
+    }
+
+    private void enqueue(byte[] bytes) throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (queue == null) {
+            throw new IllegalStateException("Nie ustawiono pliku wyników");
+        }
+        try {
+            queue.put(bytes); // Blokuje tylko przy pełnej kolejce
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Przerwano zapis wyników", e);
+        }
+    }
+
+    // Pętla wątku zapisu - pobiera wiersze partiami, opróżnia bufor, gdy kolejka jest pusta
+    // Po błędzie zapisu wiersze są dalej pobierane i pomijane, żeby producenci nie czekali na miejsce w kolejce
+    private void drain(BlockingQueue<byte[]> queue, OutputStream output) {
+        List<byte[]> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                if (queue.isEmpty() && failure == null) {
+                    try {
+                        output.flush();
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (byte[] bytes : batch) {
+                    if (bytes == END) {
+                        return;
+                    }
+                    if (failure == null) {
+                        try {
+                            output.write(bytes);
+                        } catch (IOException e) {
+                            failure = e;
+                        }
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            failure = new IOException("Przerwano wątek zapisu wyników", e);
+        } finally {
+            try {
+                output.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    // Bufory jednego wątku formatującego wiersze
+    private static final class RowBuffer {
+        private final StringBuilder text = new StringBuilder(256);
+        private final Formatter formatter = new Formatter(text); // Domyślne ustawienia regionalne, jak String.format
+        private ByteBuffer bytes = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+
+        private RowBuffer begin(int type) {
+            bytes.clear();
+            bytes.put((byte) type);
+            return this;
+        }
+
+        private RowBuffer putInt(int value) {
+            ensure(4);
+            bytes.putInt(value);
+            return this;
+        }
+
+        private RowBuffer putLong(long value) {
+            ensure(8);
+            bytes.putLong(value);
+            return this;
+        }
+
+        private RowBuffer putDouble(double value) {
+            ensure(8);
+            bytes.putDouble(value);
+            return this;
+        }
+
+        private RowBuffer putString(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            putInt(encoded.length);
+            ensure(encoded.length);
+            bytes.put(encoded);
+            return this;
+        }
+
+        private void ensure(int count) {
+            if (bytes.remaining() < count) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(bytes.capacity() * 2, bytes.position() + count)).order(ByteOrder.LITTLE_ENDIAN);
+                bytes.flip();
+                larger.put(bytes);
+                bytes = larger;
+            }
+        }
+
+        private byte[] toBytes() {
+            byte[] result = new byte[bytes.position()];
+            bytes.flip();
+            bytes.get(result);
+            return result;
         }
     }
 }
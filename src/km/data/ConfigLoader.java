@@ -2,7 +2,11 @@ package km.data;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeSet;
 
 public class ConfigLoader {
     private final Properties properties;
@@ -14,10 +18,57 @@ public class ConfigLoader {
         }
     }
 
+    private ConfigLoader(Properties properties) {
+        this.properties = properties;
+    }
+
+    // Kopia konfiguracji z nadpisanymi wartościami - np. jedna konfiguracja z planu badania
+    public ConfigLoader withOverrides(Map<String, String> overrides) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        copy.putAll(overrides);
+        return new ConfigLoader(copy);
+    }
+
+    public boolean containsKey(String key) {
+        return properties.containsKey(key);
+    }
+
+    // Klucze zaczynające się od prefix, posortowane alfabetycznie
+    public List<String> getKeys(String prefix) {
+        TreeSet<String> keys = new TreeSet<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                keys.add(key);
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+
+    // Lista wartości rozdzielonych przecinkami (bez pustych elementów); brak klucza - defaultValue
+    public List<String> getListProperty(String key, List<String> defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        List<String> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                values.add(part.trim());
+            }
+        }
+        return values;
+    }
+
     public String getProperty(String key) {
         return properties.getProperty(key);
     }
 
+    public String getProperty(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : value.trim();
+    }
+
     public int getIntProperty(String key) {
         String value = properties.getProperty(key);
         if (value == null) {
@@ -41,4 +92,24 @@ public class ConfigLoader {
         }
         return Boolean.parseBoolean(value.trim().toLowerCase());
     }
-}
\ No newline at end of file
+
+    public int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public long getLongProperty(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    public double getDoubleProperty(String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim().toLowerCase());
+    }
+}
@@ -0,0 +1,236 @@
+package km.data;
+
+import km.model.TSPProblem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+// Wczytywanie instancji TSPLIB (EDGE_WEIGHT_TYPE: EXPLICIT) z pliku odwzorowanego w pamięci
+// Liczby są parsowane bezpośrednio z bajtów, bez wyrażeń regularnych i bez tworzenia obiektu String dla każdej wartości
+// Obsługiwane formaty: FULL_MATRIX, UPPER_ROW, LOWER_ROW, UPPER_DIAG_ROW, LOWER_DIAG_ROW
+// Po pierwszym wczytaniu obok pliku zapisywana jest binarna kopia macierzy (plik .bin), odwzorowywana
+// w pamięci przy kolejnych wczytaniach, dopóki rozmiar i data modyfikacji pliku źródłowego się nie zmienią
+public final class TsplibReader {
+    private static final int MAGIC = 0x50454134; // "PEA4"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32; // magic, wersja, wymiar, zarezerwowane, rozmiar i data modyfikacji źródła
+    private static final String CACHE_SUFFIX = ".bin";
+
+    private TsplibReader() {
+    }
+
+    public static TSPProblem read(String filePath, boolean useBinaryCache) throws IOException {
+        Path path = Path.of(filePath);
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Path cachePath = Path.of(filePath + CACHE_SUFFIX);
+
+        if (useBinaryCache) {
+            TSPProblem cached = readBinary(cachePath, attributes);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        TSPProblem problem = parse(path);
+        if (useBinaryCache) {
+            try {
+                writeBinary(cachePath, problem, attributes);
+            } catch (IOException e) {
+                System.err.println("Nie udało się zapisać binarnej kopii instancji " + cachePath + ": " + e.getMessage());
+            }
+        }
+        return problem;
+    }
+
+    // Parsowanie tekstowego pliku TSPLIB
+    public static TSPProblem parse(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            int dimension = -1;
+            String format = "FULL_MATRIX";
+            boolean matrixSection = false;
+
+            // Nagłówek - linie "KLUCZ: wartość" aż do EDGE_WEIGHT_SECTION
+            StringBuilder line = new StringBuilder();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b != '\n') {
+                    if (b != '\r') {
+                        line.append((char) b);
+                    }
+                    if (buffer.hasRemaining()) {
+                        continue;
+                    }
+                }
+
+                String text = line.toString().trim();
+                line.setLength(0);
+                if (text.equals("EDGE_WEIGHT_SECTION")) {
+                    matrixSection = true;
+                    break;
+                }
+                if (text.equals("EOF")) {
+                    break;
+                }
+                int colon = text.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String key = text.substring(0, colon).trim();
+                String value = text.substring(colon + 1).trim();
+                if (key.equals("DIMENSION")) {
+                    dimension = Integer.parseInt(value);
+                } else if (key.equals("EDGE_WEIGHT_FORMAT")) {
+                    format = value;
+                } else if (key.equals("EDGE_WEIGHT_TYPE") && !value.equals("EXPLICIT")) {
+                    throw new IOException("Nieobsługiwany typ wag krawędzi: " + value);
+                }
+            }
+
+            if (dimension <= 0 || !matrixSection) {
+                throw new IOException("Nieprawidłowy format pliku");
+            }
+
+            int[] weights = new int[dimension * dimension];
+            ValueReader values = new ValueReader(buffer);
+            switch (format) {
+                case "FULL_MATRIX" -> {
+                    for (int i = 0; i < weights.length; i++) {
+                        weights[i] = values.next(dimension);
+                    }
+                }
+                case "UPPER_ROW" -> readTriangle(values, weights, dimension, true, false);
+                case "LOWER_ROW" -> readTriangle(values, weights, dimension, false, false);
+                case "UPPER_DIAG_ROW" -> readTriangle(values, weights, dimension, true, true);
+                case "LOWER_DIAG_ROW" -> readTriangle(values, weights, dimension, false, true);
+                default -> throw new IOException("Nieobsługiwany format macierzy: " + format);
+            }
+
+            if (values.hasNext()) {
+                throw new IOException("Za dużo wartości w EDGE_WEIGHT_SECTION, oczekiwano macierzy " + dimension + "x" + dimension);
+            }
+            return new TSPProblem(dimension, weights);
+        }
+    }
+
+    // Macierz trójkątna zapisana wierszami - wartości są kopiowane symetrycznie
+    private static void readTriangle(ValueReader values, int[] weights, int dimension, boolean upper, boolean withDiagonal) throws IOException {
+        for (int i = 0; i < dimension; i++) {
+            int from = upper ? (withDiagonal ? i : i + 1) : 0;
+            int to = upper ? dimension - 1 : (withDiagonal ? i : i - 1);
+            for (int j = from; j <= to; j++) {
+                int weight = values.next(dimension);
+                weights[i * dimension + j] = weight;
+                weights[j * dimension + i] = weight;
+            }
+        }
+    }
+
+    private static TSPProblem readBinary(Path cachePath, BasicFileAttributes source) throws IOException {
+        if (!Files.isRegularFile(cachePath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            int dimension = buffer.getInt(8);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(16) != source.size() || buffer.getLong(24) != source.lastModifiedTime().toMillis()
+                    || channel.size() != HEADER_BYTES + 4L * dimension * dimension) {
+                return null; // Kopia nieaktualna lub z innej wersji programu
+            }
+            int[] weights = new int[dimension * dimension];
+            buffer.position(HEADER_BYTES);
+            buffer.asIntBuffer().get(weights);
+            return new TSPProblem(dimension, weights);
+        }
+    }
+
+    private static void writeBinary(Path cachePath, TSPProblem problem, BasicFileAttributes source) throws IOException {
+        int dimension = problem.getCitiesCount();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * dimension * dimension).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(dimension).putInt(0);
+        buffer.putLong(source.size()).putLong(source.lastModifiedTime().toMillis());
+        buffer.asIntBuffer().put(problem.getWeights());
+        buffer.position(buffer.capacity());
+        buffer.flip();
+
+        // Zapis do pliku tymczasowego i podmiana - przerwany zapis nie zostawi uszkodzonej kopii
+        Path temporary = Files.createTempFile(cachePath.toAbsolutePath().getParent(), cachePath.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporary, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Odczyt kolejnych liczb całkowitych z bufora bajtów
+    private static final class ValueReader {
+        private final ByteBuffer buffer;
+
+        private ValueReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private void skipWhitespace() {
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get(buffer.position());
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return;
+                }
+                buffer.position(buffer.position() + 1);
+            }
+        }
+
+        // Czy przed końcem sekcji (EOF lub koniec pliku) pozostała jeszcze jakaś liczba
+        private boolean hasNext() {
+            skipWhitespace();
+            if (!buffer.hasRemaining()) {
+                return false;
+            }
+            byte b = buffer.get(buffer.position());
+            return b == '-' || (b >= '0' && b <= '9');
+        }
+
+        private int next(int dimension) throws IOException {
+            if (!hasNext()) {
+                throw new IOException("Niekompletna macierz, oczekiwano: " + dimension + "x" + dimension);
+            }
+            boolean negative = false;
+            if (buffer.get(buffer.position()) == '-') {
+                negative = true;
+                buffer.position(buffer.position() + 1);
+            }
+            long value = 0;
+            int digits = 0;
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get(buffer.position());
+                if (b < '0' || b > '9') {
+                    break;
+                }
+                value = value * 10 + (b - '0');
+                if (value > Integer.MAX_VALUE) {
+                    throw new IOException("Wartość poza zakresem int w EDGE_WEIGHT_SECTION");
+                }
+                digits++;
+                buffer.position(buffer.position() + 1);
+            }
+            if (digits == 0) {
+                throw new IOException("Nieprawidłowa wartość w EDGE_WEIGHT_SECTION");
+            }
+            return (int) (negative ? -value : value);
+        }
+    }
+}
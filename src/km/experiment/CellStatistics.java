@@ -0,0 +1,60 @@
+package km.experiment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Statystyki komórki badania aktualizowane po każdym zakończonym uruchomieniu (w dowolnej kolejności)
+public class CellStatistics {
+    private int count;
+    private double totalRelativeError;
+    private double totalSquaredRelativeError;
+    private long totalExecutionTimeNs;
+    private long totalBestSolutionTimeNs;
+    private int bestOverallDistance = Integer.MAX_VALUE;
+    private List<Integer> bestOverallPath;
+
+    public synchronized void add(RunResult result) {
+        count++;
+        totalRelativeError += result.getRelativeError();
+        totalSquaredRelativeError += result.getRelativeError() * result.getRelativeError();
+        totalExecutionTimeNs += result.getExecutionTimeNs();
+        totalBestSolutionTimeNs += result.getBestSolutionTimeNs();
+        if (result.getBestDistance() < bestOverallDistance) {
+            bestOverallDistance = result.getBestDistance();
+            bestOverallPath = new ArrayList<>(result.getBestSolution());
+        }
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized double getAverageRelativeError() {
+        return totalRelativeError / count;
+    }
+
+    // Odchylenie standardowe próbki błędów względnych
+    public synchronized double getRelativeErrorDeviation() {
+        if (count < 2) {
+            return 0.0;
+        }
+        double mean = totalRelativeError / count;
+        return Math.sqrt(Math.max(0.0, (totalSquaredRelativeError - count * mean * mean) / (count - 1)));
+    }
+
+    public synchronized double getAverageExecutionTimeNs() {
+        return (double) totalExecutionTimeNs / count;
+    }
+
+    public synchronized double getAverageBestSolutionTimeNs() {
+        return (double) totalBestSolutionTimeNs / count;
+    }
+
+    public synchronized int getBestOverallDistance() {
+        return bestOverallDistance;
+    }
+
+    public synchronized List<Integer> getBestOverallPath() {
+        return bestOverallPath;
+    }
+}
@@ -0,0 +1,82 @@
+package km.experiment;
+
+import km.algorithms.AlgorithmOptions;
+
+import java.util.Map;
+
+// Jedna komórka badania - zestaw parametrów uruchamiany runs razy na jednym pliku
+public class ExperimentCell {
+    private final String inputFile;
+    private final String mutationMethod;
+    private final int populationSize;
+    private final double mutationRate;
+    private final double crossoverRate;
+    private final int stopTime;
+    private final int optimalDistance;
+    private final int runs;
+    private final AlgorithmOptions options;
+    private final String label; // Nazwa konfiguracji z planu badania, puste - komórka bez planu
+    private final Map<String, String> overrides; // Wartości planu nadpisujące konfigurację bazową, puste - komórka bez planu
+
+    public ExperimentCell(String inputFile, String mutationMethod, int populationSize, double mutationRate, double crossoverRate, int stopTime, int optimalDistance, int runs, AlgorithmOptions options) {
+        this(inputFile, mutationMethod, populationSize, mutationRate, crossoverRate, stopTime, optimalDistance, runs, options, "", Map.of());
+    }
+
+    public ExperimentCell(String inputFile, String mutationMethod, int populationSize, double mutationRate, double crossoverRate, int stopTime, int optimalDistance, int runs, AlgorithmOptions options, String label, Map<String, String> overrides) {
+        this.inputFile = inputFile;
+        this.mutationMethod = mutationMethod;
+        this.populationSize = populationSize;
+        this.mutationRate = mutationRate;
+        this.crossoverRate = crossoverRate;
+        this.stopTime = stopTime;
+        this.optimalDistance = optimalDistance;
+        this.runs = runs;
+        this.options = options;
+        this.label = label;
+        this.overrides = overrides;
+    }
+
+    public String getInputFile() {
+        return inputFile;
+    }
+
+    public String getMutationMethod() {
+        return mutationMethod;
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public double getMutationRate() {
+        return mutationRate;
+    }
+
+    public double getCrossoverRate() {
+        return crossoverRate;
+    }
+
+    public int getStopTime() {
+        return stopTime;
+    }
+
+    public int getOptimalDistance() {
+        return optimalDistance;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public AlgorithmOptions getOptions() {
+        return options;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Map<String, String> getOverrides() {
+        return overrides;
+    }
+}
@@ -0,0 +1,249 @@
+package km.experiment;
+
+import km.data.ConfigLoader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Plan badania zapisany w pliku w formacie pliku konfiguracyjnego (klucz=wartość):
+//   plan.files=ftv47.atsp,ftv170.atsp          pliki instancji (domyślnie inputData)
+//   plan.stopTime.ftv170.atsp=120              czas dla pliku (domyślnie stopTime konfiguracji)
+//   plan.runs=10                               maksymalna liczba uruchomień komórki
+//   plan.design=grid                           grid - pełna siatka, lhs - łacińska hiperkostka
+//   plan.samples=20                            liczba konfiguracji w lhs
+//   plan.seed=1                                ziarno losowania lhs
+//   plan.param.<klucz>=<wartości>              dowolny klucz pliku konfiguracyjnego (populationSize, mutationRate,
+//                                              mutationMethod, tournamentSize, ...), wartości:
+//                                              a,b,c - poziomy dyskretne; od:do:krok - poziomy co krok;
+//                                              od:do - przedział ciągły (tylko lhs; całkowity, jeśli oba końce są całkowite)
+//                                              Przedział tylko wtedy, gdy nie ma przecinka, a wszystkie części są liczbami,
+//                                              więc poziomy mogą zawierać dwukropek (initMix=greedy:0.5,grasp:0.5)
+//   plan.racing=true                           odrzucanie konfiguracji wyraźnie gorszych (Racing)
+//   plan.racingMinRuns=3                       uruchomienia przed pierwszym porównaniem
+//   plan.racingAlpha=0.05                      poziom istotności testu
+// Każda konfiguracja to zestaw wartości nadpisujących konfigurację bazową (ConfigLoader.withOverrides)
+public class ExperimentPlan {
+    private static final String PARAMETER_PREFIX = "plan.param.";
+
+    private final List<String> files;
+    private final Map<String, Integer> stopTimes = new LinkedHashMap<>();
+    private final int runs;
+    private final List<Map<String, String>> configurations;
+    private final boolean racing;
+    private final int racingMinRuns;
+    private final double racingAlpha;
+
+    public ExperimentPlan(String planFilePath, ConfigLoader baseConfig) throws IOException {
+        ConfigLoader plan = new ConfigLoader(planFilePath);
+        this.files = plan.getListProperty("plan.files", List.of(baseConfig.getProperty("inputData", "")));
+        for (String file : files) {
+            if (plan.containsKey("plan.stopTime." + file)) {
+                stopTimes.put(file, plan.getIntProperty("plan.stopTime." + file));
+            }
+        }
+        this.runs = plan.getIntProperty("plan.runs", 10);
+        this.racing = plan.getBooleanProperty("plan.racing", false);
+        this.racingMinRuns = plan.getIntProperty("plan.racingMinRuns", 3);
+        this.racingAlpha = plan.getDoubleProperty("plan.racingAlpha", 0.05);
+
+        List<Parameter> parameters = new ArrayList<>();
+        for (String key : plan.getKeys(PARAMETER_PREFIX)) {
+            String name = key.substring(PARAMETER_PREFIX.length());
+            if (!baseConfig.containsKey(name)) {
+                System.err.println("Parametr planu nieobecny w konfiguracji bazowej: " + name);
+            }
+            parameters.add(new Parameter(name, plan.getProperty(key)));
+        }
+
+        String design = plan.getProperty("plan.design", "grid");
+        if ("grid".equalsIgnoreCase(design)) {
+            this.configurations = grid(parameters);
+        } else if ("lhs".equalsIgnoreCase(design)) {
+            this.configurations = latinHypercube(parameters, plan.getIntProperty("plan.samples", 10), plan.getLongProperty("plan.seed", 1));
+        } else {
+            throw new IllegalArgumentException("Nieznany rodzaj planu badania: " + design);
+        }
+    }
+
+    public List<String> getFiles() {
+        return files;
+    }
+
+    public int getStopTime(String file, int defaultStopTime) {
+        return stopTimes.getOrDefault(file, defaultStopTime);
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    // Konfiguracje planu - wartości nadpisujące konfigurację bazową, w kolejności parametrów
+    public List<Map<String, String>> getConfigurations() {
+        return configurations;
+    }
+
+    // Obiekt odrzucania konfiguracji albo null, jeśli plan go nie przewiduje
+    public Racing createRacing() {
+        return racing ? new Racing(racingMinRuns, racingAlpha) : null;
+    }
+
+    // Nazwa konfiguracji, np. cfg3
+    public static String label(int configuration) {
+        return "cfg" + (configuration + 1);
+    }
+
+    // Pełna siatka - iloczyn kartezjański poziomów (ostatni parametr zmienia się najszybciej)
+    private static List<Map<String, String>> grid(List<Parameter> parameters) {
+        List<Map<String, String>> result = new ArrayList<>();
+        result.add(new LinkedHashMap<>());
+        for (Parameter parameter : parameters) {
+            if (parameter.levels == null) {
+                throw new IllegalArgumentException("Przedział bez kroku w pełnej siatce: " + parameter.name);
+            }
+            List<Map<String, String>> expanded = new ArrayList<>(result.size() * parameter.levels.size());
+            for (Map<String, String> configuration : result) {
+                for (String level : parameter.levels) {
+                    Map<String, String> next = new LinkedHashMap<>(configuration);
+                    next.put(parameter.name, level);
+                    expanded.add(next);
+                }
+            }
+            result = expanded;
+        }
+        return result;
+    }
+
+    // Łacińska hiperkostka: każdy parametr ma samples warstw równej szerokości, każda warstwa jest użyta dokładnie raz
+    // (niezależna losowa permutacja warstw dla każdego parametru); punkt losowany wewnątrz warstwy
+    // Dla poziomów dyskretnych warstwa wyznacza poziom, więc powtarzające się konfiguracje są usuwane
+    private static List<Map<String, String>> latinHypercube(List<Parameter> parameters, int samples, long seed) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("Niepoprawna liczba konfiguracji planu: " + samples);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Map<String, String>> result = new ArrayList<>(samples);
+        for (int s = 0; s < samples; s++) {
+            result.add(new LinkedHashMap<>());
+        }
+        int[] strata = new int[samples];
+        for (Parameter parameter : parameters) {
+            for (int s = 0; s < samples; s++) {
+                strata[s] = s;
+            }
+            for (int s = samples - 1; s > 0; s--) {
+                int swap = random.nextInt(s + 1);
+                int temp = strata[s];
+                strata[s] = strata[swap];
+                strata[swap] = temp;
+            }
+            for (int s = 0; s < samples; s++) {
+                double position = (strata[s] + random.nextDouble()) / samples; // Punkt w [0, 1)
+                result.get(s).put(parameter.name, parameter.valueAt(position));
+            }
+        }
+        Set<Map<String, String>> unique = new LinkedHashSet<>(result);
+        return new ArrayList<>(unique);
+    }
+
+    // Parametr planu: lista poziomów albo przedział ciągły [low, high]
+    private static final class Parameter {
+        private final String name;
+        private final List<String> levels; // null - przedział ciągły
+        private final double low;
+        private final double high;
+        private final boolean integer;
+
+        private Parameter(String name, String specification) {
+            this.name = name;
+            String[] range = specification.split(":");
+            if (!isRange(specification, range)) {
+                List<String> values = new ArrayList<>();
+                for (String part : specification.split(",")) {
+                    if (!part.isBlank()) {
+                        values.add(part.trim());
+                    }
+                }
+                if (values.isEmpty()) {
+                    throw new IllegalArgumentException("Brak wartości parametru planu: " + name);
+                }
+                this.levels = Collections.unmodifiableList(values);
+                this.low = 0;
+                this.high = 0;
+                this.integer = false;
+                return;
+            }
+            if (range.length > 3) {
+                throw new IllegalArgumentException("Niepoprawny przedział parametru planu " + name + ": " + specification);
+            }
+            this.low = Double.parseDouble(range[0].trim());
+            this.high = Double.parseDouble(range[1].trim());
+            this.integer = isInteger(range[0]) && isInteger(range[1]) && (range.length == 2 || isInteger(range[2]));
+            if (high < low) {
+                throw new IllegalArgumentException("Niepoprawny przedział parametru planu " + name + ": " + specification);
+            }
+            if (range.length == 2) {
+                this.levels = null;
+                return;
+            }
+            double step = Double.parseDouble(range[2].trim());
+            if (step <= 0) {
+                throw new IllegalArgumentException("Niedodatni krok parametru planu " + name + ": " + specification);
+            }
+            List<String> values = new ArrayList<>();
+            long count = (long) Math.floor((high - low) / step + 1e-9);
+            for (long k = 0; k <= count; k++) {
+                values.add(format(low + k * step));
+            }
+            this.levels = Collections.unmodifiableList(values);
+        }
+
+        // Wartość dla punktu position z [0, 1)
+        private String valueAt(double position) {
+            if (levels != null) {
+                return levels.get(Math.min(levels.size() - 1, (int) (position * levels.size())));
+            }
+            if (integer) {
+                long range = (long) high - (long) low + 1;
+                return Long.toString((long) low + Math.min(range - 1, (long) (position * range)));
+            }
+            return format(low + position * (high - low));
+        }
+
+        private String format(double value) {
+            if (integer) {
+                return Long.toString(Math.round(value));
+            }
+            return new BigDecimal(value).round(new MathContext(6)).stripTrailingZeros().toPlainString();
+        }
+
+        // Przedział: bez przecinka, dwie lub trzy części oddzielone dwukropkiem i wszystkie liczbowe
+        private static boolean isRange(String specification, String[] range) {
+            if (specification.contains(",") || range.length < 2) {
+                return false;
+            }
+            for (String part : range) {
+                if (!isNumber(part)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isNumber(String text) {
+            return text.trim().matches("-?(\\d+\\.?\\d*|\\.\\d+)([eE][-+]?\\d+)?");
+        }
+
+        private static boolean isInteger(String text) {
+            return text.trim().matches("-?\\d+");
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package km.experiment;
+
+import km.algorithms.Algorithm;
+import km.algorithms.AlgorithmFactory;
+import km.algorithms.AlgorithmOptions;
+import km.data.CSVWriter;
+import km.model.ProblemCache;
+import km.model.TSPProblem;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Równoległe wykonywanie niezależnych uruchomień (komórka, numer uruchomienia) na puli parallelRuns wątków
+// Każde uruchomienie tworzy własny algorytm i własną kopię opcji - współdzielona jest tylko instancja problemu,
+// której struktury pochodne są wyznaczane synchronicznie. Wyniki trafiają do pliku CSV w kolejności komórek
+// i uruchomień, niezależnie od kolejności zakończenia, a statystyki komórki są liczone na bieżąco
+// Z plikiem postępu (progressFile) ukończone uruchomienia są zapisywane na bieżąco, a przerwane badanie
+// uruchomione ponownie wykonuje tylko brakujące uruchomienia; wyniki wczytane z pliku trafiają do CSV jak nowe.
+// Uruchomienia przerwane w trakcie wznawiają się z własnych punktów kontrolnych (checkpointDirectory)
+// Z wyścigiem (Racing) uruchomienia są wykonywane rundami, a komórki odrzucone po rundzie nie dostają kolejnych
+public class ExperimentRunner {
+    private final AlgorithmFactory factory;
+    private final int parallelRuns;
+    private final Path progressFile; // null - bez zapisu postępu
+    private final Racing racing; // null - wszystkie komórki dostają pełną liczbę uruchomień
+    private int[] executedRuns;
+
+    public ExperimentRunner(AlgorithmFactory factory, int parallelRuns) {
+        this(factory, parallelRuns, null);
+    }
+
+    public ExperimentRunner(AlgorithmFactory factory, int parallelRuns, Path progressFile) {
+        this(factory, parallelRuns, progressFile, null);
+    }
+
+    public ExperimentRunner(AlgorithmFactory factory, int parallelRuns, Path progressFile, Racing racing) {
+        this.factory = factory;
+        this.parallelRuns = Math.max(1, parallelRuns);
+        this.progressFile = progressFile;
+        this.racing = racing;
+    }
+
+    public void run(List<ExperimentCell> cells, CSVWriter csvWriter) throws IOException, InterruptedException {
+        Sweep sweep = new Sweep(cells, csvWriter, progressFile != null ? new SweepProgress(progressFile, cells) : null);
+        int restored = sweep.progress != null ? sweep.progress.load(sweep.results) : 0;
+        if (restored > 0) {
+            System.out.printf("Wznowienie badania: %d ukonczonych uruchomien wczytano z %s\n", restored, progressFile);
+        }
+        for (int c = 0; c < cells.size(); c++) {
+            for (int r = 0; r < cells.get(c).getRuns(); r++) {
+                if (sweep.results[c][r] != null) {
+                    sweep.done[c][r] = true;
+                    sweep.errors[c][r] = sweep.results[c][r].getRelativeError();
+                }
+            }
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelRuns, runnable -> {
+            Thread thread = new Thread(runnable, "experiment-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Completed> completion = new ExecutorCompletionService<>(executor);
+
+        try {
+            sweep.writeAvailable(); // Wyniki wczytane z pliku postępu
+            if (racing == null) {
+                int submitted = 0;
+                for (int c = 0; c < cells.size(); c++) {
+                    for (int run = 1; run <= cells.get(c).getRuns(); run++) {
+                        submitted += submit(completion, sweep, c, run);
+                    }
+                }
+                sweep.collect(completion, submitted);
+            } else {
+                race(completion, sweep);
+            }
+            if (sweep.progress != null) {
+                sweep.progress.complete();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Błąd podczas uruchomienia algorytmu", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            if (sweep.progress != null) {
+                sweep.progress.close();
+            }
+        }
+    }
+
+    // Wyścig: uruchomienia w rundach (runda k - k-te uruchomienie każdej pozostałej komórki), po każdej rundzie
+    // odrzucenie komórek wyraźnie gorszych od najlepszej komórki tej samej instancji
+    private void race(CompletionService<Completed> completion, Sweep sweep) throws IOException, InterruptedException, ExecutionException {
+        List<ExperimentCell> cells = sweep.cells;
+        int maxRuns = 0;
+        for (ExperimentCell cell : cells) {
+            maxRuns = Math.max(maxRuns, cell.getRuns());
+        }
+        boolean[] alive = new boolean[cells.size()];
+        Arrays.fill(alive, true);
+        for (int run = 1; run <= maxRuns; run++) {
+            int submitted = 0;
+            for (int c = 0; c < cells.size(); c++) {
+                if (alive[c] && run <= cells.get(c).getRuns()) {
+                    submitted += submit(completion, sweep, c, run);
+                }
+            }
+            sweep.collect(completion, submitted);
+
+            Map<String, List<Integer>> groups = new LinkedHashMap<>();
+            for (int c = 0; c < cells.size(); c++) {
+                if (alive[c] && run < cells.get(c).getRuns()) {
+                    groups.computeIfAbsent(cells.get(c).getInputFile(), file -> new ArrayList<>()).add(c);
+                }
+            }
+            for (List<Integer> group : groups.values()) {
+                for (int c : racing.eliminate(group, sweep.errors, run)) {
+                    alive[c] = false;
+                    sweep.limits[c] = run;
+                    ExperimentCell cell = cells.get(c);
+                    System.out.printf("Wyscig: odrzucono konfiguracje %s (plik %s, metoda mutacji %s, populacja %d, wspolczynnik mutacji %.2f) po %d uruchomieniach\n",
+                            cell.getLabel(), cell.getInputFile(), cell.getMutationMethod(), cell.getPopulationSize(), cell.getMutationRate(), run);
+                }
+            }
+            sweep.writeAvailable();
+        }
+    }
+
+    private int submit(CompletionService<Completed> completion, Sweep sweep, int cellIndex, int run) {
+        if (sweep.done[cellIndex][run - 1]) {
+            return 0; // Ukończone przed wznowieniem
+        }
+        ExperimentCell cell = sweep.cells.get(cellIndex);
+        completion.submit(() -> new Completed(cellIndex, runOnce(cell, run)));
+        return 1;
+    }
+
+    // Liczby uruchomień zapisanych dla komórek ostatniego badania (mniejsze od runs dla komórek odrzuconych w wyścigu)
+    public int[] getExecutedRuns() {
+        return executedRuns;
+    }
+
+    // Stan jednego badania: wyniki czekające na zapis w ustalonej kolejności i błędy względne dla wyścigu
+    private final class Sweep {
+        private final List<ExperimentCell> cells;
+        private final CSVWriter csvWriter;
+        private final SweepProgress progress;
+        private final RunResult[][] results;
+        private final boolean[][] done;
+        private final double[][] errors;
+        private final CellStatistics[] statistics;
+        private final int[] limits; // Liczba uruchomień komórki do zapisu
+        private int nextCell; // Następna komórka i uruchomienie do zapisu
+        private int nextRun;
+
+        private Sweep(List<ExperimentCell> cells, CSVWriter csvWriter, SweepProgress progress) {
+            this.cells = cells;
+            this.csvWriter = csvWriter;
+            this.progress = progress;
+            this.results = new RunResult[cells.size()][];
+            this.done = new boolean[cells.size()][];
+            this.errors = new double[cells.size()][];
+            this.statistics = new CellStatistics[cells.size()];
+            this.limits = new int[cells.size()];
+            for (int c = 0; c < cells.size(); c++) {
+                int runs = cells.get(c).getRuns();
+                results[c] = new RunResult[runs];
+                done[c] = new boolean[runs];
+                errors[c] = new double[runs];
+                statistics[c] = new CellStatistics();
+                limits[c] = runs;
+            }
+            executedRuns = limits;
+        }
+
+        private void collect(CompletionService<Completed> completion, int count) throws IOException, InterruptedException, ExecutionException {
+            for (int k = 0; k < count; k++) {
+                Completed completed = completion.take().get();
+                int run = completed.result.getRun() - 1;
+                results[completed.cell][run] = completed.result;
+                done[completed.cell][run] = true;
+                errors[completed.cell][run] = completed.result.getRelativeError();
+                if (progress != null) {
+                    progress.record(completed.cell, completed.result);
+                }
+                writeAvailable();
+            }
+        }
+
+        // Zapis wszystkich wyników, które są już dostępne w ustalonej kolejności (komórki bez uruchomień - same średnie)
+        private void writeAvailable() throws IOException {
+            while (nextCell < cells.size() && (nextRun == limits[nextCell] || results[nextCell][nextRun] != null)) {
+                ExperimentCell cell = cells.get(nextCell);
+                if (nextRun == limits[nextCell]) {
+                    writeAverages(cell, statistics[nextCell], csvWriter);
+                    nextCell++;
+                    nextRun = 0;
+                    continue;
+                }
+                if (nextRun == 0) {
+                    System.out.printf("Testowanie: plik %s, metoda mutacji %s, populacja %d, współczynnik mutacji %.2f%s\n",
+                            cell.getInputFile(), cell.getMutationMethod(), cell.getPopulationSize(), cell.getMutationRate(),
+                            cell.getLabel().isEmpty() ? "" : ", konfiguracja " + cell.getLabel());
+                }
+                statistics[nextCell].add(results[nextCell][nextRun]);
+                writeRun(cell, results[nextCell][nextRun], csvWriter);
+                results[nextCell][nextRun] = null; // Trasa nie jest już potrzebna
+                nextRun++;
+            }
+        }
+    }
+
+    private RunResult runOnce(ExperimentCell cell, int run) throws IOException {
+        AlgorithmOptions options = cell.getOptions().copy();
+        if (options.isSeeded()) {
+            options.setSeed(options.getSeed() + run - 1); // Inne, ale powtarzalne ziarno dla każdej iteracji
+        }
+        if (options.getCheckpointInterval() > 0) {
+            options.setCheckpointFile(Path.of(options.getCheckpointDirectory(), traceName(cell, run) + ".ckpt").toString());
+        }
+        TSPProblem problem = ProblemCache.get(cell.getInputFile(), options.isBinaryCache(), options.isCompactMatrix());
+        Algorithm algorithm = factory.create(problem, cell.getPopulationSize(), cell.getMutationRate(), cell.getCrossoverRate(), cell.getStopTime(), cell.getMutationMethod(), options);
+
+        long startTime = System.nanoTime();
+        List<Integer> bestSolution = algorithm.solve(cell.getOptimalDistance());
+        long elapsedTime = System.nanoTime() - startTime;
+
+        int bestDistance = calculateTotalDistance(bestSolution, problem);
+        double relativeError = calculateRelativeError(bestDistance, cell.getOptimalDistance());
+        if (algorithm.getTrace() != null) {
+            algorithm.getTrace().write(Path.of(options.getTraceDirectory()), traceName(cell, run), options.getTraceFormat());
+        }
+        return new RunResult(run, bestSolution, bestDistance, relativeError, algorithm.getBestSolutionTime(), elapsedTime);
+    }
+
+    // Nazwa pliku śladu, np. ftv47_swap_p50_m0.05_run3
+    private static String traceName(ExperimentCell cell, int run) {
+        String file = cell.getInputFile();
+        int dot = file.lastIndexOf('.');
+        return String.format(Locale.ROOT, "%s_%s_p%d_m%.2f%s_run%d", dot > 0 ? file.substring(0, dot) : file,
+                cell.getMutationMethod(), cell.getPopulationSize(), cell.getMutationRate(),
+                cell.getLabel().isEmpty() ? "" : "_" + cell.getLabel(), run);
+    }
+
+    private void writeRun(ExperimentCell cell, RunResult result, CSVWriter csvWriter) throws IOException {
+        System.out.printf("Iteracja %d: Najlepsza odleglosc = %d, Blad wzgledny = %.2f%%, Czas znalezienia najlepszego rozwiazania = %d ns, Czas wykonania = %d ns\n",
+                result.getRun(), result.getBestDistance(), result.getRelativeError(), result.getBestSolutionTimeNs(), result.getExecutionTimeNs());
+        csvWriter.writeRecord(cell.getInputFile(), cell.getMutationMethod(), cell.getPopulationSize(), result.getRun(), result.getBestDistance(), result.getRelativeError(), result.getBestSolutionTimeNs(), result.getExecutionTimeNs(), "-");
+    }
+
+    private void writeAverages(ExperimentCell cell, CellStatistics statistics, CSVWriter csvWriter) throws IOException {
+        if (statistics.getCount() == 0) {
+            return;
+        }
+        System.out.printf("Sredni blad wzgledny = %.2f%%, Sredni czas znalezienia najlepszego rozwiazania = %.2f ns, Sredni czas wykonania = %.2f ns\n",
+                statistics.getAverageRelativeError(), statistics.getAverageBestSolutionTimeNs(), statistics.getAverageExecutionTimeNs());
+        csvWriter.writeRecord(cell.getInputFile(), cell.getMutationMethod(), cell.getPopulationSize(), -1, statistics.getBestOverallDistance(), -1, (long) statistics.getAverageBestSolutionTimeNs(), (long) statistics.getAverageExecutionTimeNs(), statistics.getBestOverallPath());
+        csvWriter.writeAverageRecord(cell.getInputFile(), cell.getMutationMethod(), cell.getPopulationSize(), statistics.getAverageRelativeError(), statistics.getAverageBestSolutionTimeNs(), statistics.getAverageExecutionTimeNs());
+    }
+
+    private static int calculateTotalDistance(List<Integer> solution, TSPProblem problem) {
+        int distance = 0;
+        for (int i = 0; i < solution.size() - 1; i++) {
+            distance += problem.getDistance(solution.get(i), solution.get(i + 1));
+        }
+        distance += problem.getDistance(solution.get(solution.size() - 1), solution.get(0));
+        return distance;
+    }
+
+    private static double calculateRelativeError(int foundDistance, int optimalDistance) {
+        return ((double) (foundDistance - optimalDistance) / optimalDistance) * 100;
+    }
+
+    private static final class Completed {
+        private final int cell;
+        private final RunResult result;
+
+        private Completed(int cell, RunResult result) {
+            this.cell = cell;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package km.experiment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Wyścig konfiguracji (racing): po każdej rundzie, gdy wszystkie pozostałe konfiguracje danej instancji mają
+// co najmniej minRuns uruchomień, każda z nich jest porównywana z konfiguracją o najmniejszym średnim błędzie
+// względnym jednostronnym testem t Welcha. Konfiguracja istotnie gorsza (p < alpha) nie dostaje kolejnych uruchomień
+// Test jest liczony na tej samej liczbie uruchomień każdej konfiguracji (pełne rundy), więc wynik nie zależy
+// od kolejności kończenia uruchomień; najlepsza konfiguracja nigdy nie jest odrzucana
+public class Racing {
+    private static final double EPSILON = 1e-12;
+
+    private final int minRuns;
+    private final double alpha;
+
+    public Racing(int minRuns, double alpha) {
+        this.minRuns = Math.max(2, minRuns);
+        this.alpha = alpha;
+    }
+
+    public int getMinRuns() {
+        return minRuns;
+    }
+
+    // Indeksy konfiguracji do odrzucenia spośród candidates; errors[k][0, runs) - błędy względne uruchomień
+    public List<Integer> eliminate(List<Integer> candidates, double[][] errors, int runs) {
+        List<Integer> eliminated = new ArrayList<>();
+        if (runs < minRuns || candidates.size() < 2) {
+            return eliminated;
+        }
+        int best = candidates.get(0);
+        for (int candidate : candidates) {
+            if (mean(errors[candidate], runs) < mean(errors[best], runs)) {
+                best = candidate;
+            }
+        }
+        for (int candidate : candidates) {
+            if (candidate != best && pValue(errors[candidate], errors[best], runs) < alpha) {
+                eliminated.add(candidate);
+            }
+        }
+        return eliminated;
+    }
+
+    // Jednostronne p dla hipotezy, że średnia a jest większa od średniej b (test t Welcha)
+    static double pValue(double[] a, double[] b, int runs) {
+        double meanA = mean(a, runs);
+        double meanB = mean(b, runs);
+        double varianceA = variance(a, runs, meanA) / runs;
+        double varianceB = variance(b, runs, meanB) / runs;
+        double denominator = varianceA + varianceB;
+        if (denominator < EPSILON) {
+            return meanA > meanB + EPSILON ? 0.0 : 1.0; // Wyniki bez rozrzutu - porównanie wprost
+        }
+        double t = (meanA - meanB) / Math.sqrt(denominator);
+        double degrees = denominator * denominator
+                / (varianceA * varianceA / (runs - 1) + varianceB * varianceB / (runs - 1));
+        return 1.0 - studentCdf(t, degrees);
+    }
+
+    private static double mean(double[] values, int count) {
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += values[i];
+        }
+        return sum / count;
+    }
+
+    private static double variance(double[] values, int count, double mean) {
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += (values[i] - mean) * (values[i] - mean);
+        }
+        return sum / (count - 1);
+    }
+
+    // Dystrybuanta rozkładu t-Studenta przez regularyzowaną niekompletną funkcję beta
+    static double studentCdf(double t, double degrees) {
+        double tail = 0.5 * incompleteBeta(degrees / 2, 0.5, degrees / (degrees + t * t));
+        return t >= 0 ? 1.0 - tail : tail;
+    }
+
+    // I_x(a, b) z rozwinięcia w ułamek łańcuchowy (metoda Lentza)
+    private static double incompleteBeta(double a, double b, double x) {
+        if (x <= 0) {
+            return 0.0;
+        }
+        if (x >= 1) {
+            return 1.0;
+        }
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+        if (x > (a + 1) / (a + b + 2)) {
+            return 1.0 - front * continuedFraction(b, a, 1 - x) / b;
+        }
+        return front * continuedFraction(a, b, x) / a;
+    }
+
+    private static double continuedFraction(double a, double b, double x) {
+        double tiny = 1e-300;
+        double c = 1.0;
+        double d = 1.0 - (a + b) * x / (a + 1);
+        d = 1.0 / (Math.abs(d) < tiny ? tiny : d);
+        double result = d;
+        for (int m = 1; m <= 200; m++) {
+            int m2 = 2 * m;
+            double numerator = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1.0 / nonZero(1.0 + numerator * d, tiny);
+            c = nonZero(1.0 + numerator / c, tiny);
+            result *= d * c;
+            numerator = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1.0 / nonZero(1.0 + numerator * d, tiny);
+            c = nonZero(1.0 + numerator / c, tiny);
+            double delta = d * c;
+            result *= delta;
+            if (Math.abs(delta - 1.0) < 1e-14) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static double nonZero(double value, double tiny) {
+        return Math.abs(value) < tiny ? tiny : value;
+    }
+
+    // Logarytm funkcji gamma (przybliżenie Lanczosa)
+    private static double logGamma(double x) {
+        double[] coefficients = {76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+}
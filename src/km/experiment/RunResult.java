@@ -0,0 +1,46 @@
+package km.experiment;
+
+import java.util.List;
+
+// Wynik pojedynczego uruchomienia algorytmu w komórce badania
+public class RunResult {
+    private final int run;
+    private final List<Integer> bestSolution;
+    private final int bestDistance;
+    private final double relativeError;
+    private final long bestSolutionTimeNs;
+    private final long executionTimeNs;
+
+    public RunResult(int run, List<Integer> bestSolution, int bestDistance, double relativeError, long bestSolutionTimeNs, long executionTimeNs) {
+        this.run = run;
+        this.bestSolution = bestSolution;
+        this.bestDistance = bestDistance;
+        this.relativeError = relativeError;
+        this.bestSolutionTimeNs = bestSolutionTimeNs;
+        this.executionTimeNs = executionTimeNs;
+    }
+
+    public int getRun() {
+        return run;
+    }
+
+    public List<Integer> getBestSolution() {
+        return bestSolution;
+    }
+
+    public int getBestDistance() {
+        return bestDistance;
+    }
+
+    public double getRelativeError() {
+        return relativeError;
+    }
+
+    public long getBestSolutionTimeNs() {
+        return bestSolutionTimeNs;
+    }
+
+    public long getExecutionTimeNs() {
+        return executionTimeNs;
+    }
+}
@@ -0,0 +1,117 @@
+package km.experiment;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+// Postęp badania w pliku tekstowym - jeden wiersz na ukończone uruchomienie, dopisywany i opróżniany od razu:
+//   indeks komórki;opis komórki;numer uruchomienia;odległość;błąd względny;czas najlepszego (ns);czas wykonania (ns);trasa
+// Przy ponownym starcie tego samego badania wczytane wyniki są traktowane jak ukończone uruchomienia, więc praca
+// wznawia się od pierwszego nieukończonego. Wiersze komórek o innym opisie (zmieniona konfiguracja) oraz
+// niedokończony ostatni wiersz są pomijane. Po ukończeniu całego badania plik jest usuwany
+public class SweepProgress implements AutoCloseable {
+    private static final String SEPARATOR = ";";
+
+    private final Path path;
+    private final List<ExperimentCell> cells;
+    private BufferedWriter writer;
+
+    public SweepProgress(Path path, List<ExperimentCell> cells) {
+        this.path = path;
+        this.cells = cells;
+    }
+
+    // Wyniki ukończonych uruchomień: results[komórka][uruchomienie - 1], null - do wykonania; zwraca ich liczbę
+    public int load(RunResult[][] results) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        int loaded = 0;
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(SEPARATOR, -1);
+            if (fields.length != 8) {
+                continue;
+            }
+            try {
+                int cell = Integer.parseInt(fields[0]);
+                int run = Integer.parseInt(fields[2]);
+                if (cell < 0 || cell >= cells.size() || !describe(cells.get(cell)).equals(fields[1])
+                        || run < 1 || run > cells.get(cell).getRuns() || results[cell][run - 1] != null) {
+                    continue;
+                }
+                List<Integer> tour = new ArrayList<>();
+                for (String city : fields[7].trim().split(" ")) {
+                    tour.add(Integer.parseInt(city));
+                }
+                results[cell][run - 1] = new RunResult(run, tour, Integer.parseInt(fields[3]), Double.parseDouble(fields[4]),
+                        Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+                loaded++;
+            } catch (NumberFormatException e) {
+                // Wiersz przerwany w trakcie zapisu - uruchomienie zostanie powtórzone
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void record(int cell, RunResult result) throws IOException {
+        if (writer == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            writer.newLine(); // Oddzielenie od ewentualnego niedokończonego wiersza poprzedniego przebiegu
+        }
+        StringBuilder line = new StringBuilder();
+        line.append(cell).append(SEPARATOR).append(describe(cells.get(cell))).append(SEPARATOR).append(result.getRun())
+                .append(SEPARATOR).append(result.getBestDistance()).append(SEPARATOR).append(result.getRelativeError())
+                .append(SEPARATOR).append(result.getBestSolutionTimeNs()).append(SEPARATOR).append(result.getExecutionTimeNs())
+                .append(SEPARATOR);
+        List<Integer> tour = result.getBestSolution();
+        for (int i = 0; i < tour.size(); i++) {
+            line.append(i > 0 ? " " : "").append(tour.get(i));
+        }
+        writer.write(line.toString());
+        writer.newLine();
+        writer.flush();
+    }
+
+    // Badanie ukończone - postęp nie jest już potrzebny
+    public synchronized void complete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    // Opis parametrów komórki - wyniki innej konfiguracji nie są wczytywane
+    // Wartości planu (np. tournamentSize) i opcje algorytmu z konfiguracji bazowej wchodzą do opisu jako skróty,
+    // bo nazwa konfiguracji (cfg3) nie zmienia się po edycji planu ani pliku konfiguracyjnego, a same wartości
+    // mogą zawierać separator
+    private static String describe(ExperimentCell cell) {
+        return String.format(Locale.ROOT, "%s|%s|%d|%.4f|%.4f|%d|%s|%016x|%016x", cell.getInputFile(), cell.getMutationMethod(),
+                cell.getPopulationSize(), cell.getMutationRate(), cell.getCrossoverRate(), cell.getStopTime(), cell.getLabel(),
+                fingerprint(new TreeMap<>(cell.getOverrides()).toString()), fingerprint(cell.getOptions().describe()));
+    }
+
+    // Skrót tekstu (FNV-1a po znakach)
+    private static long fingerprint(String text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,407 @@
+package km.model;
+
+import java.util.Arrays;
+
+// Dolne ograniczenia długości trasy ATSP liczone na tablicach prymitywnych
+// assignment   - problem przydziału (metoda węgierska, O(n^3)): trasa jest przydziałem następników bez podcykli
+// arborescence - relaksacja Helda-Karpa z 1-arborescencją: najtańsze drzewo skierowane o korzeniu 0 obejmujące
+//                wszystkie miasta plus najtańsza krawędź wchodząca do korzenia. Trasa jest taką strukturą, w której
+//                każde miasto ma jedną krawędź wychodzącą; kary pi za stopień wychodzący różny od 1 są dobierane
+//                metodą subgradientową, a każda wartość L(pi) = koszt(c + pi) - suma(pi) jest dolnym ograniczeniem
+// Wyniki są przechowywane w TSPProblem, więc każde ograniczenie jest liczone raz dla instancji
+public final class LowerBounds {
+    private static final long AP_INFINITY = Long.MAX_VALUE / 4;
+    private static final double EPSILON = 1e-6;
+
+    private LowerBounds() {
+    }
+
+    // Koszt optymalnego przydziału bez przekątnej (metoda węgierska z potencjałami)
+    public static long assignment(TSPProblem problem) {
+        return assignment(problem, null);
+    }
+
+    // rowPotentials (może być null) - potencjały wierszy u z optymalnego rozwiązania dualnego: zredukowane koszty
+    // d(i, j) - u[i] - v[j] są nieujemne, a suma potencjałów równa się kosztowi przydziału
+    static long assignment(TSPProblem problem, long[] rowPotentials) {
+        int n = problem.getCitiesCount();
+        if (n < 2) {
+            return 0;
+        }
+        long[] u = new long[n + 1]; // Potencjały wierszy
+        long[] v = new long[n + 1]; // Potencjały kolumn
+        int[] match = new int[n + 1]; // Wiersz przydzielony kolumnie j (0 - brak)
+        int[] way = new int[n + 1];
+        long[] minValue = new long[n + 1];
+        boolean[] used = new boolean[n + 1];
+
+        for (int row = 1; row <= n; row++) {
+            match[0] = row;
+            int column = 0;
+            Arrays.fill(minValue, AP_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[column] = true;
+                int currentRow = match[column];
+                long delta = AP_INFINITY;
+                int nextColumn = 0;
+                for (int j = 1; j <= n; j++) {
+                    if (!used[j]) {
+                        long cost = (currentRow == j ? AP_INFINITY : problem.getDistance(currentRow - 1, j - 1)) - u[currentRow] - v[j];
+                        if (cost < minValue[j]) {
+                            minValue[j] = cost;
+                            way[j] = column;
+                        }
+                        if (minValue[j] < delta) {
+                            delta = minValue[j];
+                            nextColumn = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= n; j++) {
+                    if (used[j]) {
+                        u[match[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minValue[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (match[column] != 0);
+            do {
+                int previous = way[column];
+                match[column] = match[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        long cost = 0;
+        for (int j = 1; j <= n; j++) {
+            cost += problem.getDistance(match[j] - 1, j - 1);
+        }
+        if (rowPotentials != null) {
+            System.arraycopy(u, 1, rowPotentials, 0, n);
+        }
+        return cost;
+    }
+
+    // Ograniczenie Helda-Karpa z 1-arborescencją po iterations krokach subgradientowych
+    // upperBound - długość dowolnej trasy (np. zachłannej), używana do wyznaczenia długości kroku
+    // Kary startowe to potencjały wierszy problemu przydziału ze znakiem minus: każde miasto ma w 1-arborescencji
+    // jedną krawędź wchodzącą, więc już pierwsza wartość L(pi) nie jest mniejsza od ograniczenia przydziału
+    public static long arborescence(TSPProblem problem, int iterations, long upperBound) {
+        int n = problem.getCitiesCount();
+        if (n < 2) {
+            return 0;
+        }
+        double[] weights = new double[n * n];
+        double[] penalties = new double[n];
+        long[] rowPotentials = new long[n];
+        long assignmentCost = assignment(problem, rowPotentials);
+        for (int i = 0; i < n; i++) {
+            penalties[i] = -rowPotentials[i];
+        }
+        int[] inFrom = new int[n]; // Początek krawędzi wchodzącej do miasta w 1-arborescencji
+        int[] outDegree = new int[n];
+        Arborescence solver = new Arborescence(n);
+        double best = Double.NEGATIVE_INFINITY;
+        double lambda = 2.0;
+        int sinceImprovement = 0;
+
+        for (int iteration = 0; iteration < Math.max(1, iterations); iteration++) {
+            double penaltySum = 0;
+            for (int i = 0; i < n; i++) {
+                penaltySum += penalties[i];
+                for (int j = 0; j < n; j++) {
+                    weights[i * n + j] = i == j ? Double.POSITIVE_INFINITY : problem.getDistance(i, j) + penalties[i];
+                }
+            }
+            double cost = solver.solve(weights, inFrom);
+            double bound = cost - penaltySum;
+            if (bound > best + EPSILON) {
+                best = bound;
+                sinceImprovement = 0;
+            } else if (++sinceImprovement >= 10) {
+                lambda /= 2;
+                sinceImprovement = 0;
+            }
+
+            Arrays.fill(outDegree, 0);
+            for (int j = 0; j < n; j++) {
+                outDegree[inFrom[j]]++;
+            }
+            long norm = 0;
+            for (int i = 0; i < n; i++) {
+                norm += (long) (outDegree[i] - 1) * (outDegree[i] - 1);
+            }
+            if (norm == 0) {
+                break; // 1-arborescencja jest trasą - ograniczenie jest optimum
+            }
+            double step = lambda * Math.max(0.0, upperBound - bound) / norm;
+            if (step < EPSILON) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                penalties[i] += step * (outDegree[i] - 1);
+            }
+        }
+        best = Math.max(best, assignmentCost);
+        return (long) Math.ceil(best - EPSILON); // Wagi są całkowite, więc trasa nie jest krótsza od zaokrąglenia w górę
+    }
+
+    // Najtańsza 1-arborescencja o korzeniu 0 - algorytm Chu-Liu/Edmondsa w wersji Tarjana: kopce skośne krawędzi
+    // wchodzących z leniwym dodawaniem, ściąganie cykli przez scalanie kopców i find-union z wycofywaniem,
+    // a na końcu rozwinięcie cykli od ostatnio ściągniętego. Czas O(E log n) zamiast O(n^3) dla wersji macierzowej,
+    // w której przy wielu równych wagach (np. instancje rbg) cykle są ściągane pojedynczo
+    // Wszystkie tablice są tworzone raz i używane ponownie w kolejnych krokach subgradientowych
+    private static final class Arborescence {
+        private final int n;
+        private final int[] edgeFrom; // Krawędzie u -> v, v != 0, indeksowane v * (n - 1) + k
+        private final int[] edgeTo;
+        private final double[] key; // Waga krawędzi w kopcu (po leniwych korektach)
+        private final double[] lazy; // Korekta do przekazania poddrzewu
+        private final int[] left;
+        private final int[] right;
+        private final int[] heap; // Korzeń kopca krawędzi wchodzących do wierzchołka (-1 - pusty)
+        private final int[] parent; // Find-union z wycofywaniem: ujemny rozmiar dla korzenia
+        private final int[] historyIndex;
+        private final int[] historyValue;
+        private int historySize;
+        private final int[] seen;
+        private final int[] path;
+        private final int[] queue; // Krawędzie wybrane na bieżącej ścieżce
+        private final int[] in; // Krawędź wchodząca do wierzchołka (reprezentanta)
+        private final int[] cycleNode; // Ściągnięte cykle: reprezentant, moment find-union, zakres krawędzi w cycleEdges
+        private final int[] cycleTime;
+        private final int[] cycleStart;
+        private final int[] cycleEnd;
+        private final int[] cycleEdges;
+        private int cycles;
+        private int cycleEdgesSize;
+
+        private Arborescence(int n) {
+            this.n = n;
+            int edges = n * (n - 1);
+            this.edgeFrom = new int[edges];
+            this.edgeTo = new int[edges];
+            this.key = new double[edges];
+            this.lazy = new double[edges];
+            this.left = new int[edges];
+            this.right = new int[edges];
+            this.heap = new int[n];
+            this.parent = new int[n];
+            this.historyIndex = new int[2 * n];
+            this.historyValue = new int[2 * n];
+            this.seen = new int[n];
+            this.path = new int[n];
+            this.queue = new int[n];
+            this.in = new int[n];
+            this.cycleNode = new int[n];
+            this.cycleTime = new int[n];
+            this.cycleStart = new int[n];
+            this.cycleEnd = new int[n];
+            this.cycleEdges = new int[2 * n];
+            int e = 0;
+            for (int v = 0; v < n; v++) {
+                for (int u = 0; u < n; u++) {
+                    if (u != v) {
+                        edgeFrom[e] = u;
+                        edgeTo[e] = v;
+                        e++;
+                    }
+                }
+            }
+        }
+
+        // Zwraca koszt 1-arborescencji dla wag weights (n * n); inFrom[j] - początek krawędzi wchodzącej do j
+        private double solve(double[] weights, int[] inFrom) {
+            int root = 0;
+            for (int v = 0; v < n; v++) {
+                heap[v] = -1;
+                parent[v] = -1;
+                seen[v] = -1;
+                in[v] = -1;
+            }
+            historySize = 0;
+            cycles = 0;
+            cycleEdgesSize = 0;
+            for (int e = 0; e < edgeFrom.length; e++) {
+                key[e] = weights[edgeFrom[e] * n + edgeTo[e]];
+                lazy[e] = 0;
+                left[e] = -1;
+                right[e] = -1;
+                if (edgeTo[e] != root) {
+                    heap[edgeTo[e]] = merge(heap[edgeTo[e]], e);
+                }
+            }
+
+            seen[root] = root;
+            for (int s = 0; s < n; s++) {
+                int u = s;
+                int count = 0;
+                while (seen[u] < 0) {
+                    // Krawędzie wewnątrz ściągniętego cyklu są pomijane
+                    int e = top(u);
+                    while (find(edgeFrom[e]) == u) {
+                        heap[u] = pop(heap[u]);
+                        e = top(u);
+                    }
+                    double w = key[e];
+                    lazy[heap[u]] -= w;
+                    heap[u] = pop(heap[u]);
+                    queue[count] = e;
+                    path[count++] = u;
+                    seen[u] = s;
+                    u = find(edgeFrom[e]);
+                    if (seen[u] == s) {
+                        // Cykl - scalenie kopców wierzchołków cyklu w jeden
+                        int cycleHeap = -1;
+                        int end = count;
+                        int time = historySize;
+                        int node;
+                        do {
+                            node = path[--count];
+                            cycleHeap = merge(cycleHeap, heap[node]);
+                        } while (join(u, node));
+                        u = find(u);
+                        heap[u] = cycleHeap;
+                        seen[u] = -1;
+                        cycleNode[cycles] = u;
+                        cycleTime[cycles] = time;
+                        cycleStart[cycles] = cycleEdgesSize;
+                        for (int k = count; k < end; k++) {
+                            cycleEdges[cycleEdgesSize++] = queue[k];
+                        }
+                        cycleEnd[cycles++] = cycleEdgesSize;
+                    }
+                }
+                for (int k = 0; k < count; k++) {
+                    in[find(edgeTo[queue[k]])] = queue[k];
+                }
+            }
+
+            // Rozwinięcie cykli w odwrotnej kolejności ich ściągania
+            for (int c = cycles - 1; c >= 0; c--) {
+                rollback(cycleTime[c]);
+                int inEdge = in[cycleNode[c]];
+                for (int k = cycleStart[c]; k < cycleEnd[c]; k++) {
+                    in[find(edgeTo[cycleEdges[k]])] = cycleEdges[k];
+                }
+                in[find(edgeTo[inEdge])] = inEdge;
+            }
+
+            double cost = 0;
+            for (int v = 1; v < n; v++) {
+                inFrom[v] = edgeFrom[in[v]];
+                cost += weights[inFrom[v] * n + v];
+            }
+            // Najtańsza krawędź wchodząca do korzenia zamyka 1-arborescencję
+            int rootFrom = 1;
+            for (int i = 2; i < n; i++) {
+                if (weights[i * n] < weights[rootFrom * n]) {
+                    rootFrom = i;
+                }
+            }
+            inFrom[root] = rootFrom;
+            return cost + weights[rootFrom * n];
+        }
+
+        private int top(int u) {
+            int h = heap[u];
+            if (h < 0) {
+                throw new IllegalStateException("Brak krawędzi wchodzącej do wierzchołka " + u);
+            }
+            push(h);
+            return h;
+        }
+
+        private void push(int a) {
+            if (lazy[a] != 0) {
+                key[a] += lazy[a];
+                if (left[a] >= 0) {
+                    lazy[left[a]] += lazy[a];
+                }
+                if (right[a] >= 0) {
+                    lazy[right[a]] += lazy[a];
+                }
+                lazy[a] = 0;
+            }
+        }
+
+        // Scalenie kopców skośnych bez rekurencji: mniejszy korzeń zostaje, a reszta trafia do jego lewego poddrzewa
+        private int merge(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            push(a);
+            push(b);
+            if (key[a] > key[b]) {
+                int temp = a;
+                a = b;
+                b = temp;
+            }
+            int root = a;
+            while (true) {
+                int r = right[a];
+                right[a] = left[a];
+                if (r < 0) {
+                    left[a] = b;
+                    return root;
+                }
+                push(r);
+                if (key[r] > key[b]) {
+                    int temp = r;
+                    r = b;
+                    b = temp;
+                }
+                left[a] = r;
+                a = r;
+            }
+        }
+
+        private int pop(int a) {
+            push(a);
+            return merge(left[a], right[a]);
+        }
+
+        private int find(int v) {
+            while (parent[v] >= 0) {
+                v = parent[v];
+            }
+            return v;
+        }
+
+        private boolean join(int a, int b) {
+            a = find(a);
+            b = find(b);
+            if (a == b) {
+                return false;
+            }
+            if (parent[a] > parent[b]) {
+                int temp = a;
+                a = b;
+                b = temp;
+            }
+            record(a);
+            record(b);
+            parent[a] += parent[b];
+            parent[b] = a;
+            return true;
+        }
+
+        private void record(int index) {
+            historyIndex[historySize] = index;
+            historyValue[historySize++] = parent[index];
+        }
+
+        private void rollback(int time) {
+            while (historySize > time) {
+                historySize--;
+                parent[historyIndex[historySize]] = historyValue[historySize];
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package km.model;
+
+// Listy k najbliższych sąsiadów każdego miasta wyznaczone z macierzy odległości
+// outgoing - miasta j o najmniejszym d(i, j), incoming - miasta j o najmniejszym d(j, i)
+// Obiekt jest niezmienny, więc może być współdzielony przez wszystkie wątki
+public class NeighborLists {
+    private final int size; // Liczba sąsiadów na miasto
+    private final int[] outgoing;
+    private final int[] incoming;
+
+    NeighborLists(TSPProblem problem, int size) {
+        int citiesCount = problem.getCitiesCount();
+        this.size = Math.max(0, Math.min(size, citiesCount - 1));
+        this.outgoing = new int[citiesCount * this.size];
+        this.incoming = new int[citiesCount * this.size];
+
+        int[] distances = new int[this.size];
+        for (int city = 0; city < citiesCount; city++) {
+            int base = city * this.size;
+            int countOut = 0;
+            int countIn = 0;
+            for (int other = 0; other < citiesCount; other++) {
+                if (other != city) {
+                    countOut = insert(outgoing, base, distances, countOut, other, problem.getDistance(city, other));
+                }
+            }
+            for (int other = 0; other < citiesCount; other++) {
+                if (other != city) {
+                    countIn = insert(incoming, base, distances, countIn, other, problem.getDistance(other, city));
+                }
+            }
+        }
+    }
+
+    // Wstawienie miasta do posortowanej listy o ograniczonej długości (distances - bufor odległości listy)
+    private int insert(int[] lists, int base, int[] distances, int count, int city, int distance) {
+        if (count == size && (size == 0 || distance >= distances[size - 1])) {
+            return count;
+        }
+        int k = count < size ? count++ : size - 1;
+        while (k > 0 && distances[k - 1] > distance) {
+            distances[k] = distances[k - 1];
+            lists[base + k] = lists[base + k - 1];
+            k--;
+        }
+        distances[k] = distance;
+        lists[base + k] = city;
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // r-ty najbliższy sąsiad, do którego prowadzi krawędź z miasta city
+    public int outgoing(int city, int rank) {
+        return outgoing[city * size + rank];
+    }
+
+    // r-ty najbliższy sąsiad, z którego prowadzi krawędź do miasta city
+    public int incoming(int city, int rank) {
+        return incoming[city * size + rank];
+    }
+}
@@ -0,0 +1,73 @@
+package km.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Wspólna dla całego procesu pamięć podręczna wczytanych instancji
+// Kluczem jest ścieżka pliku razem z datą modyfikacji i rozmiarem, więc zmieniony plik zostanie wczytany ponownie
+// Wraz z instancją przechowywane są jej struktury pochodne (listy sąsiadów, trasy zachłanne, dolne ograniczenie),
+// wyznaczane leniwie przez TSPProblem; po przekroczeniu limitu pamięci usuwane są najdawniej używane instancje
+public final class ProblemCache {
+    private static final LinkedHashMap<String, TSPProblem> problems = new LinkedHashMap<>(16, 0.75f, true);
+    private static long maxBytes = 512L * 1024 * 1024;
+
+    private ProblemCache() {
+    }
+
+    public static synchronized void setMaxBytes(long bytes) {
+        maxBytes = bytes;
+        evict(null);
+    }
+
+    public static TSPProblem get(String filePath, boolean useBinaryCache, boolean compact) throws IOException {
+        Path path = Path.of(filePath).toAbsolutePath();
+        String key = path + "|" + Files.getLastModifiedTime(path).toMillis() + "|" + Files.size(path) + "|" + (compact ? "compact" : "full");
+
+        synchronized (ProblemCache.class) {
+            TSPProblem problem = problems.get(key);
+            if (problem != null) {
+                evict(key); // Struktury pochodne mogły urosnąć od ostatniego użycia
+                return problem;
+            }
+        }
+
+        // Wczytanie poza blokadą - równoległe wczytanie tej samej instancji jest nieszkodliwe, wygrywa pierwsza
+        TSPProblem problem = TSPProblem.loadFromFile(filePath, useBinaryCache);
+        if (compact) {
+            problem = problem.compact();
+        }
+
+        synchronized (ProblemCache.class) {
+            TSPProblem existing = problems.putIfAbsent(key, problem);
+            if (existing != null) {
+                return existing;
+            }
+            evict(key);
+            return problem;
+        }
+    }
+
+    public static synchronized void clear() {
+        problems.clear();
+    }
+
+    // Usuwanie najdawniej używanych instancji aż do zmieszczenia się w limicie; instancja keep nie jest usuwana
+    private static void evict(String keep) {
+        long total = 0;
+        for (TSPProblem problem : problems.values()) {
+            total += problem.getFootprintBytes();
+        }
+        Iterator<Map.Entry<String, TSPProblem>> iterator = problems.entrySet().iterator();
+        while (total > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, TSPProblem> entry = iterator.next();
+            if (!entry.getKey().equals(keep)) {
+                total -= entry.getValue().getFootprintBytes();
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -1,87 +1,268 @@
 package km.model;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import km.data.TsplibReader;
+
 import java.io.IOException;
 
+// Macierz odległości przechowywana płasko wierszami: d(i, j) = weights[i * n + j]
+// Dla instancji, w których wszystkie wagi poza przekątną mieszczą się w 16 bitach, dostępna jest
+// zawężona wersja (char[]) zajmująca połowę pamięci; przekątna przechowywana jest wtedy osobno
 public class TSPProblem {
-    private int[][] distanceMatrix;
+    private static final int HELD_KARP_ITERATIONS = 300; // Kroki subgradientowe ograniczenia Helda-Karpa
+
+    private final int citiesCount;
+    private final int[] weights; // Wagi 32-bitowe, null w wersji zawężonej
+    private final char[] compactWeights; // Wagi 16-bitowe, null w wersji pełnej
+    private final int[] diagonal; // Przekątna w wersji zawężonej (może nie mieścić się w 16 bitach)
+    private int[][] distanceMatrix; // Tworzona dopiero przy wywołaniu getDistanceMatrix()
+    private NeighborLists neighborLists; // Wyznaczane przy pierwszym użyciu i współdzielone przez wątki
+    private int[] greedyTours; // Trasy najbliższego sąsiada z każdego miasta startowego, wyznaczane na żądanie
+    private boolean[] greedyComputed;
+    private long lowerBound = -1; // Dolne ograniczenie długości trasy, -1 - jeszcze nie wyznaczone
+    private long assignmentBound = -1; // Ograniczenie z problemu przydziału (LowerBounds.assignment)
+    private long arborescenceBound = -1; // Ograniczenie Helda-Karpa z 1-arborescencją (LowerBounds.arborescence)
 
     public TSPProblem(int[][] distanceMatrix) {
-        this.distanceMatrix = distanceMatrix;
+        this.citiesCount = distanceMatrix.length;
+        this.weights = new int[citiesCount * citiesCount];
+        for (int i = 0; i < citiesCount; i++) {
+            System.arraycopy(distanceMatrix[i], 0, weights, i * citiesCount, citiesCount);
+        }
+        this.compactWeights = null;
+        this.diagonal = null;
+    }
+
+    public TSPProblem(int citiesCount, int[] weights) {
+        this.citiesCount = citiesCount;
+        this.weights = weights;
+        this.compactWeights = null;
+        this.diagonal = null;
+    }
+
+    private TSPProblem(int citiesCount, char[] compactWeights, int[] diagonal) {
+        this.citiesCount = citiesCount;
+        this.weights = null;
+        this.compactWeights = compactWeights;
+        this.diagonal = diagonal;
     }
 
     public static TSPProblem loadFromFile(String filePath) throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(filePath));
-        String line;
-        int dimension = 0; // Zmienna przechowująca liczbę miast (wymiar macierzy)
-        boolean matrixSection = false; // Flaga wskazująca rozpoczęcie sekcji macierzy odległości
-        int[][] matrix = null; // Macierz odległości
-        int row = 0, col = 0; // Wskaźniki aktualnego wiersza i kolumny macierzy
-
-        while ((line = reader.readLine()) != null) {
-            line = line.trim(); // Usunięcie białych znaków na początku i końcu linii
-
-            // Odczytanie wymiaru macierzy z nagłówka DIMENSION
-            if (line.startsWith("DIMENSION:")) {
-                dimension = Integer.parseInt(line.split(":")[1].trim()); // Parsowanie liczby miast
-                matrix = new int[dimension][dimension]; // Inicjalizacja macierzy odległości
-            }
+        return loadFromFile(filePath, true);
+    }
 
-            // Znalezienie sekcji EDGE_WEIGHT_SECTION, która zawiera dane macierzy
-            if (line.equals("EDGE_WEIGHT_SECTION")) {
-                matrixSection = true; // Ustawienie flagi na true, aby zacząć przetwarzanie macierzy
-                continue;
-            }
+    // Wczytanie instancji TSPLIB; useBinaryCache - użycie i aktualizacja binarnej kopii macierzy obok pliku
+    public static TSPProblem loadFromFile(String filePath, boolean useBinaryCache) throws IOException {
+        return TsplibReader.read(filePath, useBinaryCache);
+    }
+
+    public int getCitiesCount() {
+        return citiesCount; // Zwraca liczbę miast (wymiar macierzy)
+    }
 
-            // Przetwarzanie sekcji macierzy odległości
-            if (matrixSection) {
-                if (line.equals("EOF")) { // Koniec pliku
-                    break;
+    public synchronized int[][] getDistanceMatrix() {
+        if (distanceMatrix == null) {
+            int[][] matrix = new int[citiesCount][citiesCount];
+            for (int i = 0; i < citiesCount; i++) {
+                for (int j = 0; j < citiesCount; j++) {
+                    matrix[i][j] = getDistance(i, j);
                 }
+            }
+            distanceMatrix = matrix;
+        }
+        return distanceMatrix; // Zwraca macierz odległości
+    }
 
-                String[] tokens = line.split("\\s+"); // Podział linii na liczby oddzielone spacjami
+    public int getDistance(int from, int to) {
+        if (weights != null) {
+            return weights[from * citiesCount + to]; // Zwraca odległość między dwoma miastami
+        }
+        return from == to ? diagonal[from] : compactWeights[from * citiesCount + to];
+    }
 
-                // Iteracja po liczbach w bieżącej linii
-                for (String token : tokens) {
-                    if (col == dimension) { // Jeśli kolumna osiągnie wymiar, przejdź do nowego wiersza
-                        col = 0;
-                        row++;
-                    }
+    // Płaska macierz wag 32-bitowych (null, jeśli instancja jest zawężona)
+    public int[] getWeights() {
+        return weights;
+    }
 
-                    if (row >= dimension) { // Sprawdzenie, czy liczba wierszy nie przekracza wymiaru
-                        throw new IOException("Za dużo wierszów w EDGE_WEIGHT_SECTION, oczekiwano:  " + dimension);
-                    }
+    // Płaska macierz wag 16-bitowych (null, jeśli instancja nie jest zawężona)
+    public char[] getCompactWeights() {
+        return compactWeights;
+    }
+
+    public boolean isCompact() {
+        return compactWeights != null;
+    }
 
-                    matrix[row][col++] = Integer.parseInt(token); // Przypisanie wartości do macierzy i przesunięcie kolumny
+    // Wersja instancji z wagami 16-bitowymi, jeśli wszystkie wagi poza przekątną mieszczą się w zakresie char
+    public TSPProblem compact() {
+        if (compactWeights != null) {
+            return this;
+        }
+        for (int i = 0; i < citiesCount; i++) {
+            for (int j = 0; j < citiesCount; j++) {
+                int weight = weights[i * citiesCount + j];
+                if (i != j && (weight < 0 || weight > Character.MAX_VALUE)) {
+                    return this;
                 }
             }
         }
+        char[] compact = new char[citiesCount * citiesCount];
+        int[] diagonal = new int[citiesCount];
+        for (int i = 0; i < weights.length; i++) {
+            compact[i] = (char) weights[i];
+        }
+        for (int i = 0; i < citiesCount; i++) {
+            diagonal[i] = weights[i * citiesCount + i];
+            compact[i * citiesCount + i] = Character.MAX_VALUE;
+        }
+        return new TSPProblem(citiesCount, compact, diagonal);
+    }
 
-        reader.close(); // Zamknięcie pliku po zakończeniu przetwarzania
+    // Długość trasy zapisanej w tablicy tours od pozycji offset - pętla bezpośrednio po płaskiej macierzy
+    public int tourLength(int[] tours, int offset) {
+        int n = citiesCount;
+        int last = offset + n - 1;
+        if (n == 1) {
+            return getDistance(tours[offset], tours[offset]);
+        }
+        int distance = 0;
+        if (weights != null) {
+            int[] w = weights;
+            for (int i = offset; i < last; i++) {
+                distance += w[tours[i] * n + tours[i + 1]];
+            }
+            distance += w[tours[last] * n + tours[offset]]; // Powrót do miasta początkowego
+        } else {
+            char[] w = compactWeights;
+            for (int i = offset; i < last; i++) {
+                distance += w[tours[i] * n + tours[i + 1]];
+            }
+            distance += w[tours[last] * n + tours[offset]];
+        }
+        return distance;
+    }
 
-        // Sprawdzenie, czy macierz została poprawnie wczytana
-        if (matrix == null) {
-            throw new IOException("Nieprawidłowy format pliku");
+    // Listy co najmniej size najbliższych sąsiadów, liczone raz dla instancji problemu
+    public synchronized NeighborLists getNeighborLists(int size) {
+        int expected = Math.min(size, getCitiesCount() - 1);
+        if (neighborLists == null || neighborLists.size() < expected) {
+            neighborLists = new NeighborLists(this, size);
         }
+        return neighborLists;
+    }
 
-        // Sprawdzenie, czy macierz ma dokładnie wymiar dimension x dimension
-        if (row != dimension - 1 || col != dimension) {
-            throw new IOException("Niekompletna macierz, oczekiwano: " + dimension + "x" + dimension + ", ale jest wiersz=" + row + " i kolumna=" + col);
+    // Skopiowanie trasy najbliższego sąsiada zaczynającej się w mieście start do tablicy tours od pozycji offset
+    public void copyGreedyTour(int start, int[] tours, int offset) {
+        int[] greedy;
+        synchronized (this) {
+            if (greedyTours == null) {
+                greedyTours = new int[citiesCount * citiesCount];
+                greedyComputed = new boolean[citiesCount];
+            }
+            if (!greedyComputed[start]) {
+                buildGreedyTour(start, greedyTours, start * citiesCount);
+                greedyComputed[start] = true;
+            }
+            greedy = greedyTours;
         }
+        System.arraycopy(greedy, start * citiesCount, tours, offset, citiesCount);
+    }
 
-        return new TSPProblem(matrix); // Zwrócenie obiektu TSPProblem z wczytaną macierzą odległości
+    private void buildGreedyTour(int start, int[] tours, int offset) {
+        boolean[] visited = new boolean[citiesCount];
+        int currentCity = start;
+        tours[offset] = currentCity;
+        visited[currentCity] = true;
+
+        for (int i = 1; i < citiesCount; i++) {
+            int nearestCity = -1;
+            int shortestDistance = Integer.MAX_VALUE;
+            for (int nextCity = 0; nextCity < citiesCount; nextCity++) {
+                if (!visited[nextCity]) {
+                    int distance = getDistance(currentCity, nextCity);
+                    if (distance < shortestDistance) {
+                        nearestCity = nextCity;
+                        shortestDistance = distance;
+                    }
+                }
+            }
+            tours[offset + i] = nearestCity;
+            visited[nearestCity] = true;
+            currentCity = nearestCity;
+        }
     }
 
-    public int getCitiesCount() {
-        return distanceMatrix.length; // Zwraca liczbę miast (wymiar macierzy)
+    // Proste dolne ograniczenie: każde miasto ma dokładnie jedną krawędź wychodzącą i jedną wchodzącą,
+    // więc trasa nie jest krótsza od sumy minimów wierszy ani od sumy minimów kolumn (bez przekątnej)
+    public synchronized long getLowerBound() {
+        if (lowerBound < 0) {
+            long rows = 0;
+            long columns = 0;
+            for (int i = 0; i < citiesCount; i++) {
+                int rowMin = Integer.MAX_VALUE;
+                int columnMin = Integer.MAX_VALUE;
+                for (int j = 0; j < citiesCount; j++) {
+                    if (i != j) {
+                        rowMin = Math.min(rowMin, getDistance(i, j));
+                        columnMin = Math.min(columnMin, getDistance(j, i));
+                    }
+                }
+                rows += citiesCount > 1 ? rowMin : 0;
+                columns += citiesCount > 1 ? columnMin : 0;
+            }
+            lowerBound = Math.max(rows, columns);
+        }
+        return lowerBound;
     }
 
-    public int[][] getDistanceMatrix() {
-        return distanceMatrix; // Zwraca macierz odległości
+    // Ograniczenie z problemu przydziału - O(n^3), liczone raz dla instancji
+    public synchronized long getAssignmentBound() {
+        if (assignmentBound < 0) {
+            assignmentBound = LowerBounds.assignment(this);
+        }
+        return assignmentBound;
     }
 
-    public int getDistance(int from, int to) {
-        return distanceMatrix[from][to]; // Zwraca odległość między dwoma miastami
+    // Ograniczenie Helda-Karpa - krok subgradientowy wyznaczany względem najlepszej z tras zachłannych z kilku miast
+    public synchronized long getArborescenceBound() {
+        if (arborescenceBound < 0) {
+            int[] tour = new int[citiesCount];
+            long upperBound = Long.MAX_VALUE;
+            for (int start = 0; start < Math.min(citiesCount, 10); start++) {
+                buildGreedyTour(start, tour, 0);
+                upperBound = Math.min(upperBound, tourLength(tour, 0));
+            }
+            arborescenceBound = Math.max(0, LowerBounds.arborescence(this, HELD_KARP_ITERATIONS, upperBound));
+        }
+        return arborescenceBound;
+    }
+
+    // Dolne ograniczenie wybraną metodą: simple, assignment, arborescence, best (największe z trzech)
+    public long getLowerBound(String method) {
+        if ("simple".equalsIgnoreCase(method)) {
+            return getLowerBound();
+        } else if ("assignment".equalsIgnoreCase(method)) {
+            return getAssignmentBound();
+        } else if ("arborescence".equalsIgnoreCase(method)) {
+            return getArborescenceBound();
+        } else if ("best".equalsIgnoreCase(method)) {
+            return Math.max(getLowerBound(), Math.max(getAssignmentBound(), getArborescenceBound()));
+        }
+        throw new IllegalArgumentException("Nieznane dolne ograniczenie: " + method);
+    }
+
+    // Przybliżony rozmiar instancji w pamięci razem z wyznaczonymi dotąd strukturami pochodnymi
+    public synchronized long getFootprintBytes() {
+        long bytes = weights != null ? 4L * weights.length : 2L * compactWeights.length + 4L * citiesCount;
+        if (distanceMatrix != null) {
+            bytes += 4L * citiesCount * citiesCount + 16L * citiesCount;
+        }
+        if (neighborLists != null) {
+            bytes += 8L * citiesCount * neighborLists.size();
+        }
+        if (greedyTours != null) {
+            bytes += 4L * greedyTours.length + citiesCount;
+        }
+        return bytes;
     }
 }